@@ -0,0 +1,90 @@
+package com.bookmark.service;
+
+import com.bookmark.search.SearchIndexManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * 메모리 저장소 위에 BookmarkService와 그 의존 객체를 직접 조립한 벤치마크 환경
+ *
+ * 스프링 컨텍스트와 로그인 없이 항상 같은 사용자로 동작합니다.
+ * 설정 값은 애플리케이션 기본값을 쓰되, 쓰기 대기열은 측정 중에 백그라운드 저장이
+ * 끼어들지 않도록 대기 시간을 길게 둡니다. (저장은 {@link #reset()}에서 명시적으로 수행)
+ */
+final class BenchmarkServices {
+
+    static final String USER_KEY = "google:benchmark";
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final InMemoryStorageBackend backend = new InMemoryStorageBackend();
+    final SingleFileBookmarkStorage storage =
+        new SingleFileBookmarkStorage(backend, new BookmarkJsonCodec(meterRegistry));
+    final BookmarkDataCache dataCache = new BookmarkDataCache(meterRegistry);
+    final EntityFileStore entityStore = new EntityFileStore(backend, meterRegistry);
+    final BookmarkWriteQueue writeQueue;
+    final BookmarkService service;
+
+    private final Map<String, byte[]> seed;
+
+    /**
+     * 데이터를 메모리 저장소에 저장하고, 캐시가 비어 있는 상태의 서비스를 만듭니다.
+     */
+    BenchmarkServices(BookmarkDataset dataset) throws IOException {
+        ReflectionTestUtils.setField(dataCache, "revalidateIntervalMs", 5000L);
+        ReflectionTestUtils.setField(entityStore, "revalidateIntervalMs", 5000L);
+
+        writeQueue = new BookmarkWriteQueue(storage, dataCache, entityStore, meterRegistry);
+        ReflectionTestUtils.setField(writeQueue, "coalesceWindowMs", 3_600_000L);
+        ReflectionTestUtils.setField(writeQueue, "maxPendingOperations", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(writeQueue, "maxConflictRetries", 3);
+        ReflectionTestUtils.setField(writeQueue, "maxRetryDelayMs", 60_000L);
+
+        UserContext userContext = new UserContext() {
+            @Override
+            public String getCurrentUserKey() {
+                return USER_KEY;
+            }
+        };
+        service = new BookmarkService(backend, storage, dataCache, entityStore, writeQueue, userContext,
+            new SearchIndexManager());
+
+        storage.write(dataset.data(), null, null);
+        entityStore.save(USER_KEY, BookmarkService.FOLDERS_FILE, new ArrayList<>(dataset.folders()));
+        entityStore.save(USER_KEY, BookmarkService.TAGS_FILE, new ArrayList<>(dataset.tags()));
+        seed = backend.snapshot();
+        invalidate();
+    }
+
+    /**
+     * 대기 중인 변경을 저장한 뒤 저장소를 처음 데이터로 되돌리고 캐시를 비웁니다.
+     */
+    void reset() throws IOException {
+        writeQueue.flush(USER_KEY);
+        backend.restore(seed);
+        invalidate();
+    }
+
+    /**
+     * 저장소에서 다시 읽어 캐시와 검색 색인을 채웁니다. (조회 벤치마크가 캐시된 상태를 측정하도록)
+     */
+    void warm() throws IOException {
+        service.getAllBookmarks();
+        service.getAllFolders();
+        service.getAllTags();
+        service.searchBookmarks("warm");
+    }
+
+    void invalidate() {
+        dataCache.invalidate(USER_KEY);
+        entityStore.invalidate(USER_KEY, BookmarkService.FOLDERS_FILE);
+        entityStore.invalidate(USER_KEY, BookmarkService.TAGS_FILE);
+    }
+
+    void close() {
+        writeQueue.shutdown();
+    }
+}
@@ -0,0 +1,163 @@
+package com.bookmark.service;
+
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import com.bookmark.model.Folder;
+import com.bookmark.model.Tag;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * 벤치마크용 북마크 데이터 생성기
+ *
+ * 같은 크기면 항상 같은 데이터를 만들도록 고정된 시드를 사용합니다.
+ * 제목과 설명은 한국어, 영어, 두 언어를 섞은 문장이 비슷한 비율로 나오며,
+ * 폴더와 태그 수는 북마크 수에 따라 늘어납니다. (1k: 폴더 22/태그 55, 100k: 폴더 220/태그 550)
+ */
+final class BookmarkDataset {
+
+    private static final long SEED = 20240101L;
+
+    private static final String[] KOREAN_WORDS = {
+        "스프링", "자바", "데이터베이스", "성능", "튜닝", "개발", "블로그", "정리", "입문", "가이드",
+        "리액트", "타입스크립트", "알고리즘", "면접", "배포", "클라우드", "보안", "인증", "검색", "색인",
+        "캐시", "동시성", "테스트", "설계", "아키텍처", "요리", "여행", "사진", "음악", "영화",
+        "경제", "뉴스", "건강", "운동", "독서", "공부", "강의", "튜토리얼", "예제", "모음"
+    };
+
+    private static final String[] ENGLISH_WORDS = {
+        "spring", "java", "database", "performance", "tuning", "development", "blog", "notes", "intro", "guide",
+        "react", "typescript", "algorithm", "interview", "deploy", "cloud", "security", "oauth", "search", "index",
+        "cache", "concurrency", "testing", "design", "architecture", "recipe", "travel", "photo", "music", "movie",
+        "economy", "news", "health", "fitness", "reading", "study", "lecture", "tutorial", "example", "collection"
+    };
+
+    private static final String[] DOMAINS = {
+        "github.com", "stackoverflow.com", "velog.io", "tistory.com", "naver.com", "medium.com",
+        "docs.spring.io", "developer.mozilla.org", "youtube.com", "news.ycombinator.com", "brunch.co.kr", "wikipedia.org"
+    };
+
+    private final BookmarkData data;
+    private final List<Folder> folders;
+    private final List<Tag> tags;
+
+    private BookmarkDataset(BookmarkData data, List<Folder> folders, List<Tag> tags) {
+        this.data = data;
+        this.folders = folders;
+        this.tags = tags;
+    }
+
+    /**
+     * @param size 북마크 수
+     */
+    static BookmarkDataset generate(int size) {
+        Random random = new Random(SEED + size);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        List<Folder> folders = new ArrayList<>();
+        int folderCount = 20 + size / 500;
+        for (int i = 0; i < folderCount; i++) {
+            folders.add(Folder.builder()
+                .id(uuid(random))
+                .name(phrase(random, 1 + random.nextInt(2)))
+                // 일부 폴더는 하위 폴더
+                .parentId(i > 0 && random.nextInt(4) == 0 ? folders.get(random.nextInt(i)).getId() : null)
+                .isLocked(false)
+                .color("#4285F4")
+                .icon("folder")
+                .order(i + 1)
+                .build());
+        }
+
+        List<Tag> tags = new ArrayList<>();
+        int tagCount = 50 + size / 200;
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(Tag.builder()
+                .id(uuid(random))
+                .name(phrase(random, 1) + (i >= KOREAN_WORDS.length ? "-" + i : ""))
+                .color("#34A853")
+                .usageCount(0)
+                .build());
+        }
+
+        List<Bookmark> bookmarks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<String> bookmarkTags = new ArrayList<>();
+            int tagsPerBookmark = random.nextInt(4);
+            for (int t = 0; t < tagsPerBookmark; t++) {
+                // 앞쪽 태그가 더 자주 쓰이도록 치우침
+                String tagId = tags.get((int) (tagCount * Math.pow(random.nextDouble(), 2))).getId();
+                if (!bookmarkTags.contains(tagId)) {
+                    bookmarkTags.add(tagId);
+                }
+            }
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(60 * 24 * 365 * 3));
+            String domain = DOMAINS[random.nextInt(DOMAINS.length)];
+
+            Map<String, Object> customData = new HashMap<>();
+            customData.put("source", random.nextBoolean() ? "import" : "manual");
+
+            bookmarks.add(Bookmark.builder()
+                .id(uuid(random))
+                .url("https://" + domain + "/" + ENGLISH_WORDS[random.nextInt(ENGLISH_WORDS.length)] + "/" + i)
+                .title(phrase(random, 3 + random.nextInt(5)))
+                .description(random.nextInt(3) == 0 ? null : phrase(random, 8 + random.nextInt(16)))
+                .folderId(random.nextInt(10) == 0 ? null : folders.get(random.nextInt(folderCount)).getId())
+                .tags(bookmarkTags)
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusMinutes(random.nextInt(60 * 24 * 30)))
+                .favicon("https://" + domain + "/favicon.ico")
+                .metadata(Bookmark.BookmarkMetadata.builder()
+                    .visitCount(random.nextInt(100))
+                    .lastVisited(createdAt.plusDays(random.nextInt(30)))
+                    .customData(customData)
+                    .build())
+                .build());
+        }
+
+        BookmarkData data = BookmarkData.builder()
+            .lastModified(now)
+            .bookmarks(bookmarks)
+            .build();
+        return new BookmarkDataset(data, folders, tags);
+    }
+
+    /**
+     * 한국어, 영어 또는 두 언어를 섞은 단어 나열
+     */
+    private static String phrase(Random random, int words) {
+        int language = random.nextInt(3);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            boolean korean = language == 0 || (language == 2 && random.nextBoolean());
+            String[] pool = korean ? KOREAN_WORDS : ENGLISH_WORDS;
+            builder.append(pool[random.nextInt(pool.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    BookmarkData data() {
+        return data;
+    }
+
+    List<Folder> folders() {
+        return folders;
+    }
+
+    List<Tag> tags() {
+        return tags;
+    }
+}
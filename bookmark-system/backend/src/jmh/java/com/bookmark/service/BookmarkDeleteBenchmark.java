@@ -0,0 +1,68 @@
+package com.bookmark.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 폴더/태그 삭제 벤치마크 (속한 북마크를 모두 옮기거나 태그를 떼어내고 색인을 갱신)
+ *
+ * 삭제는 데이터를 바꾸므로 매 반복마다 저장소를 처음 데이터로 되돌리고 캐시를 채운 뒤
+ * 한 번만 실행해 측정합니다. 저장은 쓰기 대기열에 넣는 것까지만 포함됩니다.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@State(Scope.Benchmark)
+public class BookmarkDeleteBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private BenchmarkServices services;
+    private String folderId;
+    private String tagId;
+
+    @Setup
+    public void setUp() throws IOException {
+        BookmarkDataset dataset = BookmarkDataset.generate(size);
+        services = new BenchmarkServices(dataset);
+        // 첫 번째 폴더는 삭제된 폴더의 북마크가 옮겨 가는 기본 폴더이므로 제외
+        folderId = dataset.folders().get(1).getId();
+        tagId = dataset.tags().get(0).getId();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetData() throws IOException {
+        services.reset();
+        services.warm();
+    }
+
+    @TearDown
+    public void tearDown() {
+        services.close();
+    }
+
+    @Benchmark
+    public boolean deleteFolder() throws IOException {
+        return services.service.deleteFolder(folderId);
+    }
+
+    @Benchmark
+    public boolean deleteTag() throws IOException {
+        return services.service.deleteTag(tagId);
+    }
+}
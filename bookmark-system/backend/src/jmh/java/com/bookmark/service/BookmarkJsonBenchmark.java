@@ -0,0 +1,55 @@
+package com.bookmark.service;
+
+import com.bookmark.model.BookmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 북마크 파일 저장/불러오기 (Jackson 직렬화와 파싱) 벤치마크
+ *
+ * - saveBookmarkData: 데이터 전체를 bookmarks.json으로 직렬화해 저장
+ * - loadBookmarkData: 캐시가 빈 상태에서 파일을 파싱하고 조회 색인까지 만드는 첫 로드
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BookmarkJsonBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private BenchmarkServices services;
+    private BookmarkData data;
+
+    @Setup
+    public void setUp() throws IOException {
+        services = new BenchmarkServices(BookmarkDataset.generate(size));
+        data = services.service.loadBookmarkData();
+    }
+
+    @TearDown
+    public void tearDown() {
+        services.close();
+    }
+
+    @Benchmark
+    public StoredFile saveBookmarkData() throws IOException {
+        return services.storage.write(data, null, null);
+    }
+
+    @Benchmark
+    public BookmarkData loadBookmarkData() throws IOException {
+        services.dataCache.invalidate(BenchmarkServices.USER_KEY);
+        return services.service.loadBookmarkData();
+    }
+}
@@ -0,0 +1,88 @@
+package com.bookmark.service;
+
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import com.bookmark.model.BookmarkOperation;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 북마크 하나를 바꾸는 일괄 작업의 메모리 처리 벤치마크 (조회 색인 사본 + 새 목록 게시)
+ *
+ * 캐시에 게시된 데이터와 색인에 PATCH 하나를 적용하고 게시할 데이터를 만드는 데까지 측정합니다.
+ * 정렬 색인은 목록 페이지를 조회한 뒤의 상태처럼 전체/폴더/태그 범위에 미리 만들어 둡니다.
+ * 바뀐 부분만 복사하므로 크기가 100배가 되어도 시간이 거의 늘지 않아야 합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookmarkMutationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private BookmarkData data;
+    private BookmarkLookupIndex index;
+    private List<String> ids;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        data = BookmarkDataset.generate(size).data();
+        index = BookmarkLookupIndex.build(data.getBookmarks());
+        ids = new ArrayList<>(data.getBookmarks().size());
+        for (Bookmark bookmark : data.getBookmarks()) {
+            ids.add(bookmark.getId());
+            // 바꿀 북마크가 속한 범위의 정렬 색인도 모두 있도록
+            for (String tag : bookmark.getTags()) {
+                index.pageWithTag(tag, BookmarkSort.TITLE, false, null, 1);
+            }
+            if (bookmark.getFolderId() != null) {
+                index.pageInFolder(bookmark.getFolderId(), BookmarkSort.TITLE, false, null, 1);
+            }
+        }
+        for (BookmarkSort sort : BookmarkSort.values()) {
+            index.page(sort, false, null, 1);
+        }
+    }
+
+    @Benchmark
+    public BookmarkData patchOne() {
+        String id = ids.get(next++ % ids.size());
+        BookmarkOperationApplier applier = new BookmarkOperationApplier(data.getBookmarks(),
+            new ArrayList<>(), new ArrayList<>(), index);
+        applier.apply(0, BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.PATCH)
+            .target(BookmarkOperation.Target.BOOKMARK)
+            .id(id)
+            .patch(JsonNodeFactory.instance.objectNode().put("title", "제목 " + next))
+            .build());
+        // 게시된 색인은 그대로 두고 매번 같은 기준에서 측정
+        return applier.toBookmarkData(data);
+    }
+
+    @Benchmark
+    public BookmarkLookupIndex copyAndPut() {
+        Bookmark bookmark = index.get(ids.get(next++ % ids.size())).toBuilder().title("제목 " + next).build();
+        BookmarkLookupIndex copy = index.copy();
+        copy.put(bookmark);
+        return copy;
+    }
+}
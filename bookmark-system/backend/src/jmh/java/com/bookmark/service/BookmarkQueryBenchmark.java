@@ -0,0 +1,79 @@
+package com.bookmark.service;
+
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시와 색인이 준비된 상태의 조회 벤치마크 (화면 요청마다 실행되는 경로)
+ *
+ * 태그 조회는 가장 많이 쓰인 태그, 폴더 조회는 평균 크기의 폴더를 대상으로 합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BookmarkQueryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private BenchmarkServices services;
+    private String folderId;
+    private String tagId;
+
+    @Setup
+    public void setUp() throws IOException {
+        BookmarkDataset dataset = BookmarkDataset.generate(size);
+        services = new BenchmarkServices(dataset);
+        services.warm();
+        folderId = dataset.folders().get(1).getId();
+        tagId = dataset.tags().get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        services.close();
+    }
+
+    @Benchmark
+    public BookmarkData loadBookmarkDataCached() throws IOException {
+        return services.service.loadBookmarkData();
+    }
+
+    @Benchmark
+    public List<Bookmark> searchKorean() throws IOException {
+        return services.service.searchBookmarks("데이터베이스");
+    }
+
+    @Benchmark
+    public List<Bookmark> searchEnglish() throws IOException {
+        return services.service.searchBookmarks("spring");
+    }
+
+    @Benchmark
+    public List<Bookmark> searchMixed() throws IOException {
+        return services.service.searchBookmarks("스프링 performance");
+    }
+
+    @Benchmark
+    public List<Bookmark> getBookmarksByFolder() throws IOException {
+        return services.service.getBookmarksByFolder(folderId);
+    }
+
+    @Benchmark
+    public List<Bookmark> getBookmarksByTag() throws IOException {
+        return services.service.getBookmarksByTag(tagId);
+    }
+}
@@ -0,0 +1,148 @@
+package com.bookmark.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크용 메모리 저장소
+ *
+ * 네트워크와 디스크 없이 직렬화/파싱과 서비스 로직만 측정하도록 파일 내용을 바이트 배열로 보관합니다.
+ * 파일 ID는 "폴더 ID/파일 이름"이며 쓸 때마다 버전이 1씩 커집니다.
+ */
+class InMemoryStorageBackend implements StorageBackend {
+
+    private static final String FOLDER_ID = "benchmark";
+
+    private final Map<String, Content> files = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * 현재 저장된 모든 파일의 사본 (삭제 벤치마크가 매 실행 전에 데이터를 되돌릴 때 사용)
+     */
+    Map<String, byte[]> snapshot() {
+        Map<String, byte[]> contents = new HashMap<>();
+        files.forEach((fileId, file) -> contents.put(fileId, file.content));
+        return contents;
+    }
+
+    /**
+     * {@link #snapshot()}으로 보관한 내용으로 되돌립니다. (버전은 새로 매김)
+     */
+    void restore(Map<String, byte[]> contents) {
+        files.clear();
+        contents.forEach((fileId, content) -> files.put(fileId, new Content(content, versions.incrementAndGet())));
+    }
+
+    /**
+     * 파일 크기 (직렬화 결과 크기 확인용)
+     */
+    int sizeOf(String fileName) {
+        Content file = files.get(FOLDER_ID + "/" + fileName);
+        return file != null ? file.content.length : 0;
+    }
+
+    @Override
+    public String createBookmarkFolder() {
+        return FOLDER_ID;
+    }
+
+    @Override
+    public String getAppFolderId() {
+        return FOLDER_ID;
+    }
+
+    @Override
+    public StoredFile getFileMetadata(String fileName, String folderId) {
+        String fileId = folderId + "/" + fileName;
+        Content file = files.get(fileId);
+        return file != null ? metadata(fileId, fileName, file.version) : null;
+    }
+
+    @Override
+    public InputStream openFileById(String fileId) throws IOException {
+        Content file = files.get(fileId);
+        if (file == null) {
+            throw new IOException("File not found: " + fileId);
+        }
+        return new ByteArrayInputStream(file.content);
+    }
+
+    @Override
+    public <T> List<T> readFilesById(List<String> fileIds, StreamReader<T> reader) throws IOException {
+        List<T> results = new ArrayList<>(fileIds.size());
+        for (String fileId : fileIds) {
+            try (InputStream content = openFileById(fileId)) {
+                results.add(reader.read(content));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public StoredFile writeFile(String fileName, ContentWriter content, String folderId) throws IOException {
+        return writeFile(fileName, content, folderId, null);
+    }
+
+    @Override
+    public synchronized StoredFile writeFile(String fileName, ContentWriter content, String folderId,
+                                             String expectedVersion) throws IOException {
+        String fileId = folderId + "/" + fileName;
+        checkVersion(fileName, folderId, expectedVersion);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        content.writeTo(out);
+        long version = versions.incrementAndGet();
+        files.put(fileId, new Content(out.toByteArray(), version));
+        return metadata(fileId, fileName, version);
+    }
+
+    @Override
+    public void checkVersion(String fileName, String folderId, String expectedVersion) throws IOException {
+        if (expectedVersion == null) {
+            return;
+        }
+        StoredFile current = getFileMetadata(fileName, folderId);
+        String actualVersion = current != null ? current.getVersion() : null;
+        if (!expectedVersion.equals(actualVersion)) {
+            throw new DriveWriteConflictException(fileName, expectedVersion, actualVersion);
+        }
+    }
+
+    @Override
+    public void deleteFile(String fileName, String folderId) {
+        files.remove(folderId + "/" + fileName);
+    }
+
+    @Override
+    public List<StoredFile> listFilesInFolder(String folderId) {
+        List<StoredFile> result = new ArrayList<>();
+        files.forEach((fileId, file) -> {
+            if (fileId.startsWith(folderId + "/")) {
+                result.add(metadata(fileId, fileId.substring(folderId.length() + 1), file.version));
+            }
+        });
+        return result;
+    }
+
+    private static StoredFile metadata(String fileId, String fileName, long version) {
+        return new StoredFile(fileId, fileName, String.valueOf(version));
+    }
+
+    private static final class Content {
+        private final byte[] content;
+        private final long version;
+
+        private Content(byte[] content, long version) {
+            this.content = content;
+            this.version = version;
+        }
+    }
+}
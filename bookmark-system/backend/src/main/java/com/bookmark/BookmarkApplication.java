@@ -3,9 +3,18 @@ package com.bookmark;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Map;
+
 @SpringBootApplication
 public class BookmarkApplication {
     public static void main(String[] args) {
-        SpringApplication.run(BookmarkApplication.class, args);
+        SpringApplication application = new SpringApplication(BookmarkApplication.class);
+        // 설정 파일에 없을 때의 기본값: 헬스 체크와 Prometheus 메트릭 엔드포인트만,
+        // 서버 밖에서 접근할 수 없는 별도 포트(127.0.0.1:8081)로 노출
+        application.setDefaultProperties(Map.of(
+            "management.endpoints.web.exposure.include", "health,prometheus",
+            "management.server.port", "8081",
+            "management.server.address", "127.0.0.1"));
+        application.run(args);
     }
 }
\ No newline at end of file
@@ -1,18 +1,26 @@
 package com.bookmark.config;
 
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
 import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.drive.DriveScopes;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProvider;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProviderBuilder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 
-import java.io.IOException;
-import java.security.GeneralSecurityException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class GoogleDriveConfig {
@@ -26,12 +34,64 @@ public class GoogleDriveConfig {
     @Value("${google.drive.folder-name}")
     private String folderName;
     
+    @Value("${google.drive.http.max-connections:100}")
+    private int maxConnections;
+    
+    @Value("${google.drive.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+    
+    @Value("${google.drive.http.idle-timeout-seconds:60}")
+    private long idleTimeoutSeconds;
+    
+    @Value("${google.drive.read-parallelism:8}")
+    private int readParallelism;
+    
     private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
     private static final List<String> SCOPES = Collections.singletonList(DriveScopes.DRIVE_FILE);
     
+    /**
+     * 모든 사용자의 Drive 클라이언트가 공유하는 HTTP 전송 객체
+     * 커넥션 풀에서 keep-alive 연결을 재사용하여 요청마다 TLS 핸드셰이크가 일어나지 않도록 함
+     */
+    @Bean
+    public HttpTransport httpTransport() {
+        return new ApacheHttpTransport(ApacheHttpTransport.newDefaultHttpClientBuilder()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .evictIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS)
+            .build());
+    }
+    
+    /**
+     * 여러 Drive 파일(예: 북마크 세그먼트)을 동시에 다운로드하기 위한 스레드 풀
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService driveReadExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(readParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "drive-read-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 요청 컨텍스트 밖에서도 동작하는 OAuth2 클라이언트 매니저
+     * 액세스 토큰이 만료되었으면 refresh token으로 갱신한 뒤 반환
+     */
     @Bean
-    public HttpTransport httpTransport() throws GeneralSecurityException, IOException {
-        return GoogleNetHttpTransport.newTrustedTransport();
+    public OAuth2AuthorizedClientManager authorizedClientManager(
+            ClientRegistrationRepository clientRegistrationRepository,
+            OAuth2AuthorizedClientService authorizedClientService) {
+        OAuth2AuthorizedClientProvider authorizedClientProvider = OAuth2AuthorizedClientProviderBuilder.builder()
+            .authorizationCode()
+            .refreshToken()
+            .build();
+        
+        AuthorizedClientServiceOAuth2AuthorizedClientManager authorizedClientManager =
+            new AuthorizedClientServiceOAuth2AuthorizedClientManager(clientRegistrationRepository, authorizedClientService);
+        authorizedClientManager.setAuthorizedClientProvider(authorizedClientProvider);
+        return authorizedClientManager;
     }
     
     @Bean
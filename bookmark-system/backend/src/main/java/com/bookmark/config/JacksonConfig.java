@@ -0,0 +1,22 @@
+package com.bookmark.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 웹 응답용 ObjectMapper 설정
+ */
+@Configuration
+public class JacksonConfig {
+    
+    /**
+     * 속성 필터가 지정되지 않은 응답은 모든 속성을 직렬화
+     * (fields 파라미터가 있는 응답만 {@code MappingJacksonValue}로 필터를 지정함)
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer propertyFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
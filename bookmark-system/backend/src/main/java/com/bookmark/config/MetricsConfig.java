@@ -0,0 +1,76 @@
+package com.bookmark.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Micrometer 메트릭 설정 (actuator의 /actuator/prometheus 엔드포인트로 노출)
+ *
+ * 애플리케이션 메트릭은 bookmark.* 이름을 사용하며, 각 메트릭의 태그는 기록하는 클래스에 설명되어 있습니다.
+ * - bookmark.drive.*: DriveMetrics
+ * - bookmark.json.*: BookmarkJsonCodec
+ * - bookmark.cache.lookups: BookmarkDataCache, EntityFileStore
+ * - bookmark.metadata.fetch: URLMetadataService
+ * - bookmark.write.*: BookmarkWriteQueue
+ * API별 지연 시간은 스프링이 기록하는 http.server.requests (uri, method, status 태그)를 사용합니다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** URL 메타데이터 조회 메트릭에 따로 기록할 최상위 도메인 수 (넘으면 tld=other로 합침) */
+    @Value("${bookmark.metrics.max-scraper-tlds:50}")
+    private int maxScraperTlds;
+
+    /**
+     * API별 지연 시간의 백분위수(p99 등)를 Prometheus에서 계산할 수 있도록 히스토그램 버킷을 기록
+     */
+    @Bean
+    public MeterFilter httpServerRequestsHistogram() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if ("http.server.requests".equals(id.getName())) {
+                    return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+
+    /**
+     * 최상위 도메인 태그도 사용자가 입력한 URL에서 나오므로 임의의 값이 들어올 수 있음
+     * 처음 기록된 값 일정 수만 그대로 두고 나머지는 other 하나로 합쳐 시계열 수가 한없이 늘지 않도록 함
+     */
+    @Bean
+    public MeterFilter scraperTldLimit() {
+        Set<String> tlds = ConcurrentHashMap.newKeySet();
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                if (!"bookmark.metadata.fetch".equals(id.getName())) {
+                    return id;
+                }
+                String tld = id.getTag("tld");
+                if (tld == null || tlds.contains(tld)) {
+                    return id;
+                }
+                if (tlds.size() < maxScraperTlds) {
+                    tlds.add(tld);
+                    return id;
+                }
+                return id.withTag(Tag.of("tld", "other"));
+            }
+        };
+    }
+}
@@ -1,14 +1,23 @@
 package com.bookmark.config;
 
 import com.bookmark.filter.OAuth2BackButtonFilter;
+import com.bookmark.service.BookmarkService;
+import com.bookmark.service.BookmarkWriteQueue;
+import com.bookmark.service.DriveClientPool;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -23,10 +32,19 @@ public class SecurityConfig {
     @Autowired
     private OAuth2BackButtonFilter oAuth2BackButtonFilter;
     
+    @Autowired
+    private DriveClientPool driveClientPool;
+    
+    @Autowired
+    private BookmarkWriteQueue writeQueue;
+    
+    @Autowired
+    private BookmarkService bookmarkService;
+    
     @Value("#{'${cors.allowed-origins:http://localhost:3000}'.split(',')}")
     private List<String> allowedOrigins;
     
-    @Value("#{'${cors.allowed-methods:GET,POST,PUT,DELETE,OPTIONS}'.split(',')}")
+    @Value("#{'${cors.allowed-methods:GET,POST,PUT,PATCH,DELETE,OPTIONS}'.split(',')}")
     private List<String> allowedMethods;
     
     @Value("#{'${cors.allowed-headers:*}'.split(',')}")
@@ -38,6 +56,14 @@ public class SecurityConfig {
     @Value("${cors.max-age:3600}")
     private long maxAge;
     
+    /** 액추에이터 전용 포트 (기본값은 BookmarkApplication에서 127.0.0.1:8081로 지정, -1이면 서비스 포트와 같음) */
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+    
+    /** JFR 진단 기록을 받을 수 있는 사용자 키 목록 ("등록 ID:주체 이름", 비어 있으면 아무도 받을 수 없음) */
+    @Value("#{'${bookmark.diagnostics.admins:}'.split(',')}")
+    private List<String> diagnosticsAdmins;
+    
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -48,6 +74,14 @@ public class SecurityConfig {
             .authorizeHttpRequests(authz -> authz
                 // 인증 없이 접근 가능한 경로들
                 .requestMatchers("/", "/error", "/login", "/login**", "/oauth2/**").permitAll()
+                // 헬스 체크 (상태만 반환)
+                .requestMatchers(EndpointRequest.to("health")).permitAll()
+                // Prometheus 수집은 액추에이터 전용 포트로 들어온 요청만 인증 없이 허용 (서비스 포트로는 로그인 필요)
+                .requestMatchers(new AndRequestMatcher(EndpointRequest.to("prometheus"),
+                    request -> managementPort > 0 && request.getLocalPort() == managementPort)).permitAll()
+                // JVM 전체를 기록하는 진단 엔드포인트는 지정한 관리자만 허용
+                .requestMatchers("/diagnostics/**").access((authentication, context) ->
+                    new AuthorizationDecision(isDiagnosticsAdmin(authentication.get())))
                 .requestMatchers("/drive/init-and-redirect").authenticated()
                 .anyRequest().authenticated()
             )
@@ -61,6 +95,16 @@ public class SecurityConfig {
             // 로그아웃 설정
             .logout(logout -> logout
                 .logoutUrl("/auth/logout")  // 로그아웃 엔드포인트 설정
+                .addLogoutHandler((request, response, authentication) -> {
+                    // 저장 대기 중인 변경을 먼저 저장하고 사용자별 보관 데이터를 지운 뒤 Drive 클라이언트를 풀에서 제거
+                    if (authentication instanceof OAuth2AuthenticationToken) {
+                        OAuth2AuthenticationToken oauthToken = (OAuth2AuthenticationToken) authentication;
+                        String userKey = oauthToken.getAuthorizedClientRegistrationId() + ":" + oauthToken.getName();
+                        writeQueue.flushOnLogout(userKey);
+                        bookmarkService.clearOnLogout(userKey);
+                        driveClientPool.evict(oauthToken.getAuthorizedClientRegistrationId(), oauthToken.getName());
+                    }
+                })
                 .logoutSuccessHandler((request, response, authentication) -> {
                     // 로그아웃 성공 시 200 OK 응답 반환
                     response.setStatus(200);
@@ -74,12 +118,23 @@ public class SecurityConfig {
         return http.build();
     }
     
+    private boolean isDiagnosticsAdmin(Authentication authentication) {
+        if (!(authentication instanceof OAuth2AuthenticationToken)) {
+            return false;
+        }
+        OAuth2AuthenticationToken oauthToken = (OAuth2AuthenticationToken) authentication;
+        String userKey = oauthToken.getAuthorizedClientRegistrationId() + ":" + oauthToken.getName();
+        return diagnosticsAdmins.stream().map(String::trim).anyMatch(admin -> !admin.isEmpty() && admin.equals(userKey));
+    }
+    
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(allowedOrigins);
         configuration.setAllowedMethods(allowedMethods);
         configuration.setAllowedHeaders(allowedHeaders);
+        // 클라이언트가 조건부 요청(If-None-Match)에 쓸 수 있도록 ETag 헤더 노출
+        configuration.setExposedHeaders(List.of(HttpHeaders.ETAG));
         configuration.setAllowCredentials(allowCredentials);
         configuration.setMaxAge(maxAge);
         
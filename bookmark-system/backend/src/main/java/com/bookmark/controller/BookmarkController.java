@@ -1,19 +1,32 @@
 package com.bookmark.controller;
 
+import com.bookmark.dto.BatchRequestDTO;
+import com.bookmark.dto.BatchResultDTO;
+import com.bookmark.dto.BookmarkPageDTO;
+import com.bookmark.dto.SearchResultDTO;
 import com.bookmark.dto.URLMetadataDTO;
 import com.bookmark.model.Bookmark;
+import com.bookmark.search.RankingBoost;
 import com.bookmark.service.BookmarkService;
+import com.bookmark.service.BookmarkSort;
 import com.bookmark.service.URLMetadataService;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -24,11 +37,47 @@ public class BookmarkController {
     private final BookmarkService bookmarkService;
     private final URLMetadataService urlMetadataService;
     
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_PAGE_LIMIT = 200;
+    private static final int MAX_BATCH_OPERATIONS = 1000;
+    
+    static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    
+    /**
+     * 조회 응답에는 ETag를 붙이며, If-None-Match가 일치하면 본문 없이 304를 반환합니다.
+     * ETag는 본문보다 먼저 구합니다. (그 사이 변경이 생겨도 오래된 본문이 새 ETag로 캐시되지 않도록)
+     */
     @GetMapping
-    public ResponseEntity<List<Bookmark>> getAllBookmarks() {
+    public ResponseEntity<MappingJacksonValue> getAllBookmarks(@RequestParam(required = false) String fields) {
         try {
+            String etag = bookmarkService.getBookmarksETag();
             List<Bookmark> bookmarks = bookmarkService.getAllBookmarks();
-            return ResponseEntity.ok(bookmarks);
+            return ResponseEntity.ok().eTag(etag).body(withFields(bookmarks, fields));
+        } catch (IOException e) {
+            log.error("Failed to get bookmarks", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * limit 파라미터가 있으면 커서 기반 페이지로 반환합니다.
+     * (sort: createdAt, updatedAt, title, visitCount / order: asc, desc)
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<MappingJacksonValue> getBookmarksPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String order,
+            @RequestParam(required = false) String fields) {
+        try {
+            String etag = bookmarkService.getBookmarksETag();
+            BookmarkPageDTO page = bookmarkService.getBookmarksPage(
+                BookmarkSort.fromParam(sort), isDescending(order), cursor, pageLimit(limit));
+            return ResponseEntity.ok().eTag(etag).body(withFields(page, fields));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (IOException e) {
             log.error("Failed to get bookmarks", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -38,9 +87,10 @@ public class BookmarkController {
     @GetMapping("/{id}")
     public ResponseEntity<Bookmark> getBookmarkById(@PathVariable String id) {
         try {
+            String etag = bookmarkService.getBookmarksETag();
             Bookmark bookmark = bookmarkService.getBookmarkById(id);
             if (bookmark != null) {
-                return ResponseEntity.ok(bookmark);
+                return ResponseEntity.ok().eTag(etag).body(bookmark);
             }
             return ResponseEntity.notFound().build();
         } catch (IOException e) {
@@ -74,6 +124,26 @@ public class BookmarkController {
         }
     }
     
+    /**
+     * 요청에 있는 속성만 바꿉니다. (RFC 7396 JSON merge patch, null인 속성은 제거)
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Bookmark> patchBookmark(@PathVariable String id, @RequestBody JsonNode patch) {
+        try {
+            Bookmark patched = bookmarkService.patchBookmark(id, patch);
+            if (patched != null) {
+                return ResponseEntity.ok(patched);
+            }
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid bookmark patch: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IOException e) {
+            log.error("Failed to patch bookmark", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBookmark(@PathVariable String id) {
         try {
@@ -88,11 +158,68 @@ public class BookmarkController {
         }
     }
     
+    /**
+     * 북마크/폴더/태그 변경 작업 여러 개를 적용하고 Drive에 한 번만 저장합니다.
+     * 하나라도 실패하면 아무것도 저장하지 않고 400과 작업별 결과를 반환합니다.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> applyBatch(@RequestBody BatchRequestDTO request) {
+        if (request.getOperations() == null || request.getOperations().isEmpty()
+                || request.getOperations().size() > MAX_BATCH_OPERATIONS) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            BatchResultDTO result = bookmarkService.applyBatch(request.getOperations());
+            if (!result.isApplied()) {
+                return ResponseEntity.badRequest().body(result);
+            }
+            return ResponseEntity.ok(result);
+        } catch (IOException e) {
+            log.error("Failed to apply batch", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @GetMapping("/search")
-    public ResponseEntity<List<Bookmark>> searchBookmarks(@RequestParam String q) {
+    public ResponseEntity<MappingJacksonValue> searchBookmarks(
+            @RequestParam String q,
+            @RequestParam(required = false) String fields) {
         try {
             List<Bookmark> bookmarks = bookmarkService.searchBookmarks(q);
-            return ResponseEntity.ok(bookmarks);
+            return ResponseEntity.ok(withFields(bookmarks, fields));
+        } catch (IOException e) {
+            log.error("Failed to search bookmarks", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/search/ranked")
+    public ResponseEntity<MappingJacksonValue> searchBookmarksRanked(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "NONE") RankingBoost boost,
+            @RequestParam(required = false) String fields) {
+        try {
+            int topK = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+            SearchResultDTO result = bookmarkService.searchBookmarksRanked(q, topK, boost);
+            return ResponseEntity.ok(withFields(result, fields));
+        } catch (IOException e) {
+            log.error("Failed to search bookmarks", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<MappingJacksonValue> searchBookmarksFuzzy(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "2") int maxDistance,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            int topK = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+            SearchResultDTO result = bookmarkService.searchBookmarksFuzzy(q, maxDistance, topK);
+            return ResponseEntity.ok(withFields(result, fields));
         } catch (IOException e) {
             log.error("Failed to search bookmarks", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -100,10 +227,35 @@ public class BookmarkController {
     }
     
     @GetMapping("/folder/{folderId}")
-    public ResponseEntity<List<Bookmark>> getBookmarksByFolder(@PathVariable String folderId) {
+    public ResponseEntity<MappingJacksonValue> getBookmarksByFolder(
+            @PathVariable String folderId,
+            @RequestParam(required = false) String fields) {
         try {
+            String etag = bookmarkService.getFolderBookmarksETag(folderId);
             List<Bookmark> bookmarks = bookmarkService.getBookmarksByFolder(folderId);
-            return ResponseEntity.ok(bookmarks);
+            return ResponseEntity.ok().eTag(etag).body(withFields(bookmarks, fields));
+        } catch (IOException e) {
+            log.error("Failed to get bookmarks by folder", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping(value = "/folder/{folderId}", params = "limit")
+    public ResponseEntity<MappingJacksonValue> getBookmarksByFolderPage(
+            @PathVariable String folderId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String order,
+            @RequestParam(required = false) String fields) {
+        try {
+            String etag = bookmarkService.getFolderBookmarksETag(folderId);
+            BookmarkPageDTO page = bookmarkService.getBookmarksByFolderPage(
+                folderId, BookmarkSort.fromParam(sort), isDescending(order), cursor, pageLimit(limit));
+            return ResponseEntity.ok().eTag(etag).body(withFields(page, fields));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (IOException e) {
             log.error("Failed to get bookmarks by folder", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -111,10 +263,35 @@ public class BookmarkController {
     }
     
     @GetMapping("/tag/{tag}")
-    public ResponseEntity<List<Bookmark>> getBookmarksByTag(@PathVariable String tag) {
+    public ResponseEntity<MappingJacksonValue> getBookmarksByTag(
+            @PathVariable String tag,
+            @RequestParam(required = false) String fields) {
         try {
+            String etag = bookmarkService.getTagBookmarksETag(tag);
             List<Bookmark> bookmarks = bookmarkService.getBookmarksByTag(tag);
-            return ResponseEntity.ok(bookmarks);
+            return ResponseEntity.ok().eTag(etag).body(withFields(bookmarks, fields));
+        } catch (IOException e) {
+            log.error("Failed to get bookmarks by tag", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping(value = "/tag/{tag}", params = "limit")
+    public ResponseEntity<MappingJacksonValue> getBookmarksByTagPage(
+            @PathVariable String tag,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String order,
+            @RequestParam(required = false) String fields) {
+        try {
+            String etag = bookmarkService.getTagBookmarksETag(tag);
+            BookmarkPageDTO page = bookmarkService.getBookmarksByTagPage(
+                tag, BookmarkSort.fromParam(sort), isDescending(order), cursor, pageLimit(limit));
+            return ResponseEntity.ok().eTag(etag).body(withFields(page, fields));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (IOException e) {
             log.error("Failed to get bookmarks by tag", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -137,4 +314,41 @@ public class BookmarkController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+    
+    /**
+     * fields 파라미터(쉼표로 구분한 속성 이름)에 있는 북마크 속성만 직렬화하도록 응답 본문을 감쌉니다.
+     * 목록을 복사하지 않고 직렬화할 때 속성을 걸러내며, 목록 안의 북마크(페이지, 검색 결과 포함)에 모두 적용됩니다.
+     * id는 항상 포함합니다. fields가 없으면 모든 속성을 직렬화합니다.
+     */
+    static MappingJacksonValue withFields(Object body, String fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields == null || fields.isBlank()) {
+            return value;
+        }
+        
+        Set<String> properties = new HashSet<>();
+        properties.add("id");
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                properties.add(field.trim());
+            }
+        }
+        value.setFilters(new SimpleFilterProvider()
+            .addFilter(Bookmark.FIELD_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+        return value;
+    }
+    
+    static int pageLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_LIMIT));
+    }
+    
+    static boolean isDescending(String order) {
+        if ("desc".equalsIgnoreCase(order)) {
+            return true;
+        }
+        if ("asc".equalsIgnoreCase(order)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported order: " + order);
+    }
 }
\ No newline at end of file
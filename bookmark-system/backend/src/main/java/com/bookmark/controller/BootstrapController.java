@@ -0,0 +1,56 @@
+package com.bookmark.controller;
+
+import com.bookmark.dto.BootstrapDTO;
+import com.bookmark.service.BookmarkService;
+import com.bookmark.service.BookmarkSort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 로그인 직후 첫 화면 데이터를 한 번의 요청으로 제공하는 컨트롤러
+ * 
+ * 북마크, 폴더, 태그, 개수를 따로 요청하면 화면마다 여러 번 왕복하므로
+ * 같은 로드 결과로 한 응답을 만들어 반환합니다.
+ * 응답은 메모리에 문자열로 모으지 않고 직렬화하면서 바로 전송됩니다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/bootstrap")
+@RequiredArgsConstructor
+public class BootstrapController {
+    
+    private final BookmarkService bookmarkService;
+    
+    /**
+     * limit 파라미터가 있으면 북마크 전체 대신 첫 페이지만 포함합니다.
+     * (sort: createdAt, updatedAt, title, visitCount / order: asc, desc)
+     * fields 파라미터가 있으면 북마크는 그 속성만 포함합니다.
+     * If-None-Match가 일치하면 본문 없이 304를 반환합니다.
+     */
+    @GetMapping
+    public ResponseEntity<MappingJacksonValue> getBootstrap(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String order,
+            @RequestParam(required = false) String fields) {
+        try {
+            String etag = bookmarkService.getBootstrapETag();
+            BootstrapDTO bootstrap = bookmarkService.getBootstrap(BookmarkSort.fromParam(sort),
+                BookmarkController.isDescending(order),
+                limit != null ? BookmarkController.pageLimit(limit) : null);
+            return ResponseEntity.ok().eTag(etag).body(BookmarkController.withFields(bootstrap, fields));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid bootstrap request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IOException e) {
+            log.error("Failed to get bootstrap data", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
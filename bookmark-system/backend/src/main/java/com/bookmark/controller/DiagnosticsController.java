@@ -0,0 +1,174 @@
+package com.bookmark.controller;
+
+import com.bookmark.jfr.BookmarkPhaseEvent;
+import com.bookmark.jfr.DriveCallEvent;
+import com.bookmark.jfr.JsonCodecEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 운영 중인 서버의 짧은 JFR 기록을 요청 시 받아 가는 진단 엔드포인트
+ *
+ * 지정한 시간 동안 JVM 기본 이벤트와 북마크 이벤트(DriveCall, JsonCodec, BookmarkPhase)를 기록한 뒤
+ * .jfr 파일로 돌려주며, JDK Mission Control 또는 {@code jfr print}로 열 수 있습니다.
+ * 에이전트 없이 JVM 내장 기능만 사용하고, 한 번에 하나의 기록만 만듭니다.
+ * 다른 사용자의 파일 이름이 기록에 포함되므로 기본적으로 꺼져 있고 (bookmark.diagnostics.jfr.enabled),
+ * 켜더라도 bookmark.diagnostics.admins에 지정한 사용자만 받을 수 있습니다. (SecurityConfig)
+ * 환경 변수, 시스템 속성, JVM 인자, 프로세스 목록처럼 비밀이 들어갈 수 있는 JDK 이벤트는 기록하지 않습니다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/diagnostics")
+@ConditionalOnProperty(name = "bookmark.diagnostics.jfr.enabled", havingValue = "true")
+public class DiagnosticsController {
+
+    /** JDK에 포함된 설정 (default: 상시 기록용 저부하, profile: 더 자세한 샘플링) */
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    /** JDK 설정에서 끄는 이벤트 (환경 변수, 시스템 속성, JVM 인자, 다른 프로세스의 명령줄) */
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+        "jdk.InitialEnvironmentVariable",
+        "jdk.InitialSystemProperty",
+        "jdk.JVMInformation",
+        "jdk.SystemProcess");
+
+    /** 기록이 끝난 뒤 파일을 만들어 응답할 때까지 기다리는 여유 시간 */
+    private static final Duration RESPONSE_MARGIN = Duration.ofSeconds(30);
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /** 한 번에 기록할 수 있는 최대 시간 */
+    @Value("${bookmark.diagnostics.jfr.max-duration-seconds:60}")
+    private int maxDurationSeconds;
+
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    /** 기록 시간이 지나면 기록을 멈추고 응답을 보내는 스레드 (요청 스레드는 기록을 시작한 뒤 바로 반환) */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jfr-diagnostics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 지정한 시간 동안 기록한 JFR 파일을 반환합니다.
+     * 요청 스레드는 기록을 시작하고 바로 반환되며, 응답은 기록이 끝난 뒤 비동기로 보냅니다.
+     *
+     * @param seconds 기록 시간 (1 ~ 최대 시간)
+     * @param settings JFR 설정 이름 (default 또는 profile)
+     * @return .jfr 파일, 이미 기록 중이면 409
+     */
+    @GetMapping(value = "/jfr", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public DeferredResult<ResponseEntity<byte[]>> recordFlight(
+            @RequestParam(defaultValue = "10") int seconds,
+            @RequestParam(defaultValue = "profile") String settings) {
+        Duration duration = Duration.ofSeconds(seconds);
+        DeferredResult<ResponseEntity<byte[]>> result =
+            new DeferredResult<>(duration.plus(RESPONSE_MARGIN).toMillis(),
+                ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        if (seconds < 1 || seconds > maxDurationSeconds || !SETTINGS.contains(settings)) {
+            log.warn("Invalid JFR recording request: seconds={}, settings={}", seconds, settings);
+            result.setResult(ResponseEntity.badRequest().build());
+            return result;
+        }
+        if (!recording.compareAndSet(false, true)) {
+            result.setResult(ResponseEntity.status(HttpStatus.CONFLICT).build());
+            return result;
+        }
+
+        Recording jfr;
+        try {
+            jfr = new Recording(settingsWithoutSensitiveEvents(settings));
+            jfr.setName("bookmark-on-demand");
+            jfr.enable(DriveCallEvent.class);
+            jfr.enable(JsonCodecEvent.class);
+            jfr.enable(BookmarkPhaseEvent.class);
+
+            log.info("Recording JFR for {}s (settings={})", seconds, settings);
+            jfr.start();
+        } catch (IOException | ParseException | RuntimeException e) {
+            recording.set(false);
+            log.error("Failed to start JFR recording", e);
+            result.setResult(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+            return result;
+        }
+
+        scheduler.schedule(() -> result.setResult(finish(jfr)), duration.toMillis(), TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * JDK 설정을 읽어 비밀이 들어갈 수 있는 이벤트를 끈 설정을 만듭니다.
+     */
+    private static Map<String, String> settingsWithoutSensitiveEvents(String settings)
+            throws IOException, ParseException {
+        Map<String, String> values = new HashMap<>(Configuration.getConfiguration(settings).getSettings());
+        for (String event : SENSITIVE_EVENTS) {
+            values.put(event + "#enabled", "false");
+        }
+        return values;
+    }
+
+    /**
+     * 기록을 멈추고 파일 내용을 응답으로 만듭니다.
+     */
+    private ResponseEntity<byte[]> finish(Recording jfr) {
+        Path file = null;
+        try (jfr) {
+            jfr.stop();
+
+            file = Files.createTempFile("bookmark-", ".jfr");
+            jfr.dump(file);
+            String fileName = "bookmark-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr";
+            return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(Files.readAllBytes(file));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to record JFR", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } finally {
+            recording.set(false);
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Failed to delete JFR dump: {}", file, e);
+                }
+            }
+        }
+    }
+}
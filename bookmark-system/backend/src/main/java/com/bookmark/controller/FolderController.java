@@ -2,15 +2,18 @@ package com.bookmark.controller;
 
 import com.bookmark.model.Folder;
 import com.bookmark.service.BookmarkService;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -23,14 +26,26 @@ public class FolderController {
     @GetMapping
     public ResponseEntity<List<Folder>> getAllFolders() {
         try {
+            String etag = bookmarkService.getFoldersETag();
             List<Folder> folders = bookmarkService.getAllFolders();
-            return ResponseEntity.ok(folders);
+            return ResponseEntity.ok().eTag(etag).body(folders);
         } catch (IOException e) {
             log.error("Failed to get folders", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    @GetMapping("/counts")
+    public ResponseEntity<Map<String, Integer>> getFolderCounts() {
+        try {
+            String etag = bookmarkService.getBookmarksETag();
+            return ResponseEntity.ok().eTag(etag).body(bookmarkService.getFolderBookmarkCounts());
+        } catch (IOException e) {
+            log.error("Failed to get folder counts", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @PostMapping
     public ResponseEntity<Folder> createFolder(@Valid @RequestBody Folder folder) {
         try {
@@ -56,6 +71,26 @@ public class FolderController {
         }
     }
     
+    /**
+     * 요청에 있는 속성만 바꿉니다. (RFC 7396 JSON merge patch, null인 속성은 제거)
+     */
+    @PatchMapping(value = "/{id}", consumes = {BookmarkController.MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Folder> patchFolder(@PathVariable String id, @RequestBody JsonNode patch) {
+        try {
+            Folder patched = bookmarkService.patchFolder(id, patch);
+            if (patched != null) {
+                return ResponseEntity.ok(patched);
+            }
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid folder patch: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IOException e) {
+            log.error("Failed to patch folder", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteFolder(@PathVariable String id) {
         try {
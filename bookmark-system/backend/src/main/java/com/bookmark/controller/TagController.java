@@ -0,0 +1,71 @@
+package com.bookmark.controller;
+
+import com.bookmark.dto.TagCountsDTO;
+import com.bookmark.model.Tag;
+import com.bookmark.service.BookmarkService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/tags")
+@RequiredArgsConstructor
+public class TagController {
+    
+    private final BookmarkService bookmarkService;
+    
+    @GetMapping
+    public ResponseEntity<List<Tag>> getAllTags() {
+        try {
+            String etag = bookmarkService.getTagsETag();
+            List<Tag> tags = bookmarkService.getAllTags();
+            return ResponseEntity.ok().eTag(etag).body(tags);
+        } catch (IOException e) {
+            log.error("Failed to get tags", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/counts")
+    public ResponseEntity<TagCountsDTO> getTagCounts() {
+        try {
+            String etag = bookmarkService.getBookmarksETag();
+            return ResponseEntity.ok().eTag(etag).body(bookmarkService.getTagBookmarkCounts());
+        } catch (IOException e) {
+            log.error("Failed to get tag counts", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @PostMapping
+    public ResponseEntity<Tag> createTag(@Valid @RequestBody Tag tag) {
+        try {
+            Tag created = bookmarkService.createTag(tag);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (IOException e) {
+            log.error("Failed to create tag", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTag(@PathVariable String id) {
+        try {
+            boolean deleted = bookmarkService.deleteTag(id);
+            if (deleted) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.notFound().build();
+        } catch (IOException e) {
+            log.error("Failed to delete tag", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
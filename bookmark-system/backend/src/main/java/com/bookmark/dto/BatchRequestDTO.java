@@ -0,0 +1,23 @@
+package com.bookmark.dto;
+
+import com.bookmark.model.BookmarkOperation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 여러 변경 작업을 한 번에 적용하기 위한 요청 DTO 클래스
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDTO {
+    /**
+     * 순서대로 적용할 작업 목록 (뒤의 작업은 앞 작업의 결과를 참조할 수 있음)
+     */
+    private List<BookmarkOperation> operations;
+}
@@ -0,0 +1,28 @@
+package com.bookmark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 일괄 변경 요청의 처리 결과를 담는 DTO 클래스
+ * 하나라도 실패하면 어떤 작업도 저장되지 않으며 applied가 false
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+    /**
+     * 모든 작업이 적용되어 저장되었는지 여부
+     */
+    private boolean applied;
+    
+    /**
+     * 요청 순서대로의 작업별 결과
+     */
+    private List<OperationResultDTO> results;
+}
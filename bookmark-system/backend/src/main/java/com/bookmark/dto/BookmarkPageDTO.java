@@ -0,0 +1,33 @@
+package com.bookmark.dto;
+
+import com.bookmark.model.Bookmark;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 커서 기반 페이지 단위로 나눈 북마크 목록을 담는 DTO 클래스
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookmarkPageDTO {
+    /**
+     * 요청한 정렬 순서의 현재 페이지 항목
+     */
+    private List<Bookmark> items;
+    
+    /**
+     * 다음 페이지를 요청할 때 전달할 커서, 마지막 페이지면 null
+     */
+    private String nextCursor;
+    
+    /**
+     * 목록 전체 항목 수
+     */
+    private int total;
+}
@@ -0,0 +1,46 @@
+package com.bookmark.dto;
+
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.Folder;
+import com.bookmark.model.Tag;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 로그인 직후 첫 화면에 필요한 데이터를 한 번에 담는 DTO 클래스
+ * 북마크는 전체 목록(bookmarks) 또는 첫 페이지(bookmarkPage) 중 하나만 채워집니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BootstrapDTO {
+    /**
+     * 전체 북마크 목록 (첫 페이지를 요청한 경우 null)
+     */
+    private List<Bookmark> bookmarks;
+    
+    /**
+     * 북마크 첫 페이지 (페이지를 요청하지 않은 경우 null)
+     */
+    private BookmarkPageDTO bookmarkPage;
+    
+    private List<Folder> folders;
+    
+    private List<Tag> tags;
+    
+    /**
+     * 폴더 ID → 폴더에 속한 북마크 수
+     */
+    private Map<String, Integer> folderCounts;
+    
+    /**
+     * 태그별 북마크 수
+     */
+    private TagCountsDTO tagCounts;
+}
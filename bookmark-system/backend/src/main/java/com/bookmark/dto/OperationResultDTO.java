@@ -0,0 +1,51 @@
+package com.bookmark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 변경 작업 하나의 처리 결과를 담는 DTO 클래스
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationResultDTO {
+    
+    public enum Status {
+        /** 적용됨 */
+        OK,
+        /** 대상이 없음 */
+        NOT_FOUND,
+        /** 작업 내용이 올바르지 않음 */
+        INVALID,
+        /** 변경하려는 속성이 그 사이 다른 곳에서 바뀜 */
+        CONFLICT,
+        /** 앞선 작업이 실패하여 적용하지 않음 */
+        SKIPPED
+    }
+    
+    /**
+     * 요청 목록에서의 작업 위치 (0부터 시작)
+     */
+    private int index;
+    
+    private Status status;
+    
+    /**
+     * 대상 ID (생성된 경우 새 ID)
+     */
+    private String id;
+    
+    /**
+     * 작업 후 북마크/폴더/태그 (삭제 시 null)
+     */
+    private Object entity;
+    
+    /**
+     * 실패 사유
+     */
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.bookmark.dto;
+
+import com.bookmark.model.Bookmark;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 순위가 매겨진 검색 결과를 담는 DTO 클래스
+ * 상위 k개의 북마크와 전체 일치 개수를 함께 전달
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    /**
+     * 점수 내림차순으로 정렬된 상위 결과
+     */
+    private List<Bookmark> items;
+    
+    /**
+     * 검색어와 일치한 전체 북마크 수 (items 크기와 다를 수 있음)
+     */
+    private int total;
+}
@@ -0,0 +1,27 @@
+package com.bookmark.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 태그 화면에 표시할 태그별 북마크 수를 담는 DTO 클래스
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCountsDTO {
+    /**
+     * 태그 → 태그가 붙은 북마크 수
+     */
+    private Map<String, Integer> counts;
+    
+    /**
+     * 태그가 하나 이상 붙은 북마크 수
+     */
+    private int taggedBookmarks;
+}
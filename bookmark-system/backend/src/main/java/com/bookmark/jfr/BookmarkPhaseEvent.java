@@ -0,0 +1,79 @@
+package com.bookmark.jfr;
+
+import com.bookmark.filter.RequestIdFilter;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * BookmarkService의 처리 단계 하나 (데이터 로드, 저장, 검색)
+ *
+ * 로드 단계의 source로 데이터가 어디서 왔는지(대기 중인 변경, 캐시, Drive) 구분하며,
+ * 같은 요청 ID의 DriveCall/JsonCodec 이벤트가 이 단계 안에서 일어난 Drive 호출과 JSON 변환입니다.
+ */
+@Name("com.bookmark.BookmarkPhase")
+@Label("Bookmark Phase")
+@Category({"Bookmark", "Service"})
+@Description("Load, save or search phase of a bookmark request")
+@StackTrace(false)
+public class BookmarkPhaseEvent extends Event {
+
+    public static final String LOAD = "load";
+    public static final String SAVE = "save";
+    public static final String SEARCH = "search";
+    public static final String SEARCH_RANKED = "search.ranked";
+    public static final String SEARCH_FUZZY = "search.fuzzy";
+
+    @Label("Request ID")
+    public String requestId;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Source")
+    @Description("For load: pending, cache or drive; for save: queue when written by the write queue")
+    public String source;
+
+    @Label("Bookmarks")
+    @Description("Number of bookmarks the phase worked on")
+    public int bookmarkCount;
+
+    @Label("Results")
+    @Description("Number of search results, -1 for other phases")
+    public int resultCount = -1;
+
+    /**
+     * 이벤트를 시작합니다.
+     *
+     * @param phase 단계 이름 (예: {@link #LOAD})
+     */
+    public static BookmarkPhaseEvent start(String phase) {
+        BookmarkPhaseEvent event = new BookmarkPhaseEvent();
+        event.begin();
+        if (event.isEnabled()) {
+            event.requestId = RequestIdFilter.currentRequestId();
+            event.phase = phase;
+        }
+        return event;
+    }
+
+    /**
+     * 이벤트를 끝내고 기록 대상이면 기록합니다.
+     *
+     * @param source 데이터 출처, 해당 없으면 null
+     * @param bookmarkCount 처리한 북마크 수
+     * @param resultCount 검색 결과 수, 해당 없으면 -1
+     */
+    public void finish(String source, int bookmarkCount, int resultCount) {
+        end();
+        if (shouldCommit()) {
+            this.source = source;
+            this.bookmarkCount = bookmarkCount;
+            this.resultCount = resultCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.bookmark.jfr;
+
+import com.bookmark.filter.RequestIdFilter;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Google Drive API 호출 한 번 (요청부터 응답까지, 스트림 다운로드는 스트림을 닫을 때까지)
+ */
+@Name("com.bookmark.DriveCall")
+@Label("Drive Call")
+@Category({"Bookmark", "Drive"})
+@Description("Google Drive API round trip")
+@StackTrace(false)
+public class DriveCallEvent extends Event {
+
+    @Label("Request ID")
+    public String requestId;
+
+    @Label("Operation")
+    @Description("list, get, download, create, update, delete")
+    public String operation;
+
+    @Label("File")
+    @Description("File name, or file ID when only the ID is known")
+    public String file;
+
+    @Label("Bytes")
+    @Description("Uploaded or downloaded content size, -1 if not applicable")
+    @DataAmount
+    public long bytes = -1;
+
+    @Label("Status")
+    @Description("HTTP status code, or IO_ERROR")
+    public String status;
+
+    /**
+     * 이벤트를 시작합니다. (요청 ID는 호출한 스레드의 것을 사용)
+     */
+    public static DriveCallEvent start(String operation, String file) {
+        DriveCallEvent event = new DriveCallEvent();
+        event.begin();
+        if (event.isEnabled()) {
+            event.requestId = RequestIdFilter.currentRequestId();
+            event.operation = operation;
+            event.file = file;
+        }
+        return event;
+    }
+
+    /**
+     * 이벤트를 끝내고 기록 대상이면 기록합니다.
+     *
+     * @param status HTTP 상태 코드 또는 IO_ERROR
+     * @param bytes 전송한 내용의 크기, 해당 없으면 -1
+     */
+    public void finish(String status, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.status = status;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
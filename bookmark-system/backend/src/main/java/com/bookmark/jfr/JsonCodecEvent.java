@@ -0,0 +1,61 @@
+package com.bookmark.jfr;
+
+import com.bookmark.filter.RequestIdFilter;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 저장 파일 하나의 JSON 직렬화 또는 역직렬화
+ * (스트림으로 주고받으므로 본문 전송 시간을 포함하며, 같은 시간의 DriveCall 이벤트와 겹칠 수 있음)
+ */
+@Name("com.bookmark.JsonCodec")
+@Label("JSON Codec")
+@Category({"Bookmark", "JSON"})
+@Description("Jackson (de)serialization of a stored file")
+@StackTrace(false)
+public class JsonCodecEvent extends Event {
+
+    public static final String SERIALIZE = "serialize";
+    public static final String DESERIALIZE = "deserialize";
+
+    @Label("Request ID")
+    public String requestId;
+
+    @Label("Direction")
+    public String direction;
+
+    @Label("Type")
+    @Description("Class of the value, e.g. BookmarkData")
+    public String type;
+
+    /**
+     * 이벤트를 시작합니다.
+     *
+     * @param direction {@link #SERIALIZE} 또는 {@link #DESERIALIZE}
+     * @param type 값의 클래스 이름
+     */
+    public static JsonCodecEvent start(String direction, String type) {
+        JsonCodecEvent event = new JsonCodecEvent();
+        event.begin();
+        if (event.isEnabled()) {
+            event.requestId = RequestIdFilter.currentRequestId();
+            event.direction = direction;
+            event.type = type;
+        }
+        return event;
+    }
+
+    /**
+     * 이벤트를 끝내고 기록 대상이면 기록합니다.
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
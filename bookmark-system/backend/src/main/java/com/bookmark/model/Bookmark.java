@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.LocalDateTime;
@@ -11,10 +12,17 @@ import java.util.List;
 import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(Bookmark.FIELD_FILTER)
 public class Bookmark {
+    /**
+     * 응답에서 요청한 속성만 직렬화할 때 사용하는 필터 ID
+     * 필터가 지정되지 않은 직렬화(Drive 저장 등)에서는 모든 속성을 씁니다.
+     */
+    public static final String FIELD_FILTER = "bookmarkFields";
+    
     private String id;
     private String url;
     private String title;
@@ -0,0 +1,75 @@
+package com.bookmark.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 작업 저널 파일 내용
+ * 기준 스냅샷 파일과 그 이후에 저장된 북마크 변경 목록
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookmarkJournal {
+    @Builder.Default
+    private int formatVersion = 2;
+
+    /**
+     * 기준 스냅샷 파일 ID (없으면 빈 데이터에서 시작)
+     */
+    private String snapshotFileId;
+
+    /**
+     * 기준 스냅샷 파일 이름 (없으면 bookmarks.json)
+     */
+    private String snapshotFileName;
+
+    /**
+     * 기준 스냅샷 파일 버전
+     */
+    private String snapshotVersion;
+
+    /**
+     * 이 저널로 교체된 이전 스냅샷 파일 이름 (다음에 스냅샷을 바꿀 때 삭제)
+     */
+    @Builder.Default
+    private List<String> retired = new ArrayList<>();
+
+    /**
+     * 스냅샷 이후 저장된 변경 (저장 순서대로)
+     */
+    @Builder.Default
+    private List<Entry> entries = new ArrayList<>();
+
+    /**
+     * 한 번의 저장에 포함된 북마크 변경
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+        private LocalDateTime timestamp;
+
+        /**
+         * 추가/수정된 북마크 (저장 시점의 전체 내용)
+         */
+        @Builder.Default
+        private List<Bookmark> saved = new ArrayList<>();
+
+        /**
+         * 삭제된 북마크 ID
+         */
+        @Builder.Default
+        private List<String> deleted = new ArrayList<>();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bookmark.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 분할 저장 방식의 매니페스트 파일 내용
+ * 북마크 세그먼트 파일 목록을 담는 작은 파일
+ *
+ * 세그먼트 파일은 저장할 때마다 새 이름으로 쓰이며 한 번 쓴 뒤에는 바뀌지 않습니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookmarkManifest {
+    @Builder.Default
+    private int formatVersion = 2;
+    
+    @Builder.Default
+    private String version = "1.0";
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime lastModified;
+    
+    /**
+     * 북마크를 나누는 세그먼트 수 (북마크 ID 해시 % segmentCount)
+     */
+    private int segmentCount;
+    
+    @Builder.Default
+    private List<SegmentRef> segments = new ArrayList<>();
+    
+    /**
+     * 이 매니페스트로 교체되어 더 이상 가리키지 않는 세그먼트 파일 이름
+     * 이전 매니페스트를 읽는 중인 요청이 있을 수 있으므로 다음 저장에서 삭제합니다.
+     */
+    @Builder.Default
+    private List<String> retired = new ArrayList<>();
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SegmentRef {
+        private int index;
+        private String fileId;
+        
+        /**
+         * 세그먼트 파일 이름 (필수, 삭제할 때 사용)
+         */
+        private String fileName;
+        
+        /**
+         * 세그먼트를 쓴 직후의 파일 버전 (세그먼트 파일은 다시 쓰지 않으므로 기록용)
+         */
+        private String fileVersion;
+        private int count;
+    }
+}
@@ -0,0 +1,85 @@
+package com.bookmark.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 북마크/폴더/태그에 대한 하나의 논리적 변경 작업
+ *
+ * 서버가 적용할 때 비어 있는 ID와 시각을 채우므로, 적용된 작업은 같은 상태에
+ * 다시 적용해도 같은 결과를 냅니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookmarkOperation {
+    
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE,
+        /** 북마크는 다른 폴더로, 폴더는 다른 상위 폴더로 이동 */
+        MOVE,
+        /** 북마크/폴더의 일부 속성만 변경 (JSON merge patch) */
+        PATCH
+    }
+    
+    public enum Target {
+        BOOKMARK,
+        FOLDER,
+        TAG
+    }
+    
+    private Type type;
+    private Target target;
+    
+    /**
+     * 대상 ID (CREATE에서는 생략하면 서버가 생성)
+     */
+    private String id;
+    
+    /**
+     * BOOKMARK CREATE/UPDATE 내용
+     */
+    private Bookmark bookmark;
+    
+    /**
+     * FOLDER CREATE/UPDATE 내용
+     */
+    private Folder folder;
+    
+    /**
+     * TAG CREATE/UPDATE 내용
+     */
+    private Tag tag;
+    
+    /**
+     * BOOKMARK/FOLDER PATCH 내용 (RFC 7396 merge patch, null인 속성은 제거)
+     */
+    private JsonNode patch;
+    
+    /**
+     * PATCH가 바꾸는 속성의 적용 전 값 (JSON Pointer 경로 → 값)
+     * 서버가 처음 적용할 때 채우며, 다시 적용할 때 같은 속성이 그 사이 바뀌었는지 확인하는 데 사용합니다.
+     */
+    private Map<String, JsonNode> patchBase;
+    
+    /**
+     * MOVE 대상 폴더 ID (폴더 이동에서 null이면 최상위)
+     */
+    private String folderId;
+    
+    /**
+     * 작업 시각 (생략하면 서버가 적용 시각으로 채움)
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'")
+    private LocalDateTime timestamp;
+}
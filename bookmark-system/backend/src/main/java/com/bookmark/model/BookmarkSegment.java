@@ -0,0 +1,23 @@
+package com.bookmark.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 분할 저장 방식의 세그먼트 파일 내용
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookmarkSegment {
+    private int index;
+    
+    @Builder.Default
+    private List<Bookmark> bookmarks = new ArrayList<>();
+}
@@ -0,0 +1,315 @@
+package com.bookmark.search;
+
+import com.bookmark.dto.SearchResultDTO;
+import com.bookmark.model.Bookmark;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 오타를 허용하는 검색을 위한 트라이그램 색인
+ *
+ * 제목의 단어, URL 도메인, 태그 이름을 색인어로 삼고, 각 색인어를 3글자 조각(트라이그램)으로
+ * 나누어 트라이그램 → 색인어 목록을 유지합니다.
+ *
+ * 편집 한 번은 트라이그램을 최대 3개(인접 문자 바꿈은 4개) 망가뜨리므로, 거리 k 이내의
+ * 색인어는 검색어 트라이그램 중 최소 (개수 - 4k)개를 공유합니다. 이 개수와 길이 차이로
+ * 후보 색인어를 먼저 걸러낸 뒤 후보에 대해서만 상한이 있는 편집 거리(OSA: 삽입, 삭제,
+ * 치환, 인접 문자 바꿈)를 계산합니다. 전체 색인어를 순회하지 않습니다.
+ */
+public class FuzzyIndex {
+
+    /** 트라이그램 앞뒤에 붙이는 경계 문자 */
+    private static final int BOUNDARY = '$';
+
+    /** 허용하는 최대 편집 거리 */
+    public static final int MAX_DISTANCE = 2;
+
+    /** 트라이그램 → 색인어 */
+    private final Map<String, Set<String>> gramTerms = new HashMap<>();
+
+    /** 색인어 → 북마크 ID */
+    private final Map<String, Set<String>> termDocuments = new HashMap<>();
+
+    /** 북마크 ID → 색인어 (삭제/수정 시 정리용) */
+    private final Map<String, Set<String>> documentTerms = new HashMap<>();
+
+    private final Map<String, Bookmark> documents = new HashMap<>();
+
+    /** 북마크 ID → 저장 순서 (같은 거리일 때 기존 목록 순서 유지) */
+    private final Map<String, Long> documentOrder = new HashMap<>();
+
+    private long nextOrder;
+
+    /**
+     * 북마크 목록 전체로 색인을 생성합니다.
+     *
+     * @param bookmarks 색인할 북마크 목록
+     * @return 생성된 색인
+     */
+    public static FuzzyIndex build(List<Bookmark> bookmarks) {
+        FuzzyIndex index = new FuzzyIndex();
+        for (Bookmark bookmark : bookmarks) {
+            index.add(bookmark);
+        }
+        return index;
+    }
+
+    /**
+     * 북마크를 색인에 추가합니다. 같은 ID가 이미 있으면 기존 색인어를 교체합니다.
+     *
+     * @param bookmark 색인할 북마크
+     */
+    public synchronized void add(Bookmark bookmark) {
+        String id = bookmark.getId();
+        if (id == null) {
+            return;
+        }
+        removeTerms(id);
+
+        Set<String> terms = new HashSet<>(Tokenizer.words(bookmark.getTitle()));
+        terms.addAll(domainTerms(bookmark.getUrl()));
+        if (bookmark.getTags() != null) {
+            for (String tag : bookmark.getTags()) {
+                if (tag != null && !tag.isBlank()) {
+                    // 태그 전체와 태그를 이루는 단어 모두 색인
+                    terms.add(tag.trim().toLowerCase(Locale.ROOT));
+                    terms.addAll(Tokenizer.words(tag));
+                }
+            }
+        }
+
+        for (String term : terms) {
+            Set<String> ids = termDocuments.computeIfAbsent(term, key -> new HashSet<>());
+            if (ids.isEmpty()) {
+                for (String gram : trigrams(term)) {
+                    gramTerms.computeIfAbsent(gram, key -> new HashSet<>()).add(term);
+                }
+            }
+            ids.add(id);
+        }
+        documentTerms.put(id, terms);
+        documents.put(id, bookmark);
+        documentOrder.computeIfAbsent(id, key -> nextOrder++);
+    }
+
+    /**
+     * 북마크를 색인에서 제거합니다.
+     *
+     * @param id 제거할 북마크 ID
+     */
+    public synchronized void remove(String id) {
+        removeTerms(id);
+        documents.remove(id);
+        documentOrder.remove(id);
+    }
+
+    /**
+     * 검색어의 모든 단어가 편집 거리 maxDistance 이내로 일치하는 북마크를 반환합니다.
+     *
+     * 단어별 편집 거리 합이 작은 순서로 정렬하며, 짧은 단어는 트라이그램 조건이
+     * 성립하도록 허용 거리를 줄입니다. (3글자 이하는 정확히 일치해야 함)
+     *
+     * @param query 검색어
+     * @param maxDistance 단어당 허용 편집 거리 (최대 {@link #MAX_DISTANCE})
+     * @param limit 반환할 최대 개수
+     * @return 상위 결과와 전체 일치 개수
+     */
+    public synchronized SearchResultDTO search(String query, int maxDistance, int limit) {
+        List<String> words = new ArrayList<>(new HashSet<>(Tokenizer.words(query)));
+        if (words.isEmpty() || limit <= 0) {
+            return SearchResultDTO.builder().items(new ArrayList<>()).total(0).build();
+        }
+
+        Map<String, Integer> distances = null;
+        for (String word : words) {
+            Map<String, Integer> wordDistances = matchWord(word, Math.max(0, Math.min(maxDistance, MAX_DISTANCE)));
+            if (distances == null) {
+                distances = wordDistances;
+            } else {
+                Map<String, Integer> intersection = new HashMap<>();
+                for (Map.Entry<String, Integer> entry : distances.entrySet()) {
+                    Integer distance = wordDistances.get(entry.getKey());
+                    if (distance != null) {
+                        intersection.put(entry.getKey(), entry.getValue() + distance);
+                    }
+                }
+                distances = intersection;
+            }
+            if (distances.isEmpty()) {
+                break;
+            }
+        }
+
+        Map<String, Integer> matched = distances;
+        List<String> ids = new ArrayList<>(matched.keySet());
+        ids.sort(Comparator.<String>comparingInt(matched::get).thenComparingLong(documentOrder::get));
+
+        List<Bookmark> items = new ArrayList<>(Math.min(limit, ids.size()));
+        for (int i = 0; i < ids.size() && i < limit; i++) {
+            items.add(documents.get(ids.get(i)));
+        }
+        return SearchResultDTO.builder().items(items).total(ids.size()).build();
+    }
+
+    /**
+     * 한 단어와 편집 거리 이내인 색인어를 찾아 북마크별 최소 거리를 반환합니다.
+     */
+    private Map<String, Integer> matchWord(String word, int maxDistance) {
+        int[] wordCodePoints = word.codePoints().toArray();
+        Set<String> wordGrams = trigrams(word);
+
+        // q-gram 조건으로 후보를 거르려면 최소 하나의 트라이그램은 공유해야 하므로
+        // 짧은 단어는 허용 거리를 줄임 (3글자 이하는 정확히 일치)
+        int distance = Math.min(maxDistance, (wordGrams.size() - 1) / 3);
+        int minSharedGrams = Math.max(1, wordGrams.size() - 4 * distance);
+
+        Map<String, Integer> sharedGrams = new HashMap<>();
+        for (String gram : wordGrams) {
+            Set<String> terms = gramTerms.get(gram);
+            if (terms != null) {
+                for (String term : terms) {
+                    sharedGrams.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+
+        Map<String, Integer> result = new HashMap<>();
+        for (Map.Entry<String, Integer> candidate : sharedGrams.entrySet()) {
+            if (candidate.getValue() < minSharedGrams) {
+                continue;
+            }
+            String term = candidate.getKey();
+            int[] termCodePoints = term.codePoints().toArray();
+            if (Math.abs(termCodePoints.length - wordCodePoints.length) > distance) {
+                continue;
+            }
+            int termDistance = boundedDistance(wordCodePoints, termCodePoints, distance);
+            if (termDistance <= distance) {
+                for (String id : termDocuments.get(term)) {
+                    result.merge(id, termDistance, Math::min);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 편집 거리(OSA)가 limit을 넘는 것이 확실해지면 계산을 중단합니다.
+     * 행의 최솟값은 줄어들지 않으므로 한 행 전체가 limit을 넘으면 더 볼 필요가 없습니다.
+     *
+     * @return 편집 거리, limit을 넘으면 limit + 1
+     */
+    static int boundedDistance(int[] a, int[] b, int limit) {
+        int[] beforePrevious = new int[b.length + 1];
+        int[] previous = new int[b.length + 1];
+        int[] current = new int[b.length + 1];
+        for (int j = 0; j <= b.length; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length; i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length; j++) {
+                int cost = a[i - 1] == b[j - 1] ? 0 : 1;
+                int value = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a[i - 1] == b[j - 2] && a[i - 2] == b[j - 1]) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMinimum = Math.min(rowMinimum, value);
+            }
+            if (rowMinimum > limit) {
+                return limit + 1;
+            }
+            int[] swap = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length], limit + 1);
+    }
+
+    /**
+     * 경계 문자를 붙인 문자열의 트라이그램 집합 ("abc" → $ab, abc, bc$)
+     */
+    static Set<String> trigrams(String term) {
+        int[] codePoints = term.codePoints().toArray();
+        int[] padded = new int[codePoints.length + 2];
+        padded[0] = BOUNDARY;
+        System.arraycopy(codePoints, 0, padded, 1, codePoints.length);
+        padded[padded.length - 1] = BOUNDARY;
+
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length; i++) {
+            grams.add(new String(padded, i, 3));
+        }
+        return grams;
+    }
+
+    /**
+     * URL의 호스트와 호스트를 구성하는 이름들 (예: www.github.com → github.com, github)
+     */
+    private static Set<String> domainTerms(String url) {
+        Set<String> terms = new HashSet<>();
+        if (url == null || url.isBlank()) {
+            return terms;
+        }
+        try {
+            String host = new URI(url.trim()).getHost();
+            if (host == null) {
+                return terms;
+            }
+            host = host.toLowerCase(Locale.ROOT);
+            if (host.startsWith("www.")) {
+                host = host.substring(4);
+            }
+            terms.add(host);
+            String[] labels = host.split("\\.");
+            // 마지막 레이블(최상위 도메인)은 제외
+            for (int i = 0; i < labels.length - 1; i++) {
+                if (labels[i].length() >= 3) {
+                    terms.add(labels[i]);
+                }
+            }
+        } catch (URISyntaxException e) {
+            // 잘못된 URL은 도메인 색인에서 제외
+        }
+        return terms;
+    }
+
+    private void removeTerms(String id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Set<String> ids = termDocuments.get(term);
+            if (ids == null) {
+                continue;
+            }
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                termDocuments.remove(term);
+                for (String gram : trigrams(term)) {
+                    Set<String> gramSet = gramTerms.get(gram);
+                    if (gramSet != null) {
+                        gramSet.remove(term);
+                        if (gramSet.isEmpty()) {
+                            gramTerms.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
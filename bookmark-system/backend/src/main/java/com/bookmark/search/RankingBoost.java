@@ -0,0 +1,13 @@
+package com.bookmark.search;
+
+/**
+ * 순위 검색에서 BM25 점수에 추가로 곱하는 가중치 종류
+ */
+public enum RankingBoost {
+    /** 텍스트 점수만 사용 */
+    NONE,
+    /** 최근에 방문/수정한 북마크를 우대 */
+    RECENCY,
+    /** 방문 횟수(visitCount)가 많은 북마크를 우대 */
+    VISITS
+}
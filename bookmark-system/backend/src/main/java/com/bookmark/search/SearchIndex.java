@@ -0,0 +1,318 @@
+package com.bookmark.search;
+
+import com.bookmark.dto.SearchResultDTO;
+import com.bookmark.model.Bookmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 한 사용자의 북마크에 대한 역색인
+ *
+ * 제목, 설명, URL, 태그를 토큰으로 분리하여 토큰 → (북마크 ID → 필드별 출현 횟수)를 유지합니다.
+ * 검색어의 각 토큰은 접두어로 매칭되며, 일반 검색은 모든 토큰을 만족하는 북마크를,
+ * 순위 검색은 BM25F 점수가 높은 상위 k개를 반환합니다.
+ * 북마크 생성/수정/삭제 시 해당 북마크의 토큰만 갱신합니다.
+ */
+public class SearchIndex {
+
+    /** 색인 필드 (배열 인덱스로 사용) */
+    enum Field { TITLE, DESCRIPTION, URL, TAGS }
+
+    private static final int FIELD_COUNT = Field.values().length;
+
+    /** BM25 단어 빈도 포화 계수 */
+    private static final double K1 = 1.2;
+
+    /** BM25 문서 길이 정규화 계수 */
+    private static final double B = 0.75;
+
+    /** 필드 가중치: 제목과 태그 일치를 설명/URL보다 우대 */
+    private static final double[] FIELD_WEIGHTS = {3.0, 1.0, 1.0, 2.0};
+
+    /** 접두어로만 일치한 토큰의 점수 비율 (완전 일치 우대) */
+    private static final double PREFIX_MATCH_WEIGHT = 0.7;
+
+    private static final double RECENCY_WEIGHT = 0.5;
+    private static final double RECENCY_HALF_LIFE_DAYS = 30.0;
+    private static final double VISIT_WEIGHT = 0.2;
+
+    /** 토큰 → (북마크 ID → 필드별 출현 횟수), 접두어 검색을 위해 정렬된 맵 사용 */
+    private final NavigableMap<String, Map<String, int[]>> postings = new TreeMap<>();
+
+    /** 북마크 ID → 색인된 토큰 (삭제/수정 시 postings 정리용) */
+    private final Map<String, Set<String>> documentTerms = new HashMap<>();
+
+    /** 북마크 ID → 필드별 토큰 수 */
+    private final Map<String, int[]> fieldLengths = new HashMap<>();
+
+    /** 필드별 전체 토큰 수 (평균 길이 계산용) */
+    private final long[] totalFieldLengths = new long[FIELD_COUNT];
+
+    private final Map<String, Bookmark> documents = new HashMap<>();
+
+    /** 북마크 ID → 저장 순서 (결과를 기존 목록 순서대로 반환하기 위함) */
+    private final Map<String, Long> documentOrder = new HashMap<>();
+
+    private long nextOrder;
+
+    /**
+     * 북마크 목록 전체로 색인을 생성합니다.
+     *
+     * @param bookmarks 색인할 북마크 목록
+     * @return 생성된 색인
+     */
+    public static SearchIndex build(List<Bookmark> bookmarks) {
+        SearchIndex index = new SearchIndex();
+        for (Bookmark bookmark : bookmarks) {
+            index.add(bookmark);
+        }
+        return index;
+    }
+
+    /**
+     * 북마크를 색인에 추가합니다. 같은 ID가 이미 있으면 기존 토큰을 교체하고 순서는 유지합니다.
+     *
+     * @param bookmark 색인할 북마크
+     */
+    public synchronized void add(Bookmark bookmark) {
+        String id = bookmark.getId();
+        if (id == null) {
+            return;
+        }
+        removeTerms(id);
+
+        Map<String, int[]> termFrequencies = new HashMap<>();
+        int[] lengths = new int[FIELD_COUNT];
+        addField(Field.TITLE, Tokenizer.tokenize(bookmark.getTitle()), termFrequencies, lengths);
+        addField(Field.DESCRIPTION, Tokenizer.tokenize(bookmark.getDescription()), termFrequencies, lengths);
+        addField(Field.URL, Tokenizer.tokenize(bookmark.getUrl()), termFrequencies, lengths);
+        if (bookmark.getTags() != null) {
+            for (String tag : bookmark.getTags()) {
+                addField(Field.TAGS, Tokenizer.tokenize(tag), termFrequencies, lengths);
+            }
+        }
+
+        for (Map.Entry<String, int[]> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(id, entry.getValue());
+        }
+        documentTerms.put(id, termFrequencies.keySet());
+        fieldLengths.put(id, lengths);
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            totalFieldLengths[f] += lengths[f];
+        }
+        documents.put(id, bookmark);
+        documentOrder.computeIfAbsent(id, key -> nextOrder++);
+    }
+
+    /**
+     * 북마크를 색인에서 제거합니다.
+     *
+     * @param id 제거할 북마크 ID
+     */
+    public synchronized void remove(String id) {
+        removeTerms(id);
+        documents.remove(id);
+        documentOrder.remove(id);
+    }
+
+    /**
+     * 검색어의 모든 토큰을 포함하는 북마크를 저장 순서대로 반환합니다.
+     * 빈 검색어는 전체 북마크를 반환합니다.
+     *
+     * @param query 검색어
+     * @return 검색 결과
+     */
+    public synchronized List<Bookmark> search(String query) {
+        if (query == null || query.isBlank()) {
+            return sortedByOrder(documents.keySet());
+        }
+
+        List<String> tokens = Tokenizer.tokenizeQuery(query);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Set<String>> matchesPerToken = new ArrayList<>();
+        for (String token : new HashSet<>(tokens)) {
+            Set<String> matches = prefixMatches(token);
+            if (matches.isEmpty()) {
+                return new ArrayList<>();
+            }
+            matchesPerToken.add(matches);
+        }
+
+        // 가장 작은 집합부터 교집합을 구해 비교 횟수를 줄임
+        matchesPerToken.sort(Comparator.comparingInt(Set::size));
+        Set<String> result = matchesPerToken.get(0);
+        for (int i = 1; i < matchesPerToken.size() && !result.isEmpty(); i++) {
+            result.retainAll(matchesPerToken.get(i));
+        }
+        return sortedByOrder(result);
+    }
+
+    /**
+     * 검색어 토큰 중 하나라도 포함하는 북마크를 BM25F 점수로 정렬하여 상위 k개를 반환합니다.
+     *
+     * 토큰별로 접두어가 일치하는 색인어 중 가장 높은 점수를 사용하고,
+     * 토큰 점수의 합에 선택한 가중치(최근성/방문 횟수)를 곱합니다.
+     * 상위 k개는 크기 k의 최소 힙으로 선택하므로 전체 결과를 정렬하지 않습니다.
+     *
+     * @param query 검색어
+     * @param limit 반환할 최대 개수
+     * @param boost 추가 가중치 종류
+     * @return 상위 결과와 전체 일치 개수
+     */
+    public synchronized SearchResultDTO rankedSearch(String query, int limit, RankingBoost boost) {
+        List<String> tokens = Tokenizer.tokenizeQuery(query);
+        if (tokens.isEmpty() || documents.isEmpty() || limit <= 0) {
+            return SearchResultDTO.builder().items(new ArrayList<>()).total(0).build();
+        }
+
+        int documentCount = documents.size();
+        double[] averageLengths = new double[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            averageLengths[f] = Math.max(1.0, (double) totalFieldLengths[f] / documentCount);
+        }
+
+        Map<String, Double> scores = new HashMap<>();
+        for (String token : new HashSet<>(tokens)) {
+            Map<String, Double> tokenScores = new HashMap<>();
+            for (Map.Entry<String, Map<String, int[]>> term : prefixRange(token).entrySet()) {
+                Map<String, int[]> termPostings = term.getValue();
+                int documentFrequency = termPostings.size();
+                double idf = Math.log(1.0 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                double matchWeight = term.getKey().equals(token) ? 1.0 : PREFIX_MATCH_WEIGHT;
+
+                for (Map.Entry<String, int[]> posting : termPostings.entrySet()) {
+                    double frequency = weightedFrequency(posting.getValue(), fieldLengths.get(posting.getKey()), averageLengths);
+                    double score = matchWeight * idf * frequency * (K1 + 1) / (frequency + K1);
+                    tokenScores.merge(posting.getKey(), score, Math::max);
+                }
+            }
+            tokenScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        PriorityQueue<Map.Entry<String, Double>> topK = new PriorityQueue<>(limit, Map.Entry.comparingByValue());
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            double score = entry.getValue() * boostFactor(documents.get(entry.getKey()), boost, now);
+            if (topK.size() < limit) {
+                topK.add(Map.entry(entry.getKey(), score));
+            } else if (score > topK.peek().getValue()) {
+                topK.poll();
+                topK.add(Map.entry(entry.getKey(), score));
+            }
+        }
+
+        List<Bookmark> items = new ArrayList<>(topK.size());
+        while (!topK.isEmpty()) {
+            items.add(documents.get(topK.poll().getKey()));
+        }
+        Collections.reverse(items);
+        return SearchResultDTO.builder().items(items).total(scores.size()).build();
+    }
+
+    public synchronized int size() {
+        return documents.size();
+    }
+
+    private static void addField(Field field, List<String> tokens, Map<String, int[]> termFrequencies, int[] lengths) {
+        for (String token : tokens) {
+            termFrequencies.computeIfAbsent(token, key -> new int[FIELD_COUNT])[field.ordinal()]++;
+        }
+        lengths[field.ordinal()] += tokens.size();
+    }
+
+    /**
+     * BM25F: 필드별 출현 횟수를 필드 길이로 정규화하고 필드 가중치를 곱해 합산
+     */
+    private static double weightedFrequency(int[] frequencies, int[] lengths, double[] averageLengths) {
+        double weighted = 0.0;
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            if (frequencies[f] > 0) {
+                double normalization = 1.0 - B + B * lengths[f] / averageLengths[f];
+                weighted += FIELD_WEIGHTS[f] * frequencies[f] / normalization;
+            }
+        }
+        return weighted;
+    }
+
+    private static double boostFactor(Bookmark bookmark, RankingBoost boost, LocalDateTime now) {
+        if (boost == RankingBoost.RECENCY) {
+            LocalDateTime lastActivity = lastActivity(bookmark);
+            if (lastActivity == null) {
+                return 1.0;
+            }
+            double ageDays = Math.max(0, Duration.between(lastActivity, now).toHours() / 24.0);
+            return 1.0 + RECENCY_WEIGHT * Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+        }
+        if (boost == RankingBoost.VISITS) {
+            Integer visitCount = bookmark.getMetadata() != null ? bookmark.getMetadata().getVisitCount() : null;
+            return visitCount != null && visitCount > 0 ? 1.0 + VISIT_WEIGHT * Math.log1p(visitCount) : 1.0;
+        }
+        return 1.0;
+    }
+
+    private static LocalDateTime lastActivity(Bookmark bookmark) {
+        if (bookmark.getMetadata() != null && bookmark.getMetadata().getLastVisited() != null) {
+            return bookmark.getMetadata().getLastVisited();
+        }
+        return bookmark.getUpdatedAt() != null ? bookmark.getUpdatedAt() : bookmark.getCreatedAt();
+    }
+
+    private NavigableMap<String, Map<String, int[]>> prefixRange(String token) {
+        return postings.subMap(token, true, token + Character.MAX_VALUE, false);
+    }
+
+    private Set<String> prefixMatches(String token) {
+        Set<String> matches = new HashSet<>();
+        for (Map<String, int[]> termPostings : prefixRange(token).values()) {
+            matches.addAll(termPostings.keySet());
+        }
+        return matches;
+    }
+
+    private List<Bookmark> sortedByOrder(Set<String> ids) {
+        List<String> ordered = new ArrayList<>(ids);
+        ordered.sort(Comparator.comparingLong(documentOrder::get));
+        List<Bookmark> result = new ArrayList<>(ordered.size());
+        for (String id : ordered) {
+            result.add(documents.get(id));
+        }
+        return result;
+    }
+
+    private void removeTerms(String id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<String, int[]> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        int[] lengths = fieldLengths.remove(id);
+        if (lengths != null) {
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                totalFieldLengths[f] -= lengths[f];
+            }
+        }
+    }
+}
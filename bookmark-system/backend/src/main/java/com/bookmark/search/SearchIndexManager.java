@@ -0,0 +1,100 @@
+package com.bookmark.search;
+
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 검색 색인(역색인, 트라이그램 색인)을 관리하는 컴포넌트
+ *
+ * 색인은 생성에 사용한 BookmarkData 인스턴스와 함께 보관되며,
+ * 캐시가 Drive에서 새 데이터를 읽어 인스턴스가 바뀌면 다음 검색 때 다시 생성됩니다.
+ * 변경으로 데이터 인스턴스가 교체되면 바뀐 북마크만 색인에 반영하고 새 인스턴스에 연결합니다.
+ */
+@Component
+public class SearchIndexManager {
+
+    private final Map<String, Entry> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * 데이터에 대응하는 색인을 반환하고, 없거나 오래되었으면 새로 생성합니다.
+     *
+     * @param userKey 사용자 키
+     * @param data 현재 북마크 데이터
+     * @return 검색 색인
+     */
+    public SearchIndex getIndex(String userKey, BookmarkData data) {
+        return getEntry(userKey, data).index;
+    }
+
+    /**
+     * 데이터에 대응하는 오타 허용 검색 색인을 반환합니다.
+     *
+     * @param userKey 사용자 키
+     * @param data 현재 북마크 데이터
+     * @return 트라이그램 색인
+     */
+    public FuzzyIndex getFuzzyIndex(String userKey, BookmarkData data) {
+        return getEntry(userKey, data).fuzzyIndex;
+    }
+
+    /**
+     * 한 번의 변경으로 저장되거나 삭제된 북마크를 색인에 반영하고, 색인을 변경 후 데이터에 연결합니다.
+     * 색인이 다른 데이터 인스턴스로 만들어졌다면 다음 검색 때 재생성되므로 무시합니다.
+     * 검색이 변경의 일부만 반영된 색인을 보지 않도록 색인 잠금을 잡은 채 모두 반영합니다.
+     *
+     * @param userKey 사용자 키
+     * @param previous 변경 전 북마크 데이터
+     * @param next 변경이 적용된 새 북마크 데이터
+     * @param saved 생성되거나 수정된 북마크
+     * @param deletedIds 삭제된 북마크 ID
+     */
+    public void onBookmarksChanged(String userKey, BookmarkData previous, BookmarkData next,
+                                   Collection<Bookmark> saved, Collection<String> deletedIds) {
+        indexes.computeIfPresent(userKey, (key, entry) -> {
+            if (entry.source != previous) {
+                return entry;
+            }
+            synchronized (entry.index) {
+                synchronized (entry.fuzzyIndex) {
+                    for (Bookmark bookmark : saved) {
+                        entry.index.add(bookmark);
+                        entry.fuzzyIndex.add(bookmark);
+                    }
+                    for (String id : deletedIds) {
+                        entry.index.remove(id);
+                        entry.fuzzyIndex.remove(id);
+                    }
+                }
+            }
+            return new Entry(next, entry.index, entry.fuzzyIndex);
+        });
+    }
+
+    private Entry getEntry(String userKey, BookmarkData data) {
+        Entry entry = indexes.get(userKey);
+        if (entry != null && entry.source == data) {
+            return entry;
+        }
+
+        entry = new Entry(data, SearchIndex.build(data.getBookmarks()), FuzzyIndex.build(data.getBookmarks()));
+        indexes.put(userKey, entry);
+        return entry;
+    }
+
+    private static class Entry {
+        private final BookmarkData source;
+        private final SearchIndex index;
+        private final FuzzyIndex fuzzyIndex;
+
+        private Entry(BookmarkData source, SearchIndex index, FuzzyIndex fuzzyIndex) {
+            this.source = source;
+            this.index = index;
+            this.fuzzyIndex = fuzzyIndex;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.bookmark.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색 색인용 토크나이저
+ *
+ * 라틴 문자와 숫자는 단어 단위로 자르고, 한글/한자/가나처럼 띄어쓰기로
+ * 단어를 나눌 수 없는 CJK 문자열은 두 글자씩 겹치는 바이그램으로 자릅니다.
+ * CJK 문자열의 마지막 글자는 한 글자 토큰으로도 추가하여
+ * 한 글자 검색어도 접두어 매칭으로 찾을 수 있도록 합니다.
+ *
+ * 예: "Spring 일반설정" → [spring, 일반, 반설, 설정, 정]
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    /**
+     * 색인할 텍스트를 토큰으로 분리합니다.
+     *
+     * @param text 원본 텍스트
+     * @return 소문자로 정규화된 토큰 목록 (중복 포함)
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * 검색어를 토큰으로 분리합니다.
+     * 바이그램에 이미 포함되는 CJK 마지막 글자 토큰은 만들지 않습니다.
+     *
+     * @param query 검색어
+     * @return 소문자로 정규화된 토큰 목록
+     */
+    public static List<String> tokenizeQuery(String query) {
+        return tokenize(query, true);
+    }
+
+    /**
+     * 텍스트를 단어(문자/숫자가 연속된 구간) 단위로 분리합니다.
+     * CJK 문자열도 바이그램으로 자르지 않고 한 단어로 취급하며, 오타 허용 검색에 사용합니다.
+     *
+     * @param text 원본 텍스트
+     * @return 소문자로 정규화된 단어 목록
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = lower.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(lower.codePointAt(i))) {
+                    i += Character.charCount(lower.codePointAt(i));
+                }
+                words.add(lower.substring(start, i));
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+        return words;
+    }
+
+    private static List<String> tokenize(String text, boolean forQuery) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = lower.codePointAt(i);
+            if (isCjk(codePoint)) {
+                int start = i;
+                while (i < length && isCjk(lower.codePointAt(i))) {
+                    i += Character.charCount(lower.codePointAt(i));
+                }
+                addCjkTokens(lower.substring(start, i), forQuery, tokens);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int start = i;
+                while (i < length) {
+                    int next = lower.codePointAt(i);
+                    if (!Character.isLetterOrDigit(next) || isCjk(next)) {
+                        break;
+                    }
+                    i += Character.charCount(next);
+                }
+                tokens.add(lower.substring(start, i));
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addCjkTokens(String run, boolean forQuery, List<String> tokens) {
+        int[] codePoints = run.codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+        if (!forQuery) {
+            tokens.add(new String(codePoints, codePoints.length - 1, 1));
+        }
+    }
+
+    static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HANGUL
+            || script == Character.UnicodeScript.HAN
+            || script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA;
+    }
+}
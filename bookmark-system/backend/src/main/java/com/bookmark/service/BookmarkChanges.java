@@ -0,0 +1,50 @@
+package com.bookmark.service;
+
+import com.bookmark.model.Bookmark;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 한 번의 저장에 포함된 북마크 변경 내용
+ * 저장 방식에 따라 변경된 부분만 업로드하는 데 사용합니다.
+ *
+ * 폴더와 태그는 각자의 파일에 저장되므로, 폴더/태그 작업의 결과로 바뀐 북마크만 포함됩니다.
+ */
+public class BookmarkChanges {
+
+    private final Collection<Bookmark> savedBookmarks;
+    private final Collection<String> deletedBookmarkIds;
+
+    public BookmarkChanges(Collection<Bookmark> savedBookmarks, Collection<String> deletedBookmarkIds) {
+        this.savedBookmarks = savedBookmarks;
+        this.deletedBookmarkIds = deletedBookmarkIds;
+    }
+
+    /**
+     * 추가/수정된 북마크 (저장 시점의 상태)
+     */
+    public Collection<Bookmark> getSavedBookmarks() {
+        return savedBookmarks;
+    }
+
+    /**
+     * 삭제된 북마크 ID
+     */
+    public Collection<String> getDeletedBookmarkIds() {
+        return deletedBookmarkIds;
+    }
+
+    /**
+     * 추가/수정/삭제된 모든 북마크 ID
+     */
+    public Collection<String> getChangedBookmarkIds() {
+        Set<String> ids = new LinkedHashSet<>();
+        for (Bookmark bookmark : savedBookmarks) {
+            ids.add(bookmark.getId());
+        }
+        ids.addAll(deletedBookmarkIds);
+        return ids;
+    }
+}
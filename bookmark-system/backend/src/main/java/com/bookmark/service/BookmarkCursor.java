@@ -0,0 +1,85 @@
+package com.bookmark.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 북마크 목록 페이지 커서
+ *
+ * 마지막으로 반환한 북마크의 정렬 값과 ID를 담아, 다음 페이지는 정렬 색인에서
+ * 그 위치 바로 뒤부터 이어서 읽습니다. 위치를 순번이 아닌 (정렬 값, ID)로 기억하므로
+ * 페이지 사이에 북마크가 추가/삭제되어도 항목이 중복되거나 빠지지 않습니다.
+ *
+ * 클라이언트에는 Base64(URL-safe) 문자열로 전달되며 내용은 해석하지 않아야 합니다.
+ */
+public final class BookmarkCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    private final BookmarkSort sort;
+    private final boolean descending;
+    private final SortKey position;
+
+    BookmarkCursor(BookmarkSort sort, boolean descending, SortKey position) {
+        this.sort = sort;
+        this.descending = descending;
+        this.position = position;
+    }
+
+    BookmarkSort getSort() {
+        return sort;
+    }
+
+    boolean isDescending() {
+        return descending;
+    }
+
+    SortKey getPosition() {
+        return position;
+    }
+
+    /**
+     * 커서를 클라이언트에 전달할 문자열로 변환합니다.
+     */
+    public String encode() {
+        // 정렬 값(제목)에 구분자가 들어 있을 수 있으므로 맨 뒤에 둠
+        Object value = position.getValue();
+        String text = sort.getParam() + SEPARATOR
+            + (descending ? "desc" : "asc") + SEPARATOR
+            + position.getId() + SEPARATOR
+            + (value == null ? "" : "v" + sort.format(position.getValue()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 클라이언트가 보낸 커서 문자열을 해석합니다.
+     *
+     * @param token encode()로 만든 문자열
+     * @return 커서
+     * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+     */
+    public static BookmarkCursor decode(String token) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = text.split(SEPARATOR, 4);
+            if (parts.length != 4 || parts[2].isEmpty()) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            BookmarkSort sort = BookmarkSort.fromParam(parts[0]);
+            boolean descending;
+            if ("desc".equals(parts[1])) {
+                descending = true;
+            } else if ("asc".equals(parts[1])) {
+                descending = false;
+            } else {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            Comparable<?> value = parts[3].isEmpty() ? null : sort.parse(parts[3].substring(1));
+            return new BookmarkCursor(sort, descending, new SortKey(value, parts[2]));
+        } catch (DateTimeParseException e) {
+            // NumberFormatException은 IllegalArgumentException이므로 그대로 전달됨
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
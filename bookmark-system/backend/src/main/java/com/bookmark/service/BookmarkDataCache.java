@@ -0,0 +1,160 @@
+package com.bookmark.service;
+
+import com.bookmark.model.BookmarkData;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별로 파싱된 BookmarkData를 메모리에 보관하는 캐시
+ *
+ * 캐시 항목은 Drive 파일의 버전과 함께 저장되며, 읽기 요청 시
+ * 파일 메타데이터(version/modifiedTime)만 조회하여 내용이 바뀌지 않았으면
+ * 다운로드와 JSON 파싱 없이 캐시된 데이터를 그대로 사용합니다.
+ *
+ * 각 항목은 ID/폴더/태그 조회 색인({@link BookmarkLookupIndex})을 함께 보관합니다.
+ * Drive에서 새로 읽은 데이터는 색인을 다시 만들고, 같은 데이터 인스턴스를
+ * 저장한 경우에는 기존 색인을 그대로 유지합니다.
+ *
+ * 반환된 데이터와 색인은 여러 요청이 잠금 없이 함께 읽으므로 바꾸면 안 됩니다.
+ * 변경은 사본에 적용한 뒤 {@link #put(String, BookmarkData, String, BookmarkLookupIndex)}로 항목을 교체하며,
+ * 이미 데이터를 받은 요청은 교체 전의 데이터를 끝까지 일관되게 읽습니다.
+ *
+ * 조회 결과는 bookmark.cache.lookups (cache=bookmarks, result 태그) 카운터로 기록합니다.
+ * - hit: 검증 주기 이내라 Drive 조회 없이 반환
+ * - revalidated: 메타데이터 조회 후 버전이 같아 다운로드 없이 반환
+ * - miss: 버전이 다르거나 캐시가 없어 다시 다운로드
+ */
+@Component
+@RequiredArgsConstructor
+public class BookmarkDataCache {
+
+    private final MeterRegistry meterRegistry;
+
+    /** 마지막 검증 후 이 시간(ms) 동안은 Drive 메타데이터 조회도 생략 */
+    @Value("${bookmark.cache.revalidate-interval-ms:5000}")
+    private long revalidateIntervalMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 최근에 검증된 캐시 데이터를 반환합니다.
+     *
+     * @param userKey 사용자 키
+     * @return 검증 주기 이내의 데이터, 없거나 만료되었으면 null
+     */
+    public BookmarkData getIfRecentlyValidated(String userKey) {
+        Entry entry = entries.get(userKey);
+        if (entry != null && System.currentTimeMillis() - entry.validatedAt < revalidateIntervalMs) {
+            recordLookup("hit");
+            return entry.data;
+        }
+        return null;
+    }
+
+    /**
+     * Drive 파일 버전이 캐시된 버전과 같으면 캐시 데이터를 반환합니다.
+     *
+     * @param userKey 사용자 키
+     * @param version Drive에서 조회한 현재 파일 버전
+     * @return 버전이 일치하는 데이터, 없으면 null
+     */
+    public BookmarkData getIfVersion(String userKey, String version) {
+        Entry entry = entries.get(userKey);
+        if (entry != null && Objects.equals(entry.version, version)) {
+            entry.validatedAt = System.currentTimeMillis();
+            recordLookup("revalidated");
+            return entry.data;
+        }
+        recordLookup("miss");
+        return null;
+    }
+
+    /**
+     * Drive에서 읽었거나 Drive에 쓴 데이터를 캐시에 저장합니다.
+     *
+     * @param userKey 사용자 키
+     * @param data 파싱된 북마크 데이터
+     * @param version 해당 데이터에 대응하는 Drive 파일 버전
+     */
+    public void put(String userKey, BookmarkData data, String version) {
+        entries.compute(userKey, (key, existing) -> {
+            BookmarkLookupIndex lookupIndex = existing != null && existing.data == data
+                ? existing.lookupIndex
+                : BookmarkLookupIndex.build(data.getBookmarks());
+            return new Entry(data, version, lookupIndex);
+        });
+    }
+
+    /**
+     * 변경을 적용한 새 데이터와 그 색인으로 캐시 항목을 교체합니다.
+     *
+     * @param userKey 사용자 키
+     * @param data 변경이 적용된 새 데이터 (게시 후에는 바꾸지 않음)
+     * @param version 변경 전 데이터를 읽었을 때의 Drive 파일 버전
+     * @param lookupIndex data에 대응하는 조회 색인
+     */
+    public void put(String userKey, BookmarkData data, String version, BookmarkLookupIndex lookupIndex) {
+        entries.put(userKey, new Entry(data, version, lookupIndex));
+    }
+    
+    /**
+     * 캐시된 데이터가 읽히거나 저장된 Drive 파일 버전을 반환합니다.
+     *
+     * @param userKey 사용자 키
+     * @param data loadBookmarkData()로 얻은 데이터
+     * @return 같은 데이터 인스턴스가 캐시에 있으면 그 버전, 아니면 null
+     */
+    public String getVersion(String userKey, BookmarkData data) {
+        Entry entry = entries.get(userKey);
+        return entry != null && entry.data == data ? entry.version : null;
+    }
+
+    /**
+     * 데이터에 대응하는 조회 색인을 반환합니다.
+     * 캐시에 없는 데이터(예: 파일이 아직 없는 경우의 빈 데이터)는 임시 색인을 만들어 반환합니다.
+     *
+     * @param userKey 사용자 키
+     * @param data loadBookmarkData()로 얻은 데이터
+     * @return 조회 색인
+     */
+    public BookmarkLookupIndex getLookupIndex(String userKey, BookmarkData data) {
+        Entry entry = entries.get(userKey);
+        if (entry != null && entry.data == data) {
+            return entry.lookupIndex;
+        }
+        return BookmarkLookupIndex.build(data.getBookmarks());
+    }
+
+    /**
+     * 사용자의 캐시 항목을 제거합니다. 다음 읽기는 Drive에서 다시 다운로드합니다.
+     *
+     * @param userKey 사용자 키
+     */
+    public void invalidate(String userKey) {
+        entries.remove(userKey);
+    }
+
+    private void recordLookup(String result) {
+        meterRegistry.counter("bookmark.cache.lookups", "cache", "bookmarks", "result", result).increment();
+    }
+
+    private static class Entry {
+        private final BookmarkData data;
+        private final String version;
+        private final BookmarkLookupIndex lookupIndex;
+        private volatile long validatedAt;
+
+        private Entry(BookmarkData data, String version, BookmarkLookupIndex lookupIndex) {
+            this.data = data;
+            this.version = version;
+            this.lookupIndex = lookupIndex;
+            this.validatedAt = System.currentTimeMillis();
+        }
+    }
+}
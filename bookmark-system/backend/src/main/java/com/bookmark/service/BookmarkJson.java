@@ -0,0 +1,20 @@
+package com.bookmark.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Drive에 저장하는 JSON 파일의 직렬화 설정
+ * (웹 응답용 ObjectMapper와 별도로 저장 형식을 고정)
+ */
+final class BookmarkJson {
+
+    // 저장 파일에는 항상 모든 속성을 씀 (Bookmark의 속성 필터는 적용하지 않음)
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+
+    private BookmarkJson() {
+    }
+}
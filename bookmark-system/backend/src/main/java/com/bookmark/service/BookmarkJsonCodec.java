@@ -0,0 +1,61 @@
+package com.bookmark.service;
+
+import com.bookmark.jfr.JsonCodecEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 북마크 저장 파일을 {@link BookmarkJson} 형식으로 읽고 쓰면서 소요 시간을 기록합니다.
+ *
+ * - bookmark.json.deserialize (type 태그): 파일 내용을 객체로 읽는 시간
+ * - bookmark.json.serialize (type 태그): 객체를 저장소의 출력 스트림(업로드 요청 본문)에 쓰는 시간
+ *
+ * type은 BookmarkData, BookmarkSegment처럼 읽고 쓰는 객체의 클래스 이름입니다.
+ * 다운로드 스트림을 바로 파싱하고 직렬화 결과를 바로 전송하므로, 두 시간 모두 본문 전송 시간을 포함합니다.
+ * 같은 구간을 JFR {@link JsonCodecEvent}로도 기록합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookmarkJsonCodec {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 스트림의 JSON을 객체로 읽습니다.
+     *
+     * @param content 파일 내용 스트림
+     * @param type 읽을 객체 타입
+     */
+    public <T> T read(InputStream content, Class<T> type) throws IOException {
+        JsonCodecEvent event = JsonCodecEvent.start(JsonCodecEvent.DESERIALIZE, type.getSimpleName());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return BookmarkJson.OBJECT_MAPPER.readValue(content, type);
+        } finally {
+            sample.stop(timer("bookmark.json.deserialize", type.getSimpleName()));
+            event.finish();
+        }
+    }
+
+    /**
+     * 객체를 직렬화하면서 바로 저장소에 쓰는 파일 내용을 만듭니다.
+     *
+     * @param value 저장할 객체
+     */
+    public JsonStreamingContent content(Object value) {
+        return new JsonStreamingContent(BookmarkJson.OBJECT_MAPPER.writer(), value,
+            timer("bookmark.json.serialize", value.getClass().getSimpleName()));
+    }
+
+    private Timer timer(String name, String type) {
+        return Timer.builder(name)
+            .tag("type", type)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
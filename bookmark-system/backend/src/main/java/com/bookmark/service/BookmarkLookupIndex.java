@@ -0,0 +1,518 @@
+package com.bookmark.service;
+
+import com.bookmark.dto.BookmarkPageDTO;
+import com.bookmark.model.Bookmark;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 북마크 ID, 폴더, 태그로 북마크를 바로 찾기 위한 메모리 색인
+ *
+ * ID → 색인 항목 해시 맵과 폴더 ID → 북마크, 태그 → 북마크 보조 색인을 유지합니다.
+ * 색인 항목은 색인 시점의 폴더/태그/정렬 값을 따로 기억하므로, 호출자가 북마크 객체를 직접 수정한 뒤
+ * {@link #put(Bookmark)}를 호출해도 이전 값의 색인 항목이 정확히 제거됩니다.
+ * 각 북마크는 처음 색인될 때 목록 위치 번호를 받고 교체되어도 유지하므로,
+ * 전체/폴더/태그 목록은 원래 목록의 순서를 따르고 새 북마크는 끝에 붙습니다.
+ *
+ * 목록 페이지 조회를 위해 범위(전체, 폴더, 태그)와 정렬 기준별 정렬 색인도 유지합니다.
+ * 정렬 색인은 처음 요청될 때 만들어지고 이후 변경 시 항목 단위로 갱신되므로,
+ * 다음 페이지 조회는 전체 목록을 다시 정렬하지 않고 커서 위치부터 읽기만 합니다.
+ *
+ * 변경마다 올라가는 리비전을 범위별로 기록하여 응답 ETag를 만듭니다.
+ * 한 폴더의 북마크가 바뀌어도 다른 폴더, 태그 목록의 ETag는 그대로입니다.
+ *
+ * 캐시에 게시된 색인은 읽기 전용으로 쓰고, 변경은 {@link #copy()}로 만든 사본에 적용한 뒤 교체합니다.
+ * 사본은 원본과 맵/집합의 조각({@link ChunkedMap}, {@link ChunkedSortedSet})을 공유하고
+ * 바뀐 조각과 바뀐 범위의 목록만 복사하므로, 북마크 하나를 바꾸는 비용은 전체 북마크 수와 거의 무관합니다.
+ */
+@Slf4j
+public class BookmarkLookupIndex {
+
+    /** 북마크 ID → 색인 항목 */
+    private final ChunkedMap<String, Entry> byId;
+
+    /** 전체 북마크 (목록 순서) */
+    private final ChunkedSortedSet<Entry> all;
+
+    /** 폴더 ID → 폴더의 북마크 (목록 순서) */
+    private final ChunkedMap<String, ChunkedSortedSet<Entry>> byFolder;
+
+    /** 태그 → 태그가 붙은 북마크 (목록 순서) */
+    private final ChunkedMap<String, ChunkedSortedSet<Entry>> byTag;
+
+    /** 범위 → 정렬 기준 → 정렬 색인 (요청된 범위만 유지) */
+    private final ChunkedMap<String, Map<BookmarkSort, ChunkedSortedSet<SortKey>>> sortedViews;
+
+    /**
+     * 이 색인이 만들었거나 복사하여 다른 색인과 공유하지 않는 범위별 목록과 정렬 색인
+     * (공유 중인 것은 바꾸기 전에 복사, 사본을 만들면 원본과 사본 모두 비움)
+     */
+    private final Set<Object> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private static final String ALL_SCOPE = "*";
+
+    /** 색인 인스턴스 번호 (서버 시작 시각에서 시작하므로 재시작 후에도 이전 번호와 겹치지 않음) */
+    private static final AtomicLong GENERATIONS = new AtomicLong(System.currentTimeMillis() << 10);
+
+    /** 사본은 원본의 번호를 이어받아 변경되지 않은 범위의 ETag가 그대로 유지됨 */
+    private final String generation;
+
+    /** 변경마다 1씩 올라가는 리비전 */
+    private long revision;
+
+    /** 범위 → 범위의 북마크가 마지막으로 바뀐 리비전 (비게 된 범위도 유지) */
+    private final ChunkedMap<String, Long> scopeRevisions;
+
+    /** 다음에 새로 색인되는 북마크의 목록 위치 */
+    private long nextPosition;
+
+    /** 태그가 하나 이상 붙은 북마크 수 */
+    private int taggedCount;
+
+    private BookmarkLookupIndex() {
+        this.generation = Long.toString(GENERATIONS.incrementAndGet(), 36);
+        this.byId = new ChunkedMap<>();
+        this.all = new ChunkedSortedSet<>(Entry.ORDER);
+        this.byFolder = new ChunkedMap<>();
+        this.byTag = new ChunkedMap<>();
+        this.sortedViews = new ChunkedMap<>();
+        this.scopeRevisions = new ChunkedMap<>();
+    }
+
+    private BookmarkLookupIndex(BookmarkLookupIndex source) {
+        this.generation = source.generation;
+        this.revision = source.revision;
+        this.nextPosition = source.nextPosition;
+        this.taggedCount = source.taggedCount;
+        this.byId = source.byId.copy();
+        this.all = source.all.copy();
+        this.byFolder = source.byFolder.copy();
+        this.byTag = source.byTag.copy();
+        this.sortedViews = source.sortedViews.copy();
+        this.scopeRevisions = source.scopeRevisions.copy();
+    }
+
+    /**
+     * 북마크 목록으로 색인을 새로 만듭니다.
+     * ID가 없거나 중복된 북마크가 있으면 경고를 남깁니다. (중복 시 뒤의 항목이 우선)
+     *
+     * @param bookmarks Drive에서 읽은 북마크 목록
+     * @return 생성된 색인
+     */
+    public static BookmarkLookupIndex build(List<Bookmark> bookmarks) {
+        BookmarkLookupIndex index = new BookmarkLookupIndex();
+        int skipped = 0;
+        for (Bookmark bookmark : bookmarks) {
+            if (bookmark.getId() == null) {
+                skipped++;
+                continue;
+            }
+            index.put(bookmark);
+        }
+        if (skipped > 0 || index.byId.size() + skipped != bookmarks.size()) {
+            log.warn("Bookmark data is inconsistent: {} bookmarks, {} indexed, {} without id",
+                bookmarks.size(), index.byId.size(), skipped);
+        }
+        return index;
+    }
+
+    /**
+     * 변경을 적용할 사본을 만듭니다. 원본은 그대로이므로 사본을 게시하기 전까지 읽기 요청은 원본을 봅니다.
+     *
+     * @return 같은 내용과 리비전을 가진 새 색인
+     */
+    public synchronized BookmarkLookupIndex copy() {
+        owned.clear();
+        return new BookmarkLookupIndex(this);
+    }
+
+    public synchronized Bookmark get(String id) {
+        Entry entry = byId.get(id);
+        return entry != null ? entry.bookmark : null;
+    }
+
+    public synchronized List<Bookmark> inFolder(String folderId) {
+        return lookup(byFolder.get(folderId));
+    }
+
+    public synchronized List<Bookmark> withTag(String tag) {
+        return lookup(byTag.get(tag));
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /**
+     * 색인된 북마크의 읽기 전용 목록 (목록 위치 순서)
+     * 호출 시점의 내용을 공유하므로 만드는 비용이 북마크 수와 무관하고, 이후 색인을 바꿔도 그대로입니다.
+     */
+    public synchronized List<Bookmark> bookmarks() {
+        return new BookmarkList(all.copy());
+    }
+
+    /**
+     * @return 폴더 ID → 폴더에 속한 북마크 수 (북마크가 없는 폴더는 포함되지 않음)
+     */
+    public synchronized Map<String, Integer> folderCounts() {
+        return counts(byFolder);
+    }
+
+    /**
+     * @return 태그 → 태그가 붙은 북마크 수 (사용되지 않는 태그는 포함되지 않음)
+     */
+    public synchronized Map<String, Integer> tagCounts() {
+        return counts(byTag);
+    }
+
+    /**
+     * @return 태그가 하나 이상 붙은 북마크 수
+     */
+    public synchronized int taggedCount() {
+        return taggedCount;
+    }
+
+    /**
+     * @return 전체 북마크 목록의 ETag 값 (어떤 북마크든 바뀌면 바뀜)
+     */
+    public synchronized String etag() {
+        return etag(ALL_SCOPE);
+    }
+
+    /**
+     * @return 폴더의 북마크 목록 ETag 값 (폴더에 들어오거나 나가거나 폴더 안에서 바뀐 북마크가 있을 때만 바뀜)
+     */
+    public synchronized String folderEtag(String folderId) {
+        return etag(folderScope(folderId));
+    }
+
+    /**
+     * @return 태그의 북마크 목록 ETag 값
+     */
+    public synchronized String tagEtag(String tag) {
+        return etag(tagScope(tag));
+    }
+
+    /**
+     * 전체 북마크 목록의 한 페이지를 반환합니다.
+     *
+     * @param sort 정렬 기준
+     * @param descending 내림차순 여부
+     * @param after 이전 페이지의 커서, 첫 페이지면 null
+     * @param limit 페이지 크기
+     * @return 페이지 항목과 다음 커서
+     */
+    public synchronized BookmarkPageDTO page(BookmarkSort sort, boolean descending, BookmarkCursor after, int limit) {
+        return page(ALL_SCOPE, all, sort, descending, after, limit);
+    }
+
+    /**
+     * 폴더에 속한 북마크 목록의 한 페이지를 반환합니다.
+     */
+    public synchronized BookmarkPageDTO pageInFolder(String folderId, BookmarkSort sort, boolean descending,
+                                                     BookmarkCursor after, int limit) {
+        return page(folderScope(folderId), byFolder.get(folderId), sort, descending, after, limit);
+    }
+
+    /**
+     * 태그가 붙은 북마크 목록의 한 페이지를 반환합니다.
+     */
+    public synchronized BookmarkPageDTO pageWithTag(String tag, BookmarkSort sort, boolean descending,
+                                                    BookmarkCursor after, int limit) {
+        return page(tagScope(tag), byTag.get(tag), sort, descending, after, limit);
+    }
+
+    /**
+     * 북마크를 색인에 추가하거나, 같은 ID의 기존 항목을 교체합니다. (교체하면 목록 위치는 그대로)
+     *
+     * @param bookmark 추가/수정된 북마크
+     */
+    public synchronized void put(Bookmark bookmark) {
+        String id = bookmark.getId();
+        revision++;
+        Entry previous = byId.get(id);
+        unindex(previous);
+
+        Map<BookmarkSort, SortKey> sortKeys = new EnumMap<>(BookmarkSort.class);
+        for (BookmarkSort sort : BookmarkSort.values()) {
+            sortKeys.put(sort, new SortKey(sort.valueOf(bookmark), id));
+        }
+        List<String> tags = bookmark.getTags() != null && !bookmark.getTags().isEmpty()
+            ? new ArrayList<>(bookmark.getTags())
+            : null;
+        Entry entry = new Entry(previous != null ? previous.position : nextPosition++,
+            bookmark, bookmark.getFolderId(), tags, sortKeys);
+
+        byId.put(id, entry);
+        all.add(entry);
+        if (entry.folderId != null) {
+            writableMembers(byFolder, entry.folderId).add(entry);
+        }
+        if (tags != null) {
+            for (String tag : tags) {
+                writableMembers(byTag, tag).add(entry);
+            }
+            taggedCount++;
+        }
+        for (String scope : scopesOf(entry)) {
+            scopeRevisions.put(scope, revision);
+            Map<BookmarkSort, ChunkedSortedSet<SortKey>> views = writableViews(scope);
+            if (views != null) {
+                views.forEach((sort, view) -> view.add(sortKeys.get(sort)));
+            }
+        }
+    }
+
+    /**
+     * 북마크를 색인에서 제거합니다.
+     *
+     * @param id 삭제된 북마크 ID
+     */
+    public synchronized void remove(String id) {
+        revision++;
+        unindex(byId.remove(id));
+    }
+
+    private void unindex(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (String scope : scopesOf(entry)) {
+            scopeRevisions.put(scope, revision);
+            Map<BookmarkSort, ChunkedSortedSet<SortKey>> views = writableViews(scope);
+            if (views != null) {
+                views.forEach((sort, view) -> view.remove(entry.sortKeys.get(sort)));
+            }
+        }
+
+        all.remove(entry);
+        // 비게 된 폴더/태그의 정렬 색인은 함께 제거
+        if (entry.folderId != null && removeMember(byFolder, entry.folderId, entry)) {
+            sortedViews.remove(folderScope(entry.folderId));
+        }
+        if (entry.tags != null) {
+            for (String tag : entry.tags) {
+                if (removeMember(byTag, tag, entry)) {
+                    sortedViews.remove(tagScope(tag));
+                }
+            }
+            taggedCount--;
+        }
+    }
+
+    private BookmarkPageDTO page(String scope, ChunkedSortedSet<Entry> members, BookmarkSort sort,
+                                 boolean descending, BookmarkCursor after, int limit) {
+        if (after != null && (after.getSort() != sort || after.isDescending() != descending)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        if (members == null || members.isEmpty()) {
+            return BookmarkPageDTO.builder().items(new ArrayList<>()).total(0).build();
+        }
+
+        Iterator<SortKey> iterator = view(scope, members, sort)
+            .iterator(after != null ? after.getPosition() : null, descending);
+        List<Bookmark> items = new ArrayList<>(Math.min(limit, members.size()));
+        SortKey last = null;
+        while (iterator.hasNext() && items.size() < limit) {
+            last = iterator.next();
+            items.add(byId.get(last.getId()).bookmark);
+        }
+        String nextCursor = iterator.hasNext() ? new BookmarkCursor(sort, descending, last).encode() : null;
+        return BookmarkPageDTO.builder().items(items).nextCursor(nextCursor).total(members.size()).build();
+    }
+
+    /**
+     * 범위의 정렬 색인 (처음 요청되면 만들어 보관)
+     */
+    private ChunkedSortedSet<SortKey> view(String scope, ChunkedSortedSet<Entry> members, BookmarkSort sort) {
+        Map<BookmarkSort, ChunkedSortedSet<SortKey>> views = sortedViews.get(scope);
+        ChunkedSortedSet<SortKey> view = views != null ? views.get(sort) : null;
+        if (view != null) {
+            return view;
+        }
+
+        List<SortKey> keys = new ArrayList<>(members.size());
+        for (Entry entry : members) {
+            keys.add(entry.sortKeys.get(sort));
+        }
+        view = ChunkedSortedSet.of(keys, SortKey.ORDER);
+        owned.add(view);
+        if (views == null) {
+            views = new EnumMap<>(BookmarkSort.class);
+            owned.add(views);
+        } else if (!owned.contains(views)) {
+            // 다른 색인과 공유하는 정렬 색인 묶음은 바꾸지 않고 새 묶음으로 교체
+            views = new EnumMap<>(views);
+        }
+        views.put(sort, view);
+        sortedViews.put(scope, views);
+        return view;
+    }
+
+    /**
+     * 바꿀 범위의 목록 (공유 중이면 복사하여 교체, 없으면 새로 만듦)
+     */
+    private ChunkedSortedSet<Entry> writableMembers(ChunkedMap<String, ChunkedSortedSet<Entry>> index, String key) {
+        ChunkedSortedSet<Entry> members = index.get(key);
+        if (members != null && owned.contains(members)) {
+            return members;
+        }
+        members = members != null ? members.copy() : new ChunkedSortedSet<>(Entry.ORDER);
+        owned.add(members);
+        index.put(key, members);
+        return members;
+    }
+
+    /**
+     * 바꿀 범위의 정렬 색인 묶음 (공유 중이면 복사하여 교체, 없으면 null)
+     */
+    private Map<BookmarkSort, ChunkedSortedSet<SortKey>> writableViews(String scope) {
+        Map<BookmarkSort, ChunkedSortedSet<SortKey>> views = sortedViews.get(scope);
+        if (views == null || owned.contains(views)) {
+            return views;
+        }
+        Map<BookmarkSort, ChunkedSortedSet<SortKey>> copies = new EnumMap<>(BookmarkSort.class);
+        views.forEach((sort, view) -> {
+            ChunkedSortedSet<SortKey> copy = view.copy();
+            owned.add(copy);
+            copies.put(sort, copy);
+        });
+        owned.add(copies);
+        sortedViews.put(scope, copies);
+        return copies;
+    }
+
+    /**
+     * @return 마지막 항목이 제거되어 키가 사라졌으면 true
+     */
+    private boolean removeMember(ChunkedMap<String, ChunkedSortedSet<Entry>> index, String key, Entry entry) {
+        if (index.get(key) == null) {
+            return false;
+        }
+        ChunkedSortedSet<Entry> members = writableMembers(index, key);
+        members.remove(entry);
+        if (members.isEmpty()) {
+            index.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 북마크가 속한 범위 (색인 시점의 폴더/태그 기준)
+     */
+    private static List<String> scopesOf(Entry entry) {
+        List<String> scopes = new ArrayList<>();
+        scopes.add(ALL_SCOPE);
+        if (entry.folderId != null) {
+            scopes.add(folderScope(entry.folderId));
+        }
+        if (entry.tags != null) {
+            for (String tag : entry.tags) {
+                scopes.add(tagScope(tag));
+            }
+        }
+        return scopes;
+    }
+
+    private String etag(String scope) {
+        Long scopeRevision = scopeRevisions.get(scope);
+        return generation + "-" + (scopeRevision != null ? scopeRevision : 0L);
+    }
+
+    private static String folderScope(String folderId) {
+        return "folder:" + folderId;
+    }
+
+    private static String tagScope(String tag) {
+        return "tag:" + tag;
+    }
+
+    private static Map<String, Integer> counts(ChunkedMap<String, ChunkedSortedSet<Entry>> index) {
+        Map<String, Integer> counts = new HashMap<>(index.size() * 2);
+        index.forEach((key, members) -> counts.put(key, members.size()));
+        return counts;
+    }
+
+    private static List<Bookmark> lookup(ChunkedSortedSet<Entry> members) {
+        if (members == null) {
+            return Collections.emptyList();
+        }
+        List<Bookmark> result = new ArrayList<>(members.size());
+        for (Entry entry : members) {
+            result.add(entry.bookmark);
+        }
+        return result;
+    }
+
+    /**
+     * 색인 항목: 북마크와 색인 시점의 폴더/태그/정렬 값 (만든 뒤 바뀌지 않으므로 사본끼리 공유)
+     */
+    private static final class Entry {
+        static final Comparator<Entry> ORDER = Comparator.comparingLong(entry -> entry.position);
+
+        private final long position;
+        private final Bookmark bookmark;
+        private final String folderId;
+        private final List<String> tags;
+        private final Map<BookmarkSort, SortKey> sortKeys;
+
+        private Entry(long position, Bookmark bookmark, String folderId, List<String> tags,
+                      Map<BookmarkSort, SortKey> sortKeys) {
+            this.position = position;
+            this.bookmark = bookmark;
+            this.folderId = folderId;
+            this.tags = tags;
+            this.sortKeys = sortKeys;
+        }
+    }
+
+    /**
+     * {@link #bookmarks()}가 반환하는 읽기 전용 목록
+     */
+    private static final class BookmarkList extends AbstractList<Bookmark> {
+        private final ChunkedSortedSet<Entry> entries;
+
+        private BookmarkList(ChunkedSortedSet<Entry> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public Bookmark get(int index) {
+            return entries.get(index).bookmark;
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public Iterator<Bookmark> iterator() {
+            Iterator<Entry> iterator = entries.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Bookmark next() {
+                    return iterator.next().bookmark;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,695 @@
+package com.bookmark.service;
+
+import com.bookmark.dto.OperationResultDTO;
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import com.bookmark.model.BookmarkOperation;
+import com.bookmark.model.Folder;
+import com.bookmark.model.Tag;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 변경 작업({@link BookmarkOperation})을 메모리의 북마크, 폴더, 태그 목록에 적용합니다.
+ *
+ * 각 작업은 적용 직전의 상태(앞선 작업이 반영된 상태)를 기준으로 검증하며,
+ * 검증에 실패한 작업은 데이터를 건드리지 않습니다. 적용 시 비어 있는 ID와 시각을
+ * 작업에 채워 넣으므로 적용된 작업 목록은 그대로 다시 적용할 수 있습니다.
+ *
+ * PATCH 작업은 처음 적용할 때 바뀌는 속성의 적용 전 값을 작업에 기록합니다.
+ * 저장 충돌 후 Drive의 최신 데이터에 다시 적용할 때 같은 속성이 그 사이 바뀌었으면
+ * CONFLICT로 실패하고, 다른 속성만 바뀌었으면 그대로 합쳐집니다.
+ *
+ * 조회 색인을 함께 갱신하고, 검색 색인에 반영할 북마크를 모아 둡니다.
+ * 북마크, 폴더, 태그는 각자의 파일에 저장되므로 변경 여부도 목록별로 기록합니다.
+ *
+ * 전달받은 목록과 색인은 다른 요청이 잠금 없이 읽는 캐시의 데이터이므로 바꾸지 않습니다.
+ * 폴더/태그는 목록의 사본에, 북마크는 첫 변경 때 만든 색인의 사본에 적용하며,
+ * 기존 북마크/폴더를 바꿀 때도 복사한 객체를 넣습니다.
+ * 북마크 작업은 색인만 바꾸므로 목록 크기와 무관하게 처리되며(목록 검색이나 뒤쪽 항목 이동 없음),
+ * 색인의 사본도 바뀐 부분만 복사합니다. 새 목록은 {@link #getBookmarks()}에서 기존 순서를 유지하는
+ * 색인의 읽기 전용 목록으로 만듭니다.
+ * 호출자는 모든 작업이 성공했을 때만 {@link #getBookmarks()}, {@link #getLookupIndex()},
+ * {@link #getFolders()}, {@link #getTags()}를 새 데이터로 게시합니다.
+ */
+class BookmarkOperationApplier {
+
+    /**
+     * 작업이 읽거나 변경하는 데이터 구분 (각각 별도 파일)
+     */
+    enum Section {
+        BOOKMARKS, FOLDERS, TAGS
+    }
+
+    private final List<Bookmark> bookmarks;
+    private final List<Folder> folders;
+    private final List<Tag> tags;
+    private BookmarkLookupIndex index;
+
+    /** 색인을 사본으로 바꾸었는지 여부 (북마크를 하나라도 바꾸었는지 여부) */
+    private boolean copied;
+
+    /** 목록의 모든 북마크가 색인에 있는지 여부 (ID가 없거나 중복된 북마크가 없으면 색인의 순서가 곧 목록 순서) */
+    private final boolean indexed;
+
+    /** 이번에 새로 만든 북마크 ID (만든 순서대로 목록 끝에 추가) */
+    private final Set<String> createdBookmarkIds = new LinkedHashSet<>();
+
+    /** 생성/수정된 북마크 (검색 색인 반영용) */
+    private final Map<String, Bookmark> savedBookmarks = new LinkedHashMap<>();
+
+    /** 삭제된 북마크 ID (검색 색인 반영용) */
+    private final Set<String> deletedBookmarkIds = new LinkedHashSet<>();
+
+    /** 적용에 성공한 작업 (ID/시각이 채워진 상태) */
+    private final List<BookmarkOperation> appliedOperations = new ArrayList<>();
+
+    private final Set<Section> changedSections = EnumSet.noneOf(Section.class);
+
+    /**
+     * @param bookmarks 북마크 목록 (북마크가 필요 없는 작업만 적용하면 빈 목록, 변경하지 않음)
+     * @param folders 폴더 목록 (폴더가 필요 없는 작업만 적용하면 빈 목록, 변경하지 않음)
+     * @param tags 태그 목록 (태그가 필요 없는 작업만 적용하면 빈 목록, 변경하지 않음)
+     * @param index bookmarks에 대응하는 조회 색인 (변경하지 않음)
+     */
+    BookmarkOperationApplier(List<Bookmark> bookmarks, List<Folder> folders, List<Tag> tags,
+                             BookmarkLookupIndex index) {
+        this.bookmarks = bookmarks;
+        // 폴더/태그 목록은 작으므로 바로 복사
+        this.folders = new ArrayList<>(folders);
+        this.tags = new ArrayList<>(tags);
+        this.index = index;
+        this.indexed = index.size() == bookmarks.size();
+    }
+
+    /**
+     * 작업들을 검증하고 적용하는 데 필요한 데이터 구분
+     * 예를 들어 폴더 이름 변경에는 북마크가 필요 없지만, 폴더 삭제는 북마크를 옮기므로 필요합니다.
+     */
+    static Set<Section> requiredSections(List<BookmarkOperation> operations) {
+        Set<Section> sections = EnumSet.noneOf(Section.class);
+        for (BookmarkOperation operation : operations) {
+            if (operation == null || operation.getType() == null || operation.getTarget() == null) {
+                continue;
+            }
+            switch (operation.getTarget()) {
+                case BOOKMARK:
+                    sections.add(Section.BOOKMARKS);
+                    if (operation.getType() == BookmarkOperation.Type.MOVE) {
+                        sections.add(Section.FOLDERS);
+                    }
+                    break;
+                case FOLDER:
+                    sections.add(Section.FOLDERS);
+                    if (operation.getType() == BookmarkOperation.Type.DELETE) {
+                        sections.add(Section.BOOKMARKS);
+                    }
+                    break;
+                case TAG:
+                    sections.add(Section.TAGS);
+                    if (operation.getType() == BookmarkOperation.Type.DELETE) {
+                        sections.add(Section.BOOKMARKS);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * 작업이 변경할 수 있는 데이터 구분 (그 구분의 파일을 저장하면 작업이 반영됨)
+     * 북마크 이동은 대상 폴더를 읽기만 하므로 북마크만 변경합니다.
+     */
+    static Set<Section> changedSections(BookmarkOperation operation) {
+        Set<Section> sections = EnumSet.noneOf(Section.class);
+        if (operation == null || operation.getType() == null || operation.getTarget() == null) {
+            return sections;
+        }
+        switch (operation.getTarget()) {
+            case BOOKMARK:
+                sections.add(Section.BOOKMARKS);
+                break;
+            case FOLDER:
+                sections.add(Section.FOLDERS);
+                if (operation.getType() == BookmarkOperation.Type.DELETE) {
+                    sections.add(Section.BOOKMARKS);
+                }
+                break;
+            case TAG:
+                sections.add(Section.TAGS);
+                if (operation.getType() == BookmarkOperation.Type.DELETE) {
+                    sections.add(Section.BOOKMARKS);
+                }
+                break;
+            default:
+                break;
+        }
+        return sections;
+    }
+
+    /**
+     * 작업 하나를 검증하고 적용합니다.
+     *
+     * @param position 요청 목록에서의 위치
+     * @param operation 적용할 작업 (ID/시각이 비어 있으면 채워짐)
+     * @return 처리 결과
+     */
+    OperationResultDTO apply(int position, BookmarkOperation operation) {
+        if (operation == null || operation.getType() == null || operation.getTarget() == null) {
+            return failure(position, null, OperationResultDTO.Status.INVALID, "type and target are required");
+        }
+        if (operation.getTimestamp() == null) {
+            operation.setTimestamp(LocalDateTime.now());
+        }
+
+        OperationResultDTO result;
+        switch (operation.getTarget()) {
+            case BOOKMARK:
+                result = applyBookmark(position, operation);
+                break;
+            case FOLDER:
+                result = applyFolder(position, operation);
+                break;
+            case TAG:
+                result = applyTag(position, operation);
+                break;
+            default:
+                result = failure(position, operation.getId(), OperationResultDTO.Status.INVALID, "Unknown target");
+                break;
+        }
+        if (result.getStatus() == OperationResultDTO.Status.OK) {
+            appliedOperations.add(operation);
+        }
+        return result;
+    }
+
+    /**
+     * 하나 이상의 작업이 데이터를 변경했는지 여부
+     */
+    boolean hasChanges() {
+        return !changedSections.isEmpty();
+    }
+
+    /**
+     * 작업으로 변경된 데이터 구분 (변경된 파일만 저장하는 데 사용)
+     */
+    Set<Section> getChangedSections() {
+        return changedSections;
+    }
+
+    /**
+     * 작업이 적용된 북마크 목록 (북마크를 바꾸지 않았으면 전달받은 목록)
+     * 기존 북마크는 원래 위치에서 최신 내용으로 바뀌거나 빠지고, 새 북마크는 만든 순서대로 끝에 붙습니다.
+     */
+    List<Bookmark> getBookmarks() {
+        if (!copied) {
+            return bookmarks;
+        }
+        if (indexed) {
+            return index.bookmarks();
+        }
+        // ID가 없거나 중복된 북마크는 색인에 없으므로 원래 목록을 따라 새로 만듦
+        List<Bookmark> result = new ArrayList<>(bookmarks.size() + createdBookmarkIds.size());
+        Set<String> added = new HashSet<>();
+        for (Bookmark bookmark : bookmarks) {
+            String id = bookmark.getId();
+            if (id == null || (!savedBookmarks.containsKey(id) && !deletedBookmarkIds.contains(id))) {
+                result.add(bookmark);
+                continue;
+            }
+            // 바뀐 북마크는 색인의 최신 내용으로 (삭제되었으면 null, ID가 중복된 항목은 하나만 남김)
+            Bookmark current = index.get(id);
+            if (current != null && added.add(id)) {
+                result.add(current);
+            }
+        }
+        for (String id : createdBookmarkIds) {
+            Bookmark current = index.get(id);
+            if (current != null && added.add(id)) {
+                result.add(current);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@link #getBookmarks()}에 대응하는 조회 색인
+     */
+    BookmarkLookupIndex getLookupIndex() {
+        return index;
+    }
+
+    /**
+     * 작업이 적용된 북마크 목록으로 게시할 새 데이터를 만듭니다. (게시 후 바뀌지 않도록 읽기 전용 목록)
+     *
+     * @param base 작업을 적용하기 전의 데이터
+     */
+    BookmarkData toBookmarkData(BookmarkData base) {
+        return BookmarkData.builder()
+            .version(base.getVersion())
+            .lastModified(LocalDateTime.now())
+            .bookmarks(Collections.unmodifiableList(getBookmarks()))
+            .build();
+    }
+
+    /**
+     * 작업이 적용된 폴더 목록 (게시 후 바뀌지 않도록 읽기 전용)
+     */
+    List<Folder> getFolders() {
+        return Collections.unmodifiableList(folders);
+    }
+
+    /**
+     * 작업이 적용된 태그 목록 (게시 후 바뀌지 않도록 읽기 전용)
+     */
+    List<Tag> getTags() {
+        return Collections.unmodifiableList(tags);
+    }
+
+    Collection<Bookmark> getSavedBookmarks() {
+        return savedBookmarks.values();
+    }
+
+    Collection<String> getDeletedBookmarkIds() {
+        return deletedBookmarkIds;
+    }
+
+    /**
+     * 적용에 성공한 작업 (ID/시각이 채워진 상태)
+     */
+    List<BookmarkOperation> getAppliedOperations() {
+        return appliedOperations;
+    }
+
+    /**
+     * 저장소에 전달할 북마크 변경 내용 (추가/수정된 북마크와 삭제된 북마크 ID)
+     */
+    BookmarkChanges getChanges() {
+        return new BookmarkChanges(new ArrayList<>(savedBookmarks.values()), new ArrayList<>(deletedBookmarkIds));
+    }
+
+    private OperationResultDTO applyBookmark(int position, BookmarkOperation operation) {
+        String id = operation.getId();
+        switch (operation.getType()) {
+            case CREATE: {
+                Bookmark bookmark = operation.getBookmark();
+                if (bookmark == null) {
+                    return failure(position, id, OperationResultDTO.Status.INVALID, "bookmark is required");
+                }
+                if (id == null) {
+                    id = UUID.randomUUID().toString();
+                    operation.setId(id);
+                } else if (index.get(id) != null) {
+                    return failure(position, id, OperationResultDTO.Status.INVALID, "Bookmark already exists");
+                }
+                // 작업에 담긴 객체는 충돌 후 다시 적용할 때 또 쓰이므로 복사본을 저장
+                bookmark = bookmark.toBuilder()
+                    .id(id)
+                    .createdAt(operation.getTimestamp())
+                    .updatedAt(operation.getTimestamp())
+                    .build();
+                if (bookmark.getMetadata() == null) {
+                    bookmark.setMetadata(Bookmark.BookmarkMetadata.builder()
+                        .visitCount(0)
+                        .build());
+                }
+
+                putBookmark(bookmark);
+                createdBookmarkIds.add(id);
+                return success(position, id, bookmark);
+            }
+            case UPDATE: {
+                Bookmark existing = id != null ? index.get(id) : null;
+                if (existing == null) {
+                    return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Bookmark not found");
+                }
+                if (operation.getBookmark() == null) {
+                    return failure(position, id, OperationResultDTO.Status.INVALID, "bookmark is required");
+                }
+                Bookmark bookmark = operation.getBookmark().toBuilder()
+                    .id(id)
+                    .createdAt(existing.getCreatedAt())
+                    .updatedAt(operation.getTimestamp())
+                    .build();
+
+                putBookmark(bookmark);
+                return success(position, id, bookmark);
+            }
+            case PATCH: {
+                Bookmark existing = id != null ? index.get(id) : null;
+                if (existing == null) {
+                    return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Bookmark not found");
+                }
+                JsonNode current = BookmarkJson.OBJECT_MAPPER.valueToTree(existing);
+                OperationResultDTO rejected = checkPatch(position, operation, current);
+                if (rejected != null) {
+                    return rejected;
+                }
+                Bookmark bookmark;
+                try {
+                    bookmark = BookmarkJson.OBJECT_MAPPER.treeToValue(
+                        MergePatch.apply(current, operation.getPatch()), Bookmark.class);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    return failure(position, id, OperationResultDTO.Status.INVALID, "Invalid patch: " + e.getMessage());
+                }
+                bookmark.setId(id);
+                bookmark.setCreatedAt(existing.getCreatedAt());
+                bookmark.setUpdatedAt(operation.getTimestamp());
+
+                putBookmark(bookmark);
+                return success(position, id, bookmark);
+            }
+            case DELETE: {
+                Bookmark existing = id != null ? index.get(id) : null;
+                if (existing == null) {
+                    return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Bookmark not found");
+                }
+
+                copyOnWrite();
+                index.remove(id);
+                savedBookmarks.remove(id);
+                deletedBookmarkIds.add(id);
+                changedSections.add(Section.BOOKMARKS);
+                return success(position, id, null);
+            }
+            case MOVE: {
+                Bookmark existing = id != null ? index.get(id) : null;
+                if (existing == null) {
+                    return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Bookmark not found");
+                }
+                if (findFolder(operation.getFolderId()) == null) {
+                    return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Target folder not found");
+                }
+
+                Bookmark moved = existing.toBuilder()
+                    .folderId(operation.getFolderId())
+                    .updatedAt(operation.getTimestamp())
+                    .build();
+                putBookmark(moved);
+                return success(position, id, moved);
+            }
+            default:
+                return failure(position, id, OperationResultDTO.Status.INVALID, "Unknown type");
+        }
+    }
+
+    private OperationResultDTO applyFolder(int position, BookmarkOperation operation) {
+        String id = operation.getId();
+        switch (operation.getType()) {
+            case CREATE: {
+                Folder folder = operation.getFolder();
+                if (folder == null) {
+                    return failure(position, id, OperationResultDTO.Status.INVALID, "folder is required");
+                }
+                if (id == null) {
+                    id = UUID.randomUUID().toString();
+                    operation.setId(id);
+                } else if (findFolder(id) != null) {
+                    return failure(position, id, OperationResultDTO.Status.INVALID, "Folder already exists");
+                }
+                // 작업에 담긴 객체는 충돌 후 다시 적용할 때 또 쓰이므로 복사본을 저장
+                folder = folder.toBuilder().id(id).build();
+                if (folder.getOrder() == null) {
+                    folder.setOrder(folders.size() + 1);
+                }
+
+                folders.add(folder);
+                changedSections.add(Section.FOLDERS);
+                return success(position, id, folder);
+            }
+            case UPDATE: {
+                Folder existing = findFolder(id);
+                if (existing == null) {
+                    return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Folder not found");
+                }
+                if (operation.getFolder() == null) {
+                    return failure(position, id, OperationResultDTO.Status.INVALID, "folder is required");
+                }
+                Folder folder = operation.getFolder().toBuilder().id(id).build();
+
+                folders.set(folders.indexOf(existing), folder);
+                changedSections.add(Section.FOLDERS);
+                return success(position, id, folder);
+            }
+            case PATCH: {
+                Folder existing = findFolder(id);
+                if (existing == null) {
+                    return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Folder not found");
+                }
+                JsonNode current = BookmarkJson.OBJECT_MAPPER.valueToTree(existing);
+                OperationResultDTO rejected = checkPatch(position, operation, current);
+                if (rejected != null) {
+                    return rejected;
+                }
+                Folder folder;
+                try {
+                    folder = BookmarkJson.OBJECT_MAPPER.treeToValue(
+                        MergePatch.apply(current, operation.getPatch()), Folder.class);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    return failure(position, id, OperationResultDTO.Status.INVALID, "Invalid patch: " + e.getMessage());
+                }
+                folder.setId(id);
+                String parentId = folder.getParentId();
+                if (parentId != null && !parentId.equals(existing.getParentId())) {
+                    if (findFolder(parentId) == null) {
+                        return failure(position, id, OperationResultDTO.Status.INVALID, "Parent folder not found");
+                    }
+                    if (isSelfOrDescendant(parentId, id)) {
+                        return failure(position, id, OperationResultDTO.Status.INVALID, "Cannot move a folder into itself");
+                    }
+                }
+
+                folders.set(folders.indexOf(existing), folder);
+                changedSections.add(Section.FOLDERS);
+                return success(position, id, folder);
+            }
+            case DELETE: {
+                Folder existing = findFolder(id);
+                if (existing == null) {
+                    return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Folder not found");
+                }
+                folders.remove(existing);
+
+                // Move bookmarks from deleted folder to default folder
+                String defaultFolderId = folders.isEmpty() ? null : folders.get(0).getId();
+                for (Bookmark bookmark : index.inFolder(id)) {
+                    putBookmark(bookmark.toBuilder().folderId(defaultFolderId).build());
+                }
+                changedSections.add(Section.FOLDERS);
+                return success(position, id, null);
+            }
+            case MOVE: {
+                Folder existing = findFolder(id);
+                if (existing == null) {
+                    return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Folder not found");
+                }
+                String parentId = operation.getFolderId();
+                if (parentId != null) {
+                    if (findFolder(parentId) == null) {
+                        return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Target folder not found");
+                    }
+                    if (isSelfOrDescendant(parentId, id)) {
+                        return failure(position, id, OperationResultDTO.Status.INVALID, "Cannot move a folder into itself");
+                    }
+                }
+
+                Folder moved = existing.toBuilder().parentId(parentId).build();
+                folders.set(folders.indexOf(existing), moved);
+                changedSections.add(Section.FOLDERS);
+                return success(position, id, moved);
+            }
+            default:
+                return failure(position, id, OperationResultDTO.Status.INVALID, "Unknown type");
+        }
+    }
+
+    private OperationResultDTO applyTag(int position, BookmarkOperation operation) {
+        String id = operation.getId();
+        switch (operation.getType()) {
+            case CREATE: {
+                Tag tag = operation.getTag();
+                if (tag == null) {
+                    return failure(position, id, OperationResultDTO.Status.INVALID, "tag is required");
+                }
+                if (id == null) {
+                    id = UUID.randomUUID().toString();
+                    operation.setId(id);
+                } else if (findTag(id) != null) {
+                    return failure(position, id, OperationResultDTO.Status.INVALID, "Tag already exists");
+                }
+                tag = tag.toBuilder().id(id).usageCount(0).build();
+
+                tags.add(tag);
+                changedSections.add(Section.TAGS);
+                return success(position, id, tag);
+            }
+            case UPDATE: {
+                Tag existing = findTag(id);
+                if (existing == null) {
+                    return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Tag not found");
+                }
+                if (operation.getTag() == null) {
+                    return failure(position, id, OperationResultDTO.Status.INVALID, "tag is required");
+                }
+                Tag tag = operation.getTag().toBuilder().id(id).build();
+
+                tags.set(tags.indexOf(existing), tag);
+                changedSections.add(Section.TAGS);
+                return success(position, id, tag);
+            }
+            case DELETE: {
+                Tag existing = findTag(id);
+                if (existing == null) {
+                    return failure(position, id, OperationResultDTO.Status.NOT_FOUND, "Tag not found");
+                }
+                tags.remove(existing);
+
+                // Remove tag from all bookmarks
+                for (Bookmark bookmark : index.withTag(id)) {
+                    List<String> remaining = new ArrayList<>(bookmark.getTags());
+                    remaining.removeIf(id::equals);
+                    putBookmark(bookmark.toBuilder().tags(remaining).build());
+                }
+                changedSections.add(Section.TAGS);
+                return success(position, id, null);
+            }
+            case PATCH:
+                return failure(position, id, OperationResultDTO.Status.INVALID, "Tags cannot be patched");
+            default:
+                return failure(position, id, OperationResultDTO.Status.INVALID, "Tags cannot be moved");
+        }
+    }
+
+    /**
+     * 처음 북마크를 바꾸기 전에 색인의 사본을 만듭니다.
+     */
+    private void copyOnWrite() {
+        if (!copied) {
+            index = index.copy();
+            copied = true;
+        }
+    }
+
+    /**
+     * 새 북마크나 기존 북마크를 교체할 새 객체를 색인에 넣습니다.
+     * (기존 객체는 다른 요청이 읽고 있을 수 있으므로 바꾸지 않음)
+     */
+    private void putBookmark(Bookmark bookmark) {
+        copyOnWrite();
+        index.put(bookmark);
+        bookmarkSaved(bookmark);
+    }
+
+    private void bookmarkSaved(Bookmark bookmark) {
+        deletedBookmarkIds.remove(bookmark.getId());
+        savedBookmarks.put(bookmark.getId(), bookmark);
+        changedSections.add(Section.BOOKMARKS);
+    }
+
+    /**
+     * PATCH 내용을 검증하고, 처음 적용하면 적용 전 값을 기록하고 다시 적용하면 충돌을 확인합니다.
+     *
+     * @param current 대상의 현재 JSON 표현
+     * @return 적용할 수 없으면 실패 결과, 적용할 수 있으면 null
+     */
+    private static OperationResultDTO checkPatch(int position, BookmarkOperation operation, JsonNode current) {
+        JsonNode patch = operation.getPatch();
+        if (patch == null || !patch.isObject()) {
+            return failure(position, operation.getId(), OperationResultDTO.Status.INVALID, "patch must be a JSON object");
+        }
+        if (operation.getPatchBase() == null) {
+            operation.setPatchBase(MergePatch.baseValues(current, patch));
+            return null;
+        }
+        String changed = MergePatch.firstChanged(current, operation.getPatchBase());
+        if (changed != null) {
+            return failure(position, operation.getId(), OperationResultDTO.Status.CONFLICT,
+                "Changed elsewhere: " + changed);
+        }
+        return null;
+    }
+
+    private Folder findFolder(String id) {
+        if (id == null) {
+            return null;
+        }
+        for (Folder folder : folders) {
+            if (id.equals(folder.getId())) {
+                return folder;
+            }
+        }
+        return null;
+    }
+
+    private Tag findTag(String id) {
+        if (id == null) {
+            return null;
+        }
+        for (Tag tag : tags) {
+            if (id.equals(tag.getId())) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * folderId가 ancestorId 자신이거나 그 하위 폴더인지 확인합니다. (상위 폴더를 따라 올라감)
+     */
+    private boolean isSelfOrDescendant(String folderId, String ancestorId) {
+        Set<String> visited = new LinkedHashSet<>();
+        String current = folderId;
+        while (current != null && visited.add(current)) {
+            if (current.equals(ancestorId)) {
+                return true;
+            }
+            Folder folder = findFolder(current);
+            current = folder != null ? folder.getParentId() : null;
+        }
+        return false;
+    }
+
+    private static OperationResultDTO success(int position, String id, Object entity) {
+        return OperationResultDTO.builder()
+            .index(position)
+            .status(OperationResultDTO.Status.OK)
+            .id(id)
+            .entity(entity)
+            .build();
+    }
+
+    private static OperationResultDTO failure(int position, String id, OperationResultDTO.Status status, String message) {
+        return OperationResultDTO.builder()
+            .index(position)
+            .status(status)
+            .id(id)
+            .message(message)
+            .build();
+    }
+
+    /**
+     * 앞선 작업이 실패하여 적용하지 않은 작업의 결과
+     */
+    static OperationResultDTO skipped(int position, BookmarkOperation operation) {
+        return OperationResultDTO.builder()
+            .index(position)
+            .status(OperationResultDTO.Status.SKIPPED)
+            .id(operation != null ? operation.getId() : null)
+            .build();
+    }
+}
@@ -1,55 +1,87 @@
 package com.bookmark.service;
 
+import com.bookmark.dto.BatchResultDTO;
+import com.bookmark.dto.BookmarkPageDTO;
+import com.bookmark.dto.BootstrapDTO;
+import com.bookmark.dto.OperationResultDTO;
+import com.bookmark.dto.SearchResultDTO;
+import com.bookmark.dto.TagCountsDTO;
+import com.bookmark.jfr.BookmarkPhaseEvent;
 import com.bookmark.model.Bookmark;
 import com.bookmark.model.BookmarkData;
+import com.bookmark.model.BookmarkOperation;
 import com.bookmark.model.Folder;
 import com.bookmark.model.Tag;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.bookmark.search.RankingBoost;
+import com.bookmark.search.SearchIndexManager;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookmarkService {
     
-    private final GoogleDriveService driveService;
-    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final StorageBackend backend;
+    private final BookmarkStorage storage;
+    private final BookmarkDataCache dataCache;
+    private final EntityFileStore entityStore;
+    private final BookmarkWriteQueue writeQueue;
+    private final UserContext userContext;
+    private final SearchIndexManager searchIndexManager;
     
-    private static final String BOOKMARKS_FILE = "bookmarks.json";
-    private static final String FOLDERS_FILE = "folders.json";
-    private static final String TAGS_FILE = "tags.json";
+    /** 같은 사용자의 동시 로드를 하나의 Drive 조회로 합침 (앱 시작 시 여러 화면 요청이 한꺼번에 옴) */
+    private final SingleFlight<String, BookmarkData> dataLoads = new SingleFlight<>();
+    
+    /** 북마크 파일에 함께 저장되어 있어 아직 각자의 파일로 옮기지 않은 사용자별 폴더/태그 (읽기 전용) */
+    private final Map<String, List<Folder>> legacyFolders = new ConcurrentHashMap<>();
+    private final Map<String, List<Tag>> legacyTags = new ConcurrentHashMap<>();
+    
+    static final String FOLDERS_FILE = "folders.json";
+    static final String TAGS_FILE = "tags.json";
     private static final String SETTINGS_FILE = "settings.json";
     
-    private String folderId;
+    static final TypeReference<List<Folder>> FOLDER_LIST = new TypeReference<>() {};
+    static final TypeReference<List<Tag>> TAG_LIST = new TypeReference<>() {};
 
     /**
      * Drive 구조 초기화 시도
      * @throws IOException
      */
     public void initializeDriveStructure() throws IOException {
-        this.folderId = driveService.createBookmarkFolder();
+        backend.createBookmarkFolder();
         
         // Initialize data files if they don't exist
-        if (driveService.readFile(BOOKMARKS_FILE, folderId) == null) {
+        if (storage.head() == null) {
+            String userKey = requireUserKey();
             BookmarkData initialData = BookmarkData.builder()
                 .version("1.0")
                 .lastModified(LocalDateTime.now())
                 .bookmarks(new ArrayList<>())
-                .folders(createDefaultFolders())
-                .tags(new ArrayList<>())
                 .build();
             
-            saveBookmarkData(initialData);
+            saveBookmarkData(initialData, null);
+            if (entityStore.load(userKey, FOLDERS_FILE, FOLDER_LIST) == null) {
+                entityStore.save(userKey, FOLDERS_FILE, createDefaultFolders());
+            }
+            if (entityStore.load(userKey, TAGS_FILE, TAG_LIST) == null) {
+                entityStore.save(userKey, TAGS_FILE, new ArrayList<Tag>());
+            }
             log.info("Initialized bookmark data structure in Google Drive");
         }
     }
@@ -79,20 +111,182 @@ public class BookmarkService {
         return folders;
     }
     
+    /**
+     * 현재 사용자의 북마크 데이터를 불러옵니다.
+     * 캐시된 데이터가 Drive 파일 버전과 같으면 다운로드 없이 캐시를 반환합니다.
+     * 폴더와 태그는 각자의 파일에 있으므로 반환된 데이터의 폴더/태그 목록은 비어 있습니다.
+     * 아직 저장되지 않은 변경이 있으면 Drive 대신 그 데이터를 반환합니다.
+     * 같은 사용자의 로드가 진행 중이면 새로 조회하지 않고 그 결과를 함께 받습니다.
+     * 로드마다 데이터 출처와 북마크 수를 JFR {@link BookmarkPhaseEvent}로 기록합니다.
+     */
     public BookmarkData loadBookmarkData() throws IOException {
-        String content = driveService.readFile(BOOKMARKS_FILE, folderId);
-        if (content == null) {
+        String userKey = requireUserKey();
+        BookmarkPhaseEvent event = BookmarkPhaseEvent.start(BookmarkPhaseEvent.LOAD);
+        
+        BookmarkData pending = writeQueue.pendingBookmarks(userKey);
+        if (pending != null) {
+            event.finish("pending", pending.getBookmarks().size(), -1);
+            return pending;
+        }
+        
+        BookmarkData cached = dataCache.getIfRecentlyValidated(userKey);
+        if (cached != null) {
+            event.finish("cache", cached.getBookmarks().size(), -1);
+            return cached;
+        }
+        
+        BookmarkData data = dataLoads.run(userKey, () -> fetchBookmarkData(userKey));
+        event.finish("drive", data.getBookmarks().size(), -1);
+        return data;
+    }
+    
+    private BookmarkData fetchBookmarkData(String userKey) throws IOException {
+        StoredFile metadata = storage.head();
+        if (metadata == null) {
+            dataCache.invalidate(userKey);
             return BookmarkData.builder().build();
         }
-        return objectMapper.readValue(content, BookmarkData.class);
+        
+        String version = metadata.getVersion();
+        BookmarkData cached = dataCache.getIfVersion(userKey, version);
+        if (cached != null) {
+            return cached;
+        }
+        
+        BookmarkData data = storage.read(metadata);
+        holdLegacySections(userKey, data);
+        dataCache.put(userKey, data, version);
+        log.debug("Loaded bookmark data from Drive: user={}, version={}", userKey, version);
+        return data;
+    }
+    
+    /**
+     * 북마크 파일에 함께 저장되어 있던 폴더/태그를 옮길 때까지 메모리에 보관합니다. (조회는 아무것도 쓰지 않음)
+     * 메모리의 데이터에서는 비워 두어 다음 북마크 저장 때 북마크 파일에서 빠지며,
+     * 그 저장 전에 {@link #migrateLegacySections}가 각자의 파일로 옮깁니다.
+     */
+    private void holdLegacySections(String userKey, BookmarkData data) {
+        if (data.getFolders() != null && !data.getFolders().isEmpty()) {
+            legacyFolders.put(userKey, Collections.unmodifiableList(new ArrayList<>(data.getFolders())));
+        }
+        if (data.getTags() != null && !data.getTags().isEmpty()) {
+            legacyTags.put(userKey, Collections.unmodifiableList(new ArrayList<>(data.getTags())));
+        }
+        data.setFolders(new ArrayList<>());
+        data.setTags(new ArrayList<>());
+    }
+    
+    /**
+     * 북마크 파일에 함께 저장되어 있던 폴더/태그를 각자의 파일로 옮깁니다.
+     * 변경을 적용하기 전에 쓰기 잠금 안에서 호출하므로, 이 서버의 다른 저장과 겹치지 않습니다.
+     * 그 사이 다른 곳에서 별도 파일을 만들었으면 그 파일이 최신이므로 덮어쓰지 않습니다.
+     * 옮길 목록은 북마크 파일을 읽을 때 보관한 것만 보므로, 옮길 것이 없으면 Drive를 호출하지 않습니다.
+     *
+     * @return 옮겼거나 이미 옮겨진 목록이 있으면 true
+     */
+    private boolean migrateLegacySections(String userKey) throws IOException {
+        boolean folders = migrateLegacySection(userKey, FOLDERS_FILE, legacyFolders);
+        boolean tags = migrateLegacySection(userKey, TAGS_FILE, legacyTags);
+        return folders || tags;
+    }
+    
+    private <T> boolean migrateLegacySection(String userKey, String fileName,
+                                             Map<String, List<T>> legacy) throws IOException {
+        List<T> items = legacy.get(userKey);
+        if (items == null) {
+            return false;
+        }
+        if (entityStore.create(userKey, fileName, new ArrayList<>(items))) {
+            log.info("Moved {} items to {}", items.size(), fileName);
+        }
+        legacy.remove(userKey, items);
+        return true;
+    }
+    
+    /**
+     * 현재 사용자의 폴더 목록을 불러옵니다. (북마크 파일은 읽지 않음)
+     */
+    private List<Folder> loadFolders() throws IOException {
+        List<Folder> pending = writeQueue.pendingFolders(requireUserKey());
+        return pending != null ? pending : loadSection(FOLDERS_FILE, FOLDER_LIST, legacyFolders);
+    }
+    
+    /**
+     * 현재 사용자의 태그 목록을 불러옵니다. (북마크 파일은 읽지 않음)
+     */
+    private List<Tag> loadTags() throws IOException {
+        List<Tag> pending = writeQueue.pendingTags(requireUserKey());
+        return pending != null ? pending : loadSection(TAGS_FILE, TAG_LIST, legacyTags);
+    }
+    
+    private <T> List<T> loadSection(String fileName, TypeReference<List<T>> type,
+                                    Map<String, List<T>> legacy) throws IOException {
+        String userKey = requireUserKey();
+        List<T> items = entityStore.load(userKey, fileName, type);
+        if (items != null) {
+            return items;
+        }
+        
+        // 분리 이전의 데이터라면 옮기기 전까지 북마크 파일에 함께 있던 목록을 반환
+        // (이미 보관 중이면 북마크 파일을 다시 확인하지 않음)
+        items = legacy.get(userKey);
+        if (items == null) {
+            loadBookmarkData();
+            items = legacy.get(userKey);
+        }
+        return items != null ? items : new ArrayList<>();
+    }
+    
+    /**
+     * 로그아웃한 사용자의 옮기지 않은 폴더/태그 목록을 메모리에서 지웁니다.
+     * 목록은 북마크 파일에 그대로 있으므로, 캐시도 버려 다음 로드에서 파일을 다시 읽으며 보관하게 합니다.
+     * 북마크 저장과 겹치지 않도록 쓰기 잠금 안에서 지웁니다.
+     */
+    public void clearOnLogout(String userKey) {
+        synchronized (writeQueue.lockFor(userKey)) {
+            boolean folders = legacyFolders.remove(userKey) != null;
+            boolean tags = legacyTags.remove(userKey) != null;
+            if (folders || tags) {
+                dataCache.invalidate(userKey);
+            }
+        }
     }
     
-    private void saveBookmarkData(BookmarkData data) throws IOException {
+    /**
+     * 데이터를 저장하고 캐시를 저장된 버전으로 갱신합니다.
+     * @param changes 적용된 작업과 변경된 북마크 (저장 방식에 따라 변경분만 업로드), null이면 전체
+     */
+    private void saveBookmarkData(BookmarkData data, BookmarkChanges changes) throws IOException {
+        String userKey = requireUserKey();
+        BookmarkPhaseEvent event = BookmarkPhaseEvent.start(BookmarkPhaseEvent.SAVE);
         data.setLastModified(LocalDateTime.now());
-        String content = objectMapper.writeValueAsString(data);
-        driveService.writeFile(BOOKMARKS_FILE, content, folderId);
+        try {
+            StoredFile written = storage.write(data, changes, null);
+            dataCache.put(userKey, data, written.getVersion());
+        } catch (IOException | RuntimeException e) {
+            // 메모리에서 이미 변경된 데이터가 Drive와 어긋나지 않도록 캐시를 버림
+            dataCache.invalidate(userKey);
+            throw e;
+        } finally {
+            event.finish(null, data.getBookmarks().size(), -1);
+        }
     }
     
+    private String requireUserKey() throws IOException {
+        String userKey = userContext.getCurrentUserKey();
+        if (userKey == null) {
+            throw new IOException("User is not authenticated");
+        }
+        return userKey;
+    }
+    
+    private BookmarkLookupIndex lookupIndex(BookmarkData data) throws IOException {
+        return dataCache.getLookupIndex(requireUserKey(), data);
+    }
+    
+    /**
+     * 전체 북마크 목록 (캐시와 공유하는 읽기 전용 목록)
+     */
     public List<Bookmark> getAllBookmarks() throws IOException {
         BookmarkData data = loadBookmarkData();
         return data.getBookmarks();
@@ -100,182 +294,422 @@ public class BookmarkService {
     
     public Bookmark getBookmarkById(String id) throws IOException {
         BookmarkData data = loadBookmarkData();
-        return data.getBookmarks().stream()
-            .filter(b -> b.getId().equals(id))
-            .findFirst()
-            .orElse(null);
+        return lookupIndex(data).get(id);
     }
     
     public Bookmark createBookmark(Bookmark bookmark) throws IOException {
-        BookmarkData data = loadBookmarkData();
-        
-        bookmark.setId(UUID.randomUUID().toString());
-        bookmark.setCreatedAt(LocalDateTime.now());
-        bookmark.setUpdatedAt(LocalDateTime.now());
-        
-        if (bookmark.getMetadata() == null) {
-            bookmark.setMetadata(Bookmark.BookmarkMetadata.builder()
-                .visitCount(0)
-                .build());
-        }
-        
-        data.getBookmarks().add(bookmark);
-        saveBookmarkData(data);
+        OperationResultDTO result = applyOperation(BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.CREATE)
+            .target(BookmarkOperation.Target.BOOKMARK)
+            .bookmark(bookmark)
+            .build());
         
-        log.info("Created bookmark: {}", bookmark.getId());
-        return bookmark;
+        log.info("Created bookmark: {}", result.getId());
+        return (Bookmark) result.getEntity();
     }
     
     public Bookmark updateBookmark(String id, Bookmark updatedBookmark) throws IOException {
-        BookmarkData data = loadBookmarkData();
+        OperationResultDTO result = applyOperation(BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.UPDATE)
+            .target(BookmarkOperation.Target.BOOKMARK)
+            .id(id)
+            .bookmark(updatedBookmark)
+            .build());
+        if (result.getStatus() != OperationResultDTO.Status.OK) {
+            return null;
+        }
         
-        for (int i = 0; i < data.getBookmarks().size(); i++) {
-            Bookmark bookmark = data.getBookmarks().get(i);
-            if (bookmark.getId().equals(id)) {
-                updatedBookmark.setId(id);
-                updatedBookmark.setCreatedAt(bookmark.getCreatedAt());
-                updatedBookmark.setUpdatedAt(LocalDateTime.now());
-                data.getBookmarks().set(i, updatedBookmark);
-                saveBookmarkData(data);
-                log.info("Updated bookmark: {}", id);
-                return updatedBookmark;
-            }
+        log.info("Updated bookmark: {}", id);
+        return (Bookmark) result.getEntity();
+    }
+    
+    /**
+     * 요청에 있는 속성만 바꿉니다. (JSON merge patch, null인 속성은 제거)
+     * @return 변경된 북마크, 없으면 null
+     * @throws IllegalArgumentException patch가 객체가 아니거나 속성 값이 올바르지 않은 경우
+     */
+    public Bookmark patchBookmark(String id, JsonNode patch) throws IOException {
+        OperationResultDTO result = applyOperation(BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.PATCH)
+            .target(BookmarkOperation.Target.BOOKMARK)
+            .id(id)
+            .patch(patch)
+            .build());
+        if (result.getStatus() == OperationResultDTO.Status.NOT_FOUND) {
+            return null;
+        }
+        if (result.getStatus() != OperationResultDTO.Status.OK) {
+            throw new IllegalArgumentException(result.getMessage());
         }
         
-        return null;
+        log.info("Patched bookmark: {}", id);
+        return (Bookmark) result.getEntity();
     }
     
     public boolean deleteBookmark(String id) throws IOException {
-        BookmarkData data = loadBookmarkData();
-        
-        boolean removed = data.getBookmarks().removeIf(b -> b.getId().equals(id));
-        if (removed) {
-            saveBookmarkData(data);
-            log.info("Deleted bookmark: {}", id);
+        OperationResultDTO result = applyOperation(BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.DELETE)
+            .target(BookmarkOperation.Target.BOOKMARK)
+            .id(id)
+            .build());
+        if (result.getStatus() != OperationResultDTO.Status.OK) {
+            return false;
         }
         
-        return removed;
+        log.info("Deleted bookmark: {}", id);
+        return true;
+    }
+    
+    /**
+     * 여러 변경 작업을 순서대로 메모리에 적용한 뒤 쓰기 대기열에 넣습니다.
+     * Drive 저장은 대기열이 짧은 시간 동안의 변경을 모아 한 번에 합니다.
+     * 
+     * 하나라도 실패하면 이후 작업은 건너뛰고 아무것도 저장하지 않습니다.
+     * 북마크, 폴더, 태그 모두 캐시된 목록의 사본에 적용하고 모든 작업이 성공한 뒤에 새 목록으로 교체하므로,
+     * 실패한 작업이나 적용 중인 작업을 다른 요청이 보지 않으며 되돌릴 것도 없습니다.
+     * 
+     * @param operations 적용할 작업 목록
+     * @return 작업별 결과와 저장 여부
+     */
+    public BatchResultDTO applyBatch(List<BookmarkOperation> operations) throws IOException {
+        String userKey = requireUserKey();
+        
+        synchronized (writeQueue.lockFor(userKey)) {
+            // 작업에 필요한 파일만 읽음 (예: 폴더 이름 변경은 북마크 파일을 읽지도 쓰지도 않음)
+            Set<BookmarkOperationApplier.Section> sections = BookmarkOperationApplier.requiredSections(operations);
+            BookmarkData data = sections.contains(BookmarkOperationApplier.Section.BOOKMARKS)
+                ? loadBookmarkData()
+                : BookmarkData.builder().build();
+            List<Folder> folders = sections.contains(BookmarkOperationApplier.Section.FOLDERS)
+                ? loadFolders()
+                : new ArrayList<>();
+            List<Tag> tags = sections.contains(BookmarkOperationApplier.Section.TAGS)
+                ? loadTags()
+                : new ArrayList<>();
+            // 분리 이전의 데이터라면 북마크 파일에서 폴더/태그가 빠지기 전에 각자의 파일로 옮기고,
+            // 저장할 때 그 파일의 버전을 조건으로 쓰도록 다시 읽음
+            if (migrateLegacySections(userKey)) {
+                if (sections.contains(BookmarkOperationApplier.Section.FOLDERS)) {
+                    folders = loadFolders();
+                }
+                if (sections.contains(BookmarkOperationApplier.Section.TAGS)) {
+                    tags = loadTags();
+                }
+            }
+            BookmarkOperationApplier applier = new BookmarkOperationApplier(data.getBookmarks(), folders, tags, lookupIndex(data));
+            
+            List<OperationResultDTO> results = new ArrayList<>(operations.size());
+            boolean failed = false;
+            for (int i = 0; i < operations.size(); i++) {
+                if (failed) {
+                    results.add(BookmarkOperationApplier.skipped(i, operations.get(i)));
+                    continue;
+                }
+                OperationResultDTO result = applier.apply(i, operations.get(i));
+                results.add(result);
+                failed = result.getStatus() != OperationResultDTO.Status.OK;
+            }
+            
+            Set<BookmarkOperationApplier.Section> changed = applier.getChangedSections();
+            if (failed) {
+                return BatchResultDTO.builder().applied(false).results(results).build();
+            }
+            
+            BookmarkData next = data;
+            if (changed.contains(BookmarkOperationApplier.Section.BOOKMARKS)) {
+                // 변경된 사본을 새 데이터로 게시 (기존 데이터를 읽고 있는 요청은 그대로 기존 데이터를 봄)
+                next = applier.toBookmarkData(data);
+                dataCache.put(userKey, next, dataCache.getVersion(userKey, data), applier.getLookupIndex());
+                searchIndexManager.onBookmarksChanged(userKey, data, next,
+                    applier.getSavedBookmarks(), applier.getDeletedBookmarkIds());
+            }
+            if (changed.contains(BookmarkOperationApplier.Section.FOLDERS)) {
+                entityStore.replace(userKey, FOLDERS_FILE, folders, applier.getFolders());
+            }
+            if (changed.contains(BookmarkOperationApplier.Section.TAGS)) {
+                entityStore.replace(userKey, TAGS_FILE, tags, applier.getTags());
+            }
+            writeQueue.enqueue(userKey, next, folders, applier.getFolders(), tags, applier.getTags(), applier);
+            return BatchResultDTO.builder().applied(true).results(results).build();
+        }
+    }
+    
+    private OperationResultDTO applyOperation(BookmarkOperation operation) throws IOException {
+        return applyBatch(List.of(operation)).getResults().get(0);
     }
     
     public List<Bookmark> searchBookmarks(String query) throws IOException {
         BookmarkData data = loadBookmarkData();
-        String lowerQuery = query.toLowerCase();
-        
-        return data.getBookmarks().stream()
-            .filter(b -> 
-                (b.getTitle() != null && b.getTitle().toLowerCase().contains(lowerQuery)) ||
-                (b.getDescription() != null && b.getDescription().toLowerCase().contains(lowerQuery)) ||
-                (b.getUrl() != null && b.getUrl().toLowerCase().contains(lowerQuery)) ||
-                (b.getTags() != null && b.getTags().stream().anyMatch(t -> t.toLowerCase().contains(lowerQuery)))
-            )
-            .collect(Collectors.toList());
+        BookmarkPhaseEvent event = BookmarkPhaseEvent.start(BookmarkPhaseEvent.SEARCH);
+        List<Bookmark> results = searchIndexManager.getIndex(requireUserKey(), data).search(query);
+        event.finish(null, data.getBookmarks().size(), results.size());
+        return results;
+    }
+    
+    /**
+     * BM25 점수로 순위를 매긴 상위 검색 결과를 반환합니다.
+     * @param query 검색어
+     * @param limit 반환할 최대 개수
+     * @param boost 최근성/방문 횟수 가중치
+     */
+    public SearchResultDTO searchBookmarksRanked(String query, int limit, RankingBoost boost) throws IOException {
+        BookmarkData data = loadBookmarkData();
+        BookmarkPhaseEvent event = BookmarkPhaseEvent.start(BookmarkPhaseEvent.SEARCH_RANKED);
+        SearchResultDTO result = searchIndexManager.getIndex(requireUserKey(), data).rankedSearch(query, limit, boost);
+        event.finish(null, data.getBookmarks().size(), result.getTotal());
+        return result;
+    }
+    
+    /**
+     * 제목 단어, 도메인, 태그 이름에 대해 오타를 허용하는 검색을 수행합니다.
+     * @param query 검색어
+     * @param maxDistance 단어당 허용 편집 거리
+     * @param limit 반환할 최대 개수
+     */
+    public SearchResultDTO searchBookmarksFuzzy(String query, int maxDistance, int limit) throws IOException {
+        BookmarkData data = loadBookmarkData();
+        BookmarkPhaseEvent event = BookmarkPhaseEvent.start(BookmarkPhaseEvent.SEARCH_FUZZY);
+        SearchResultDTO result = searchIndexManager.getFuzzyIndex(requireUserKey(), data)
+            .search(query, maxDistance, limit);
+        event.finish(null, data.getBookmarks().size(), result.getTotal());
+        return result;
     }
     
     public List<Bookmark> getBookmarksByFolder(String folderId) throws IOException {
         BookmarkData data = loadBookmarkData();
-        return data.getBookmarks().stream()
-            .filter(b -> folderId.equals(b.getFolderId()))
-            .collect(Collectors.toList());
+        return lookupIndex(data).inFolder(folderId);
     }
     
     public List<Bookmark> getBookmarksByTag(String tag) throws IOException {
         BookmarkData data = loadBookmarkData();
-        return data.getBookmarks().stream()
-            .filter(b -> b.getTags() != null && b.getTags().contains(tag))
-            .collect(Collectors.toList());
+        return lookupIndex(data).withTag(tag);
+    }
+    
+    /**
+     * 정렬 색인을 이용해 전체 북마크 목록의 한 페이지를 반환합니다.
+     * @param sort 정렬 기준
+     * @param descending 내림차순 여부
+     * @param cursor 이전 페이지의 nextCursor, 첫 페이지면 null
+     * @param limit 페이지 크기
+     * @throws IllegalArgumentException 커서가 올바르지 않거나 정렬 조건과 맞지 않는 경우
+     */
+    public BookmarkPageDTO getBookmarksPage(BookmarkSort sort, boolean descending, String cursor, int limit) throws IOException {
+        BookmarkData data = loadBookmarkData();
+        return lookupIndex(data).page(sort, descending, decodeCursor(cursor), limit);
+    }
+    
+    public BookmarkPageDTO getBookmarksByFolderPage(String folderId, BookmarkSort sort, boolean descending,
+                                                    String cursor, int limit) throws IOException {
+        BookmarkData data = loadBookmarkData();
+        return lookupIndex(data).pageInFolder(folderId, sort, descending, decodeCursor(cursor), limit);
+    }
+    
+    public BookmarkPageDTO getBookmarksByTagPage(String tag, BookmarkSort sort, boolean descending,
+                                                 String cursor, int limit) throws IOException {
+        BookmarkData data = loadBookmarkData();
+        return lookupIndex(data).pageWithTag(tag, sort, descending, decodeCursor(cursor), limit);
+    }
+    
+    /**
+     * 전체 북마크 목록 응답의 ETag 값
+     * 응답 내용을 만들기 전에 구해야 합니다. (그 사이 변경이 생기면 다음 요청에서 ETag가 달라짐)
+     */
+    public String getBookmarksETag() throws IOException {
+        BookmarkData data = loadBookmarkData();
+        return lookupIndex(data).etag();
+    }
+    
+    /**
+     * 폴더의 북마크 목록 응답 ETag 값 (다른 폴더의 변경에는 바뀌지 않음)
+     */
+    public String getFolderBookmarksETag(String folderId) throws IOException {
+        BookmarkData data = loadBookmarkData();
+        return lookupIndex(data).folderEtag(folderId);
+    }
+    
+    /**
+     * 태그의 북마크 목록 응답 ETag 값 (다른 태그의 변경에는 바뀌지 않음)
+     */
+    public String getTagBookmarksETag(String tag) throws IOException {
+        BookmarkData data = loadBookmarkData();
+        return lookupIndex(data).tagEtag(tag);
+    }
+    
+    private static BookmarkCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isEmpty() ? null : BookmarkCursor.decode(cursor);
     }
     
     // Folder management
     public List<Folder> getAllFolders() throws IOException {
+        return loadFolders();
+    }
+    
+    /**
+     * 폴더 목록 응답의 ETag 값 (목록 내용의 해시)
+     */
+    public String getFoldersETag() throws IOException {
+        return contentETag(loadFolders());
+    }
+    
+    /**
+     * 폴더 ID별 북마크 수 (폴더 화면에서 북마크 목록 전체 대신 사용)
+     */
+    public Map<String, Integer> getFolderBookmarkCounts() throws IOException {
         BookmarkData data = loadBookmarkData();
-        return data.getFolders();
+        return lookupIndex(data).folderCounts();
     }
     
     public Folder createFolder(Folder folder) throws IOException {
-        BookmarkData data = loadBookmarkData();
-        
-        folder.setId(UUID.randomUUID().toString());
-        if (folder.getOrder() == null) {
-            folder.setOrder(data.getFolders().size() + 1);
-        }
-        
-        data.getFolders().add(folder);
-        saveBookmarkData(data);
+        OperationResultDTO result = applyOperation(BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.CREATE)
+            .target(BookmarkOperation.Target.FOLDER)
+            .folder(folder)
+            .build());
         
-        log.info("Created folder: {}", folder.getId());
-        return folder;
+        log.info("Created folder: {}", result.getId());
+        return (Folder) result.getEntity();
     }
     
     public Folder updateFolder(String id, Folder updatedFolder) throws IOException {
-        BookmarkData data = loadBookmarkData();
+        OperationResultDTO result = applyOperation(BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.UPDATE)
+            .target(BookmarkOperation.Target.FOLDER)
+            .id(id)
+            .folder(updatedFolder)
+            .build());
+        if (result.getStatus() != OperationResultDTO.Status.OK) {
+            return null;
+        }
         
-        for (int i = 0; i < data.getFolders().size(); i++) {
-            Folder folder = data.getFolders().get(i);
-            if (folder.getId().equals(id)) {
-                updatedFolder.setId(id);
-                data.getFolders().set(i, updatedFolder);
-                saveBookmarkData(data);
-                log.info("Updated folder: {}", id);
-                return updatedFolder;
-            }
+        log.info("Updated folder: {}", id);
+        return (Folder) result.getEntity();
+    }
+    
+    /**
+     * 요청에 있는 속성만 바꿉니다. (JSON merge patch, null인 속성은 제거)
+     * @return 변경된 폴더, 없으면 null
+     * @throws IllegalArgumentException patch가 올바르지 않거나 상위 폴더로 지정할 수 없는 경우
+     */
+    public Folder patchFolder(String id, JsonNode patch) throws IOException {
+        OperationResultDTO result = applyOperation(BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.PATCH)
+            .target(BookmarkOperation.Target.FOLDER)
+            .id(id)
+            .patch(patch)
+            .build());
+        if (result.getStatus() == OperationResultDTO.Status.NOT_FOUND) {
+            return null;
+        }
+        if (result.getStatus() != OperationResultDTO.Status.OK) {
+            throw new IllegalArgumentException(result.getMessage());
         }
         
-        return null;
+        log.info("Patched folder: {}", id);
+        return (Folder) result.getEntity();
     }
     
     public boolean deleteFolder(String id) throws IOException {
-        BookmarkData data = loadBookmarkData();
-        
-        // Move bookmarks from deleted folder to default folder
-        String defaultFolderId = data.getFolders().get(0).getId();
-        data.getBookmarks().stream()
-            .filter(b -> id.equals(b.getFolderId()))
-            .forEach(b -> b.setFolderId(defaultFolderId));
-        
-        boolean removed = data.getFolders().removeIf(f -> f.getId().equals(id));
-        if (removed) {
-            saveBookmarkData(data);
-            log.info("Deleted folder: {}", id);
+        OperationResultDTO result = applyOperation(BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.DELETE)
+            .target(BookmarkOperation.Target.FOLDER)
+            .id(id)
+            .build());
+        if (result.getStatus() != OperationResultDTO.Status.OK) {
+            return false;
         }
         
-        return removed;
+        log.info("Deleted folder: {}", id);
+        return true;
     }
     
     // Tag management
     public List<Tag> getAllTags() throws IOException {
+        return loadTags();
+    }
+    
+    /**
+     * 태그 목록 응답의 ETag 값 (목록 내용의 해시)
+     */
+    public String getTagsETag() throws IOException {
+        return contentETag(loadTags());
+    }
+    
+    /**
+     * 태그별 북마크 수 (태그 화면에서 북마크 목록 전체 대신 사용)
+     */
+    public TagCountsDTO getTagBookmarkCounts() throws IOException {
         BookmarkData data = loadBookmarkData();
-        return data.getTags();
+        BookmarkLookupIndex index = lookupIndex(data);
+        return TagCountsDTO.builder()
+            .counts(index.tagCounts())
+            .taggedBookmarks(index.taggedCount())
+            .build();
     }
     
     public Tag createTag(Tag tag) throws IOException {
-        BookmarkData data = loadBookmarkData();
-        
-        tag.setId(UUID.randomUUID().toString());
-        tag.setUsageCount(0);
-        
-        data.getTags().add(tag);
-        saveBookmarkData(data);
+        OperationResultDTO result = applyOperation(BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.CREATE)
+            .target(BookmarkOperation.Target.TAG)
+            .tag(tag)
+            .build());
         
-        log.info("Created tag: {}", tag.getId());
-        return tag;
+        log.info("Created tag: {}", result.getId());
+        return (Tag) result.getEntity();
     }
     
     public boolean deleteTag(String id) throws IOException {
-        BookmarkData data = loadBookmarkData();
-        
-        // Remove tag from all bookmarks
-        data.getBookmarks().forEach(b -> {
-            if (b.getTags() != null) {
-                b.getTags().removeIf(t -> t.equals(id));
-            }
-        });
-        
-        boolean removed = data.getTags().removeIf(t -> t.getId().equals(id));
-        if (removed) {
-            saveBookmarkData(data);
-            log.info("Deleted tag: {}", id);
+        OperationResultDTO result = applyOperation(BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.DELETE)
+            .target(BookmarkOperation.Target.TAG)
+            .id(id)
+            .build());
+        if (result.getStatus() != OperationResultDTO.Status.OK) {
+            return false;
         }
         
-        return removed;
+        log.info("Deleted tag: {}", id);
+        return true;
+    }
+    
+    /**
+     * 첫 화면 응답의 ETag 값 (북마크, 폴더, 태그 중 하나라도 바뀌면 바뀜)
+     */
+    public String getBootstrapETag() throws IOException {
+        BookmarkData data = loadBookmarkData();
+        String combined = lookupIndex(data).etag() + "/" + contentETag(loadFolders()) + "/" + contentETag(loadTags());
+        return DigestUtils.md5DigestAsHex(combined.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 첫 화면에 필요한 북마크, 폴더, 태그, 개수를 한 번의 로드로 모아 반환합니다.
+     * 
+     * @param sort 첫 페이지 정렬 기준
+     * @param descending 내림차순 여부
+     * @param limit 첫 페이지 크기, null이면 페이지 대신 전체 목록
+     */
+    public BootstrapDTO getBootstrap(BookmarkSort sort, boolean descending, Integer limit) throws IOException {
+        BookmarkData data = loadBookmarkData();
+        BookmarkLookupIndex index = lookupIndex(data);
+        BootstrapDTO.BootstrapDTOBuilder bootstrap = BootstrapDTO.builder()
+            .folders(new ArrayList<>(loadFolders()))
+            .tags(new ArrayList<>(loadTags()))
+            .folderCounts(index.folderCounts())
+            .tagCounts(TagCountsDTO.builder()
+                .counts(index.tagCounts())
+                .taggedBookmarks(index.taggedCount())
+                .build());
+        if (limit != null) {
+            bootstrap.bookmarkPage(index.page(sort, descending, null, limit));
+        } else {
+            bootstrap.bookmarks(new ArrayList<>(data.getBookmarks()));
+        }
+        return bootstrap.build();
+    }
+    
+    /**
+     * 폴더/태그 목록은 작아서 직렬화한 내용의 해시를 ETag로 사용합니다.
+     */
+    private static String contentETag(Object content) throws IOException {
+        return DigestUtils.md5DigestAsHex(BookmarkJson.OBJECT_MAPPER.writeValueAsBytes(content));
     }
-}
\ No newline at end of file
+}
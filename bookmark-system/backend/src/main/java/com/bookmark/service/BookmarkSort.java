@@ -0,0 +1,85 @@
+package com.bookmark.service;
+
+import com.bookmark.model.Bookmark;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * 북마크 목록의 서버 측 정렬 기준
+ *
+ * 각 기준은 북마크에서 비교 가능한 정렬 값을 뽑아내며, 커서에 담기 위해
+ * 정렬 값을 문자열로 변환하고 다시 읽어들일 수 있습니다.
+ */
+public enum BookmarkSort {
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    TITLE("title"),
+    VISIT_COUNT("visitCount");
+
+    private final String param;
+
+    BookmarkSort(String param) {
+        this.param = param;
+    }
+
+    /**
+     * 요청 파라미터 이름 (예: createdAt)
+     */
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * 요청 파라미터 값으로 정렬 기준을 찾습니다.
+     *
+     * @param param 정렬 파라미터 (createdAt, updatedAt, title, visitCount)
+     * @return 정렬 기준
+     * @throws IllegalArgumentException 지원하지 않는 값인 경우
+     */
+    public static BookmarkSort fromParam(String param) {
+        for (BookmarkSort sort : values()) {
+            if (sort.param.equals(param)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + param);
+    }
+
+    /**
+     * 북마크의 정렬 값을 반환합니다. 값이 없으면 null (가장 앞에 정렬)
+     */
+    Comparable<?> valueOf(Bookmark bookmark) {
+        switch (this) {
+            case CREATED_AT:
+                return bookmark.getCreatedAt();
+            case UPDATED_AT:
+                return bookmark.getUpdatedAt() != null ? bookmark.getUpdatedAt() : bookmark.getCreatedAt();
+            case TITLE:
+                return bookmark.getTitle() != null ? bookmark.getTitle().toLowerCase(Locale.ROOT) : null;
+            case VISIT_COUNT:
+                Bookmark.BookmarkMetadata metadata = bookmark.getMetadata();
+                return metadata != null && metadata.getVisitCount() != null ? metadata.getVisitCount() : 0;
+            default:
+                throw new IllegalStateException("Unknown sort: " + this);
+        }
+    }
+
+    String format(Comparable<?> value) {
+        return value.toString();
+    }
+
+    Comparable<?> parse(String text) {
+        switch (this) {
+            case CREATED_AT:
+            case UPDATED_AT:
+                return LocalDateTime.parse(text);
+            case TITLE:
+                return text;
+            case VISIT_COUNT:
+                return Integer.valueOf(text);
+            default:
+                throw new IllegalStateException("Unknown sort: " + this);
+        }
+    }
+}
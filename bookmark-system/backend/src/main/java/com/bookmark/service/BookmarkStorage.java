@@ -0,0 +1,43 @@
+package com.bookmark.service;
+
+import com.bookmark.model.BookmarkData;
+
+import java.io.IOException;
+
+/**
+ * BookmarkData를 Drive 앱 폴더에 저장하는 파일 배치 방식
+ *
+ * 각 방식은 데이터 전체의 버전을 나타내는 루트 파일을 가지며,
+ * 캐시는 루트 파일의 버전으로 최신 여부를 판단합니다.
+ * 사용할 방식은 {@code bookmark.storage.layout} 설정으로 선택합니다.
+ *
+ * 폴더와 태그는 {@link EntityFileStore}로 각자의 파일에 저장하므로, 쓰는 데이터의 폴더/태그 목록은 비어 있습니다.
+ * 읽은 데이터에 폴더/태그가 있으면 분리 이전의 데이터이며 BookmarkService가 옮깁니다.
+ */
+public interface BookmarkStorage {
+
+    /**
+     * 루트 파일의 메타데이터를 조회합니다. (내용은 다운로드하지 않음)
+     *
+     * @return 루트 파일 메타데이터, 데이터가 없으면 null
+     */
+    StoredFile head() throws IOException;
+
+    /**
+     * 루트 파일이 가리키는 데이터 전체를 읽습니다.
+     *
+     * @param head {@link #head()}로 조회한 루트 파일
+     */
+    BookmarkData read(StoredFile head) throws IOException;
+
+    /**
+     * 데이터를 저장합니다.
+     *
+     * @param data 저장할 데이터
+     * @param changes 이번 저장에서 추가/수정/삭제된 북마크, null이면 전체를 다시 씀
+     * @param expectedVersion 데이터를 읽을 때의 루트 파일 버전, null이면 확인하지 않음
+     * @return 저장 후 루트 파일 메타데이터 (ID, 버전)
+     * @throws DriveWriteConflictException 그 사이 다른 곳에서 데이터를 저장한 경우 (아무것도 쓰지 않음)
+     */
+    StoredFile write(BookmarkData data, BookmarkChanges changes, String expectedVersion) throws IOException;
+}
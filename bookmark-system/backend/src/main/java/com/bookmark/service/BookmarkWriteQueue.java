@@ -0,0 +1,533 @@
+package com.bookmark.service;
+
+import com.bookmark.dto.OperationResultDTO;
+import com.bookmark.jfr.BookmarkPhaseEvent;
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import com.bookmark.model.BookmarkOperation;
+import com.bookmark.model.Folder;
+import com.bookmark.model.Tag;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별로 변경 내용을 모아 Drive에 한 번에 저장하는 쓰기 대기열
+ *
+ * 변경 작업은 메모리의 데이터에 바로 적용되고 응답도 바로 나가지만, Drive 저장은
+ * 첫 변경 후 설정된 시간(기본 500ms)이 지나거나 대기 중인 작업 수가 한도를 넘을 때
+ * 한 번만 일어납니다. 연속된 클릭이 각각 업로드를 만들지 않으므로 사용자별 Drive 쓰기 횟수는
+ * 클릭 속도가 아니라 시간에 비례합니다.
+ *
+ * 사용자별 잠금({@link #lockFor(String)})으로 변경 적용과 저장을 직렬화하며,
+ * 대기 중인 변경이 있는 동안 읽기는 Drive 대신 대기 중인 데이터를 반환합니다.
+ * 로그아웃과 애플리케이션 종료 시에는 남은 변경을 바로 저장합니다.
+ *
+ * 저장은 변경 전 데이터를 읽었을 때의 파일 버전을 조건으로 합니다. 그 사이 다른 탭, 다른 서버,
+ * 다른 기기가 먼저 저장했으면 최신 데이터를 다시 읽어 대기 중인 작업을 다시 적용한 뒤
+ * 정해진 횟수까지 다시 저장합니다. 충돌과 재시도 횟수는 메트릭으로 기록합니다.
+ * - bookmark.write.conflicts (file 태그): 버전 충돌 횟수
+ * - bookmark.write.conflict.retries: 다시 적용 후 재시도 횟수
+ * - bookmark.write.conflict.exhausted: 재시도 한도를 넘겨 다음 예약 저장으로 미룬 횟수
+ * - bookmark.write.conflict.dropped: 다시 적용할 수 없어 버린 작업 수
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookmarkWriteQueue {
+
+    private final BookmarkStorage storage;
+    private final BookmarkDataCache dataCache;
+    private final EntityFileStore entityStore;
+    private final MeterRegistry meterRegistry;
+
+    /** 첫 변경 후 저장까지 기다리는 시간 (이 시간 동안의 변경을 한 번에 저장) */
+    @Value("${bookmark.write.coalesce-window-ms:500}")
+    private long coalesceWindowMs;
+
+    /** 대기 중인 작업이 이 수에 이르면 기다리지 않고 바로 저장 */
+    @Value("${bookmark.write.max-pending-operations:50}")
+    private int maxPendingOperations;
+
+    /** 버전 충돌 시 다시 적용하고 재시도하는 최대 횟수 (한 번의 저장에서) */
+    @Value("${bookmark.write.max-conflict-retries:3}")
+    private int maxConflictRetries;
+
+    /** 저장 실패 후 다시 시도하기까지의 최대 대기 시간 */
+    @Value("${bookmark.write.max-retry-delay-ms:60000}")
+    private long maxRetryDelayMs;
+
+    private final Map<String, UserQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * 사용자별 잠금 객체 (대기열과 달리 로그아웃 후에도 지우지 않음)
+     * 잠금을 기다리던 요청과 새 요청이 서로 다른 잠금을 잡지 않도록 사용자마다 하나만 둡니다.
+     */
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bookmark-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 사용자의 변경 적용과 저장을 직렬화하는 잠금 객체
+     *
+     * @param userKey 사용자 키
+     */
+    public Object lockFor(String userKey) {
+        return locks.computeIfAbsent(userKey, key -> new Object());
+    }
+
+    /**
+     * 저장을 기다리는 북마크 데이터를 반환합니다.
+     *
+     * @return 대기 중인 데이터, 없으면 null
+     */
+    public BookmarkData pendingBookmarks(String userKey) {
+        UserQueue queue = queues.get(userKey);
+        if (queue == null) {
+            return null;
+        }
+        return queue.bookmarks;
+    }
+
+    /**
+     * 저장을 기다리는 폴더 목록을 반환합니다.
+     *
+     * @return 대기 중인 목록, 없으면 null
+     */
+    public List<Folder> pendingFolders(String userKey) {
+        UserQueue queue = queues.get(userKey);
+        if (queue == null) {
+            return null;
+        }
+        return queue.folders;
+    }
+
+    /**
+     * 저장을 기다리는 태그 목록을 반환합니다.
+     *
+     * @return 대기 중인 목록, 없으면 null
+     */
+    public List<Tag> pendingTags(String userKey) {
+        UserQueue queue = queues.get(userKey);
+        if (queue == null) {
+            return null;
+        }
+        return queue.tags;
+    }
+
+    /**
+     * 메모리에 적용된 변경을 대기열에 추가합니다.
+     * 대기 중인 작업 수가 한도에 이르면 호출한 스레드에서 바로 저장하고,
+     * 그렇지 않으면 대기 시간 뒤의 저장을 예약합니다. (이미 예약되어 있으면 그 저장에 합류)
+     * 바로 저장하다 실패해도 변경은 이미 메모리에 적용되었으므로 예외를 던지지 않고 다시 시도를 예약합니다.
+     * 호출한 스레드는 {@link #lockFor(String)}의 잠금을 잡고 있어야 합니다.
+     *
+     * @param userKey 사용자 키
+     * @param data 변경이 적용된 북마크 데이터
+     * @param previousFolders 변경 전 폴더 목록 (처음 대기열에 들어갈 때 읽은 버전을 찾는 데 사용)
+     * @param folders 변경이 적용된 폴더 목록
+     * @param previousTags 변경 전 태그 목록
+     * @param tags 변경이 적용된 태그 목록
+     * @param applier 변경을 적용한 객체 (변경된 데이터 구분과 북마크)
+     */
+    void enqueue(String userKey, BookmarkData data, List<Folder> previousFolders, List<Folder> folders,
+                 List<Tag> previousTags, List<Tag> tags, BookmarkOperationApplier applier) {
+        Set<BookmarkOperationApplier.Section> changed = applier.getChangedSections();
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        synchronized (lockFor(userKey)) {
+            UserQueue queue = queueFor(userKey);
+            // 처음 대기열에 들어가는 데이터는 읽었을 때의 버전을 저장 조건으로 기록
+            if (changed.contains(BookmarkOperationApplier.Section.BOOKMARKS)) {
+                if (queue.bookmarks == null) {
+                    queue.bookmarksVersion = dataCache.getVersion(userKey, data);
+                }
+                queue.bookmarks = data;
+                for (Bookmark bookmark : applier.getSavedBookmarks()) {
+                    queue.deleted.remove(bookmark.getId());
+                    queue.saved.put(bookmark.getId(), bookmark);
+                }
+                for (String id : applier.getDeletedBookmarkIds()) {
+                    queue.saved.remove(id);
+                    queue.deleted.add(id);
+                }
+            }
+            if (changed.contains(BookmarkOperationApplier.Section.FOLDERS)) {
+                if (queue.folders == null) {
+                    queue.foldersVersion = entityStore.versionOf(userKey, BookmarkService.FOLDERS_FILE, previousFolders);
+                }
+                queue.folders = folders;
+            }
+            if (changed.contains(BookmarkOperationApplier.Section.TAGS)) {
+                if (queue.tags == null) {
+                    queue.tagsVersion = entityStore.versionOf(userKey, BookmarkService.TAGS_FILE, previousTags);
+                }
+                queue.tags = tags;
+            }
+            for (BookmarkOperation operation : applier.getAppliedOperations()) {
+                queue.pendingOperations.add(new PendingOperation(operation,
+                    BookmarkOperationApplier.changedSections(operation)));
+            }
+            queue.operations = queue.pendingOperations.size();
+            // 예약된 저장이 다른 스레드에서 실행될 때 같은 사용자로 Drive에 접근하도록 인증 정보 보관
+            // (로그아웃 시 요청의 컨텍스트에서 인증이 지워지므로 복사본을 보관)
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+            queue.context = context;
+
+            if (queue.operations >= maxPendingOperations) {
+                try {
+                    flushLocked(userKey, queue);
+                } catch (IOException | RuntimeException e) {
+                    log.error("Failed to flush pending bookmark changes: user={}, attempt={}",
+                        userKey, queue.failures, e);
+                }
+            } else if (queue.scheduled == null) {
+                schedule(userKey, queue, coalesceWindowMs);
+            }
+        }
+    }
+
+    /**
+     * 사용자의 대기 중인 변경을 바로 저장합니다. (로그아웃, 전체 저장 전 등)
+     *
+     * @param userKey 사용자 키
+     * @throws IOException 저장 실패 시 (대기 중인 변경은 남아 다시 시도됨)
+     */
+    public void flush(String userKey) throws IOException {
+        synchronized (lockFor(userKey)) {
+            UserQueue queue = queues.get(userKey);
+            if (queue != null) {
+                flushLocked(userKey, queue);
+            }
+        }
+    }
+
+    /**
+     * 로그아웃한 사용자의 대기 중인 변경을 저장하고 대기열을 정리합니다.
+     * 저장에 실패하면 대기열을 남겨 두어 백그라운드에서 다시 시도합니다.
+     * 저장과 정리를 사용자별 잠금 안에서 하므로, 그 사이 다른 탭의 요청이 넣은 변경이 있으면 대기열을 남겨 둡니다.
+     * 잠금 객체는 지우지 않으므로 잠금을 기다리던 요청도 이후의 요청과 같은 잠금으로 직렬화됩니다.
+     *
+     * @param userKey 사용자 키
+     */
+    public void flushOnLogout(String userKey) {
+        synchronized (lockFor(userKey)) {
+            UserQueue queue = queues.get(userKey);
+            if (queue == null) {
+                return;
+            }
+            try {
+                flushLocked(userKey, queue);
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to flush pending bookmark changes on logout: user={}", userKey, e);
+                return;
+            }
+            if (queue.operations == 0) {
+                queues.remove(userKey);
+            }
+        }
+    }
+
+    private void flushLocked(String userKey, UserQueue queue) throws IOException {
+        if (queue.scheduled != null) {
+            queue.scheduled.cancel(false);
+            queue.scheduled = null;
+        }
+        if (queue.operations == 0) {
+            return;
+        }
+        int operations = queue.operations;
+
+        try {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    writePending(userKey, queue);
+                    break;
+                } catch (DriveWriteConflictException e) {
+                    meterRegistry.counter("bookmark.write.conflicts", "file", e.getFileName()).increment();
+                    if (attempt >= maxConflictRetries) {
+                        meterRegistry.counter("bookmark.write.conflict.exhausted").increment();
+                        throw e;
+                    }
+                    meterRegistry.counter("bookmark.write.conflict.retries").increment();
+                    log.info("Write conflict, re-applying {} pending operations: user={}, attempt={}, {}",
+                        queue.pendingOperations.size(), userKey, attempt + 1, e.getMessage());
+                    rebase(userKey, queue);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // 저장하지 못한 부분은 대기열에 남겨 두고 점점 긴 간격으로 다시 시도
+            queue.failures++;
+            long delay = Math.min(coalesceWindowMs << Math.min(queue.failures, 16), maxRetryDelayMs);
+            schedule(userKey, queue, delay);
+            throw e;
+        }
+
+        log.debug("Flushed {} pending operations: user={}", operations, userKey);
+        queue.pendingOperations.clear();
+        queue.operations = 0;
+        queue.failures = 0;
+    }
+
+    /**
+     * 대기 중인 데이터를 각자의 파일에 읽었을 때의 버전을 조건으로 저장합니다.
+     * 저장에 성공한 부분과 그 부분만 바꾼 작업은 대기열에서 빠지므로,
+     * 중간에 실패하면 남은 부분만 다시 저장되고 충돌 후에도 남은 작업만 다시 적용됩니다.
+     */
+    private void writePending(String userKey, UserQueue queue) throws IOException {
+        if (queue.bookmarks != null && (queue.folders != null || queue.tags != null)) {
+            // 여러 파일을 차례로 쓰므로, 북마크를 쓴 뒤에 폴더/태그에서 충돌하지 않도록 먼저 확인
+            if (queue.folders != null) {
+                entityStore.checkVersion(BookmarkService.FOLDERS_FILE, queue.foldersVersion);
+            }
+            if (queue.tags != null) {
+                entityStore.checkVersion(BookmarkService.TAGS_FILE, queue.tagsVersion);
+            }
+        }
+
+        // 북마크를 먼저 저장하여, 폴더 삭제 도중 실패해도 북마크가 없는 폴더를 가리키지 않도록 함
+        if (queue.bookmarks != null) {
+            BookmarkChanges changes = new BookmarkChanges(
+                new ArrayList<>(queue.saved.values()), new ArrayList<>(queue.deleted));
+            BookmarkPhaseEvent event = BookmarkPhaseEvent.start(BookmarkPhaseEvent.SAVE);
+            StoredFile written;
+            try {
+                written = storage.write(queue.bookmarks, changes, queue.bookmarksVersion);
+            } finally {
+                event.finish("queue", queue.bookmarks.getBookmarks().size(), -1);
+            }
+            dataCache.put(userKey, queue.bookmarks, written.getVersion());
+            queue.bookmarks = null;
+            queue.saved.clear();
+            queue.deleted.clear();
+            markWritten(queue, BookmarkOperationApplier.Section.BOOKMARKS);
+        }
+        if (queue.folders != null) {
+            entityStore.save(userKey, BookmarkService.FOLDERS_FILE, queue.folders, queue.foldersVersion);
+            queue.folders = null;
+            markWritten(queue, BookmarkOperationApplier.Section.FOLDERS);
+        }
+        if (queue.tags != null) {
+            entityStore.save(userKey, BookmarkService.TAGS_FILE, queue.tags, queue.tagsVersion);
+            queue.tags = null;
+            markWritten(queue, BookmarkOperationApplier.Section.TAGS);
+        }
+    }
+
+    /**
+     * 저장된 데이터 구분을 대기 중인 작업에서 지우고, 더 저장할 것이 없는 작업은 대기열에서 뺍니다.
+     */
+    private static void markWritten(UserQueue queue, BookmarkOperationApplier.Section section) {
+        queue.pendingOperations.removeIf(pending -> {
+            pending.unwritten.remove(section);
+            return pending.unwritten.isEmpty();
+        });
+        queue.operations = queue.pendingOperations.size();
+    }
+
+    /**
+     * 충돌 후 Drive의 최신 데이터를 다시 읽고 대기 중인 작업을 처음부터 다시 적용합니다.
+     * 이미 저장된 구분만 바꾼 작업은 대기열에서 빠졌으므로 다시 적용하지 않습니다.
+     *
+     * 작업이 건드린 북마크/폴더/태그만 이쪽 내용으로 바뀌고 나머지는 다른 곳에서 저장한 내용이
+     * 유지되므로, 항목 단위의 3-way 병합과 같습니다. (같은 항목을 양쪽에서 바꾸었으면 이쪽이 우선)
+     * 다른 곳에서 삭제한 북마크를 수정하는 작업처럼 더 이상 적용할 수 없는 작업은 버립니다.
+     */
+    private void rebase(String userKey, UserQueue queue) throws IOException {
+        List<BookmarkOperation> operations = new ArrayList<>(queue.pendingOperations.size());
+        Map<BookmarkOperation, Set<BookmarkOperationApplier.Section>> unwritten = new IdentityHashMap<>();
+        for (PendingOperation pending : queue.pendingOperations) {
+            operations.add(pending.operation);
+            unwritten.put(pending.operation, pending.unwritten);
+        }
+        Set<BookmarkOperationApplier.Section> sections = BookmarkOperationApplier.requiredSections(operations);
+
+        BookmarkData data = BookmarkData.builder().build();
+        String version = null;
+        if (sections.contains(BookmarkOperationApplier.Section.BOOKMARKS)) {
+            StoredFile head = storage.head();
+            if (head != null) {
+                data = storage.read(head);
+                // 폴더/태그는 각자의 파일이 기준
+                data.setFolders(new ArrayList<>());
+                data.setTags(new ArrayList<>());
+                version = head.getVersion();
+                dataCache.put(userKey, data, version);
+            }
+        }
+        List<Folder> folders = new ArrayList<>();
+        if (sections.contains(BookmarkOperationApplier.Section.FOLDERS)) {
+            List<Folder> fresh = entityStore.reload(userKey, BookmarkService.FOLDERS_FILE, BookmarkService.FOLDER_LIST);
+            if (fresh != null) {
+                folders = fresh;
+            }
+        }
+        List<Tag> tags = new ArrayList<>();
+        if (sections.contains(BookmarkOperationApplier.Section.TAGS)) {
+            List<Tag> fresh = entityStore.reload(userKey, BookmarkService.TAGS_FILE, BookmarkService.TAG_LIST);
+            if (fresh != null) {
+                tags = fresh;
+            }
+        }
+
+        BookmarkOperationApplier applier = new BookmarkOperationApplier(data.getBookmarks(), folders, tags,
+            dataCache.getLookupIndex(userKey, data));
+        int dropped = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            OperationResultDTO result = applier.apply(i, operations.get(i));
+            if (result.getStatus() != OperationResultDTO.Status.OK) {
+                dropped++;
+                log.warn("Dropped pending operation after write conflict: user={}, type={}, target={}, id={}, {}",
+                    userKey, operations.get(i).getType(), operations.get(i).getTarget(), result.getId(),
+                    result.getMessage());
+            }
+        }
+        if (dropped > 0) {
+            meterRegistry.counter("bookmark.write.conflict.dropped").increment(dropped);
+        }
+
+        // 다시 적용한 결과로 대기열을 교체 (저장 조건은 방금 읽은 버전)
+        Set<BookmarkOperationApplier.Section> changed = applier.getChangedSections();
+        queue.saved.clear();
+        queue.deleted.clear();
+        queue.bookmarks = null;
+        queue.folders = null;
+        queue.tags = null;
+        if (changed.contains(BookmarkOperationApplier.Section.BOOKMARKS)) {
+            for (Bookmark bookmark : applier.getSavedBookmarks()) {
+                queue.saved.put(bookmark.getId(), bookmark);
+            }
+            queue.deleted.addAll(applier.getDeletedBookmarkIds());
+            BookmarkData next = applier.toBookmarkData(data);
+            dataCache.put(userKey, next, version, applier.getLookupIndex());
+            queue.bookmarksVersion = version;
+            queue.bookmarks = next;
+        }
+        if (changed.contains(BookmarkOperationApplier.Section.FOLDERS)) {
+            queue.foldersVersion = entityStore.versionOf(userKey, BookmarkService.FOLDERS_FILE, folders);
+            entityStore.replace(userKey, BookmarkService.FOLDERS_FILE, folders, applier.getFolders());
+            queue.folders = applier.getFolders();
+        }
+        if (changed.contains(BookmarkOperationApplier.Section.TAGS)) {
+            queue.tagsVersion = entityStore.versionOf(userKey, BookmarkService.TAGS_FILE, tags);
+            entityStore.replace(userKey, BookmarkService.TAGS_FILE, tags, applier.getTags());
+            queue.tags = applier.getTags();
+        }
+        queue.pendingOperations.clear();
+        for (BookmarkOperation operation : applier.getAppliedOperations()) {
+            queue.pendingOperations.add(new PendingOperation(operation, unwritten.get(operation)));
+        }
+        queue.operations = queue.pendingOperations.size();
+    }
+
+    private void schedule(String userKey, UserQueue queue, long delayMs) {
+        if (flushExecutor.isShutdown()) {
+            return;
+        }
+        Runnable task = new DelegatingSecurityContextRunnable(() -> {
+            synchronized (lockFor(userKey)) {
+                queue.scheduled = null;
+                try {
+                    flushLocked(userKey, queue);
+                } catch (IOException | RuntimeException e) {
+                    log.error("Failed to flush pending bookmark changes: user={}, attempt={}",
+                        userKey, queue.failures, e);
+                }
+            }
+        }, queue.context);
+        queue.scheduled = flushExecutor.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private UserQueue queueFor(String userKey) {
+        return queues.computeIfAbsent(userKey, key -> new UserQueue());
+    }
+
+    /**
+     * 종료 전에 모든 사용자의 대기 중인 변경을 저장합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdownNow();
+        queues.forEach((userKey, queue) -> {
+            SecurityContext context;
+            synchronized (lockFor(userKey)) {
+                if (queue.operations == 0) {
+                    return;
+                }
+                context = queue.context;
+            }
+            new DelegatingSecurityContextRunnable(() -> {
+                try {
+                    flush(userKey);
+                } catch (IOException | RuntimeException e) {
+                    log.error("Failed to flush pending bookmark changes on shutdown: user={}", userKey, e);
+                }
+            }, context).run();
+        });
+    }
+
+    /**
+     * 사용자별 대기 중인 변경 (변경 적용과 저장은 {@link #lockFor(String)}의 잠금으로 직렬화)
+     */
+    private static class UserQueue {
+        // 읽기 요청은 저장 중에도 기다리지 않도록 잠금 없이 읽음 (게시된 데이터와 목록은 바뀌지 않고 교체만 됨)
+        private volatile BookmarkData bookmarks;
+        private final Map<String, Bookmark> saved = new LinkedHashMap<>();
+        private final Set<String> deleted = new LinkedHashSet<>();
+        private volatile List<Folder> folders;
+        private volatile List<Tag> tags;
+        private volatile int operations;
+
+        /** 대기 중인 데이터를 읽었을 때의 파일 버전 (저장 조건) */
+        private String bookmarksVersion;
+        private String foldersVersion;
+        private String tagsVersion;
+
+        /** 마지막 저장 이후 적용된 작업 (충돌 시 최신 데이터에 다시 적용) */
+        private final List<PendingOperation> pendingOperations = new ArrayList<>();
+
+        private int failures;
+        private SecurityContext context;
+        private ScheduledFuture<?> scheduled;
+    }
+
+    /**
+     * 대기 중인 작업과 그 작업이 바꾸었지만 아직 저장되지 않은 데이터 구분
+     */
+    private static class PendingOperation {
+        private final BookmarkOperation operation;
+        private final Set<BookmarkOperationApplier.Section> unwritten;
+
+        private PendingOperation(BookmarkOperation operation, Set<BookmarkOperationApplier.Section> unwritten) {
+            this.operation = operation;
+            this.unwritten = unwritten;
+        }
+    }
+}
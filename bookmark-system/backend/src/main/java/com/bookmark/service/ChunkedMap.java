@@ -0,0 +1,107 @@
+package com.bookmark.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 사본끼리 내용을 공유하는 해시 맵 (조회 색인용)
+ *
+ * 키의 해시로 항목을 고정된 수의 조각으로 나누고, {@link #copy()}는 조각 배열만 복사합니다.
+ * 공유 중인 조각은 처음 바꿀 때 그 조각만 복사하므로, 사본에서 항목 하나를 바꾸는 비용은
+ * 맵 전체가 아니라 조각 하나의 크기에 비례합니다.
+ *
+ * 동기화하지 않으므로 호출자가 접근을 직렬화합니다.
+ */
+final class ChunkedMap<K, V> {
+
+    private static final int CHUNK_BITS = 8;
+
+    private final Chunk<K, V>[] chunks;
+
+    /** 이 맵이 제자리에서 바꿀 수 있는 조각의 표시 (복사하면 원본과 사본 모두 새 표시를 씀) */
+    private Object owner = new Object();
+
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    ChunkedMap() {
+        this.chunks = new Chunk[1 << CHUNK_BITS];
+    }
+
+    private ChunkedMap(ChunkedMap<K, V> source) {
+        this.chunks = source.chunks.clone();
+        this.size = source.size;
+    }
+
+    /**
+     * 같은 내용의 맵을 만듭니다. 이후 원본과 사본 어느 쪽을 바꿔도 다른 쪽에는 보이지 않습니다.
+     */
+    ChunkedMap<K, V> copy() {
+        owner = new Object();
+        return new ChunkedMap<>(this);
+    }
+
+    V get(Object key) {
+        Chunk<K, V> chunk = chunks[slot(key)];
+        return chunk != null ? chunk.map.get(key) : null;
+    }
+
+    V put(K key, V value) {
+        Map<K, V> map = writable(slot(key));
+        int before = map.size();
+        V previous = map.put(key, value);
+        size += map.size() - before;
+        return previous;
+    }
+
+    V remove(Object key) {
+        int slot = slot(key);
+        Chunk<K, V> chunk = chunks[slot];
+        if (chunk == null || !chunk.map.containsKey(key)) {
+            return null;
+        }
+        Map<K, V> map = writable(slot);
+        size--;
+        return map.remove(key);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Chunk<K, V> chunk : chunks) {
+            if (chunk != null) {
+                chunk.map.forEach(action);
+            }
+        }
+    }
+
+    private Map<K, V> writable(int slot) {
+        Chunk<K, V> chunk = chunks[slot];
+        if (chunk != null && chunk.owner == owner) {
+            return chunk.map;
+        }
+        chunk = new Chunk<>(owner, chunk != null ? new HashMap<>(chunk.map) : new HashMap<>());
+        chunks[slot] = chunk;
+        return chunk.map;
+    }
+
+    /**
+     * 해시의 상위 비트로 조각을 고름 (조각 안의 HashMap은 하위 비트를 쓰므로 서로 겹치지 않음)
+     */
+    private static int slot(Object key) {
+        return (key.hashCode() * 0x9E3779B9) >>> (Integer.SIZE - CHUNK_BITS);
+    }
+
+    private static final class Chunk<K, V> {
+        private final Object owner;
+        private final Map<K, V> map;
+
+        private Chunk(Object owner, Map<K, V> map) {
+            this.owner = owner;
+            this.map = map;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.bookmark.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 사본끼리 내용을 공유하는 정렬 집합 (조회 색인의 정렬 색인, 범위별 목록용)
+ *
+ * 항목을 정렬된 배열 조각(최대 {@value #MAX_CHUNK}개)의 목록으로 나누어 가지며,
+ * {@link #copy()}는 조각 목록만 복사합니다. 공유 중인 조각은 처음 바꿀 때 그 조각만 복사하므로,
+ * 사본에서 항목 하나를 넣거나 빼는 비용은 집합 크기가 아니라 조각 하나의 크기에 비례합니다.
+ *
+ * 동기화하지 않으므로 호출자가 접근을 직렬화합니다.
+ */
+final class ChunkedSortedSet<E> implements Iterable<E> {
+
+    private static final int MAX_CHUNK = 512;
+
+    private final Comparator<? super E> comparator;
+    private final List<Chunk> chunks;
+
+    /** 이 집합이 제자리에서 바꿀 수 있는 조각의 표시 (복사하면 원본과 사본 모두 새 표시를 씀) */
+    private Object owner = new Object();
+
+    private int size;
+
+    ChunkedSortedSet(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+        this.chunks = new ArrayList<>();
+    }
+
+    private ChunkedSortedSet(ChunkedSortedSet<E> source) {
+        this.comparator = source.comparator;
+        this.chunks = new ArrayList<>(source.chunks);
+        this.size = source.size;
+    }
+
+    /**
+     * 항목들로 집합을 만듭니다. (중복되지 않은 항목이어야 함)
+     */
+    static <E> ChunkedSortedSet<E> of(List<E> items, Comparator<? super E> comparator) {
+        ChunkedSortedSet<E> set = new ChunkedSortedSet<>(comparator);
+        Object[] sorted = items.toArray();
+        @SuppressWarnings("unchecked")
+        Comparator<Object> order = (Comparator<Object>) comparator;
+        Arrays.sort(sorted, order);
+        // 이후 추가될 항목을 위해 조각을 절반만 채움
+        int fill = MAX_CHUNK / 2;
+        for (int from = 0; from < sorted.length; from += fill) {
+            int to = Math.min(from + fill, sorted.length);
+            set.chunks.add(new Chunk(set.owner, Arrays.copyOfRange(sorted, from, from + fill), to - from));
+        }
+        set.size = sorted.length;
+        return set;
+    }
+
+    /**
+     * 같은 내용의 집합을 만듭니다. 이후 원본과 사본 어느 쪽을 바꿔도 다른 쪽에는 보이지 않습니다.
+     */
+    ChunkedSortedSet<E> copy() {
+        owner = new Object();
+        return new ChunkedSortedSet<>(this);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return 없던 항목이면 true
+     */
+    boolean add(E item) {
+        if (chunks.isEmpty()) {
+            Object[] items = new Object[16];
+            items[0] = item;
+            chunks.add(new Chunk(owner, items, 1));
+            size = 1;
+            return true;
+        }
+        int index = chunkFor(item);
+        int position = search(chunks.get(index), item);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+
+        Chunk chunk = writable(index);
+        if (chunk.size == chunk.items.length) {
+            chunk.items = Arrays.copyOf(chunk.items, Math.min(chunk.size * 2, MAX_CHUNK + 1));
+        }
+        System.arraycopy(chunk.items, position, chunk.items, position + 1, chunk.size - position);
+        chunk.items[position] = item;
+        chunk.size++;
+        size++;
+
+        if (chunk.size > MAX_CHUNK) {
+            // 가득 찬 조각은 절반으로 나눔
+            int half = chunk.size / 2;
+            Object[] right = Arrays.copyOfRange(chunk.items, half, MAX_CHUNK + 1);
+            chunks.add(index + 1, new Chunk(owner, right, chunk.size - half));
+            Arrays.fill(chunk.items, half, chunk.size, null);
+            chunk.size = half;
+        }
+        return true;
+    }
+
+    /**
+     * @return 있던 항목이면 true
+     */
+    boolean remove(E item) {
+        if (chunks.isEmpty()) {
+            return false;
+        }
+        int index = chunkFor(item);
+        int position = search(chunks.get(index), item);
+        if (position < 0) {
+            return false;
+        }
+
+        Chunk chunk = writable(index);
+        System.arraycopy(chunk.items, position + 1, chunk.items, position, chunk.size - position - 1);
+        chunk.items[--chunk.size] = null;
+        size--;
+        if (chunk.size == 0) {
+            chunks.remove(index);
+        }
+        return true;
+    }
+
+    /**
+     * 정렬 순서로 index번째 항목 (조각 수에 비례)
+     */
+    @SuppressWarnings("unchecked")
+    E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        for (Chunk chunk : chunks) {
+            if (index < chunk.size) {
+                return (E) chunk.items[index];
+            }
+            index -= chunk.size;
+        }
+        throw new IllegalStateException("Chunk sizes do not match the set size");
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return iterator(null, false);
+    }
+
+    /**
+     * after 다음 항목부터 차례로 반환합니다. (NavigableSet의 tailSet(after, false)와 같은 범위)
+     *
+     * @param after 기준 항목 (포함하지 않음), null이면 처음부터
+     * @param descending 역순 여부 (after보다 앞의 항목을 뒤에서부터)
+     */
+    Iterator<E> iterator(E after, boolean descending) {
+        int index;
+        int position;
+        if (chunks.isEmpty()) {
+            index = descending ? -1 : 0;
+            position = 0;
+        } else if (after == null) {
+            index = descending ? chunks.size() - 1 : 0;
+            position = descending ? chunks.get(index).size - 1 : 0;
+        } else {
+            index = chunkFor(after);
+            int found = search(chunks.get(index), after);
+            if (descending) {
+                position = found >= 0 ? found - 1 : -found - 2;
+            } else {
+                position = found >= 0 ? found + 1 : -found - 1;
+            }
+        }
+        return descending ? new DescendingIterator(index, position) : new AscendingIterator(index, position);
+    }
+
+    /**
+     * 첫 항목이 item 이하인 마지막 조각 (item이 모든 조각보다 앞이면 첫 조각)
+     */
+    private int chunkFor(E item) {
+        int low = 0;
+        int high = chunks.size() - 1;
+        int result = 0;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (compare(chunks.get(middle).items[0], item) <= 0) {
+                result = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 조각 안에서 item의 위치, 없으면 -(넣을 위치) - 1
+     */
+    private int search(Chunk chunk, E item) {
+        int low = 0;
+        int high = chunk.size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int result = compare(chunk.items[middle], item);
+            if (result < 0) {
+                low = middle + 1;
+            } else if (result > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object item, E other) {
+        return comparator.compare((E) item, other);
+    }
+
+    private Chunk writable(int index) {
+        Chunk chunk = chunks.get(index);
+        if (chunk.owner == owner) {
+            return chunk;
+        }
+        Chunk copy = new Chunk(owner, chunk.items.clone(), chunk.size);
+        chunks.set(index, copy);
+        return copy;
+    }
+
+    private static final class Chunk {
+        private final Object owner;
+        private Object[] items;
+        private int size;
+
+        private Chunk(Object owner, Object[] items, int size) {
+            this.owner = owner;
+            this.items = items;
+            this.size = size;
+        }
+    }
+
+    private final class AscendingIterator implements Iterator<E> {
+        private int index;
+        private int position;
+
+        private AscendingIterator(int index, int position) {
+            this.index = index;
+            this.position = position;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (index < chunks.size() && position >= chunks.get(index).size) {
+                index++;
+                position = 0;
+            }
+            return index < chunks.size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (E) chunks.get(index).items[position++];
+        }
+    }
+
+    private final class DescendingIterator implements Iterator<E> {
+        private int index;
+        private int position;
+
+        private DescendingIterator(int index, int position) {
+            this.index = index;
+            this.position = position;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (index >= 0 && position < 0) {
+                index--;
+                if (index >= 0) {
+                    position = chunks.get(index).size - 1;
+                }
+            }
+            return index >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (E) chunks.get(index).items[position--];
+        }
+    }
+}
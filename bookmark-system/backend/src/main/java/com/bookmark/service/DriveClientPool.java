@@ -0,0 +1,106 @@
+package com.bookmark.service;
+
+import com.bookmark.config.GoogleDriveConfig;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.services.drive.Drive;
+import com.google.auth.http.HttpCredentialsAdapter;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 Google Drive 클라이언트를 재사용하는 풀
+ *
+ * Drive 클라이언트와 인증 객체는 액세스 토큰이 바뀔 때만 새로 만들고,
+ * 그 외에는 이전에 생성한 인스턴스를 그대로 반환합니다.
+ * 모든 클라이언트는 커넥션 풀을 가진 하나의 HttpTransport를 공유합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DriveClientPool {
+
+    private final GoogleDriveConfig driveConfig;
+
+    /** 모든 사용자가 공유하는 HTTP 전송 객체 (keep-alive 커넥션 재사용) */
+    private final HttpTransport httpTransport;
+
+    private final JsonFactory jsonFactory;
+
+    /** 만료된 토큰을 refresh token으로 갱신해 주는 매니저 */
+    private final OAuth2AuthorizedClientManager authorizedClientManager;
+
+    private final Map<String, PooledClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * 사용자의 Drive 클라이언트를 반환합니다.
+     *
+     * 토큰이 만료되었으면 OAuth2AuthorizedClientManager가 먼저 갱신하며,
+     * 갱신된 토큰으로 클라이언트를 다시 생성합니다.
+     *
+     * @param registrationId OAuth2 클라이언트 등록 ID (예: google)
+     * @param principalName 인증 주체 이름
+     * @return Drive 클라이언트, 인증된 클라이언트가 없으면 null
+     */
+    public Drive getClient(String registrationId, String principalName) {
+        String key = registrationId + ":" + principalName;
+
+        OAuth2AuthorizedClient authorizedClient = authorizedClientManager.authorize(
+            OAuth2AuthorizeRequest.withClientRegistrationId(registrationId)
+                .principal(principalName)
+                .build()
+        );
+        if (authorizedClient == null || authorizedClient.getAccessToken() == null) {
+            clients.remove(key);
+            return null;
+        }
+
+        OAuth2AccessToken token = authorizedClient.getAccessToken();
+        PooledClient pooled = clients.get(key);
+        if (pooled != null && pooled.tokenValue.equals(token.getTokenValue())) {
+            return pooled.drive;
+        }
+
+        // 실제 토큰 만료 시간을 그대로 전달
+        Date expiresAt = token.getExpiresAt() != null ? Date.from(token.getExpiresAt()) : null;
+        GoogleCredentials credentials = GoogleCredentials.create(new AccessToken(token.getTokenValue(), expiresAt));
+
+        Drive drive = new Drive.Builder(httpTransport, jsonFactory, new HttpCredentialsAdapter(credentials))
+            .setApplicationName(driveConfig.getApplicationName())
+            .build();
+        clients.put(key, new PooledClient(token.getTokenValue(), drive));
+        log.debug("Built Drive client for {}", key);
+        return drive;
+    }
+
+    /**
+     * 사용자의 클라이언트를 풀에서 제거합니다. (로그아웃 시)
+     *
+     * @param registrationId OAuth2 클라이언트 등록 ID
+     * @param principalName 인증 주체 이름
+     */
+    public void evict(String registrationId, String principalName) {
+        clients.remove(registrationId + ":" + principalName);
+    }
+
+    private static class PooledClient {
+        private final String tokenValue;
+        private final Drive drive;
+
+        private PooledClient(String tokenValue, Drive drive) {
+            this.tokenValue = tokenValue;
+            this.drive = drive;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.bookmark.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 Google Drive 위치 정보(앱 폴더 ID, 데이터 파일 ID)를 보관하는 레지스트리
+ *
+ * 파일을 읽고 쓸 때마다 files.list로 파일 ID를 검색하지 않도록
+ * 한 번 찾은 ID를 사용자 키 단위로 기억합니다.
+ * 저장된 ID는 Drive가 404를 반환하면 제거되고, 다음 접근 시 다시 검색됩니다.
+ */
+@Component
+public class DriveLocationRegistry {
+
+    private final Map<String, Location> locations = new ConcurrentHashMap<>();
+
+    /**
+     * @param userKey 사용자 키
+     * @return 등록된 앱 폴더 ID, 없으면 null
+     */
+    public String getFolderId(String userKey) {
+        Location location = userKey != null ? locations.get(userKey) : null;
+        return location != null ? location.folderId : null;
+    }
+
+    /**
+     * 사용자의 앱 폴더 ID를 등록합니다.
+     * 폴더가 바뀌면 이전 폴더 기준으로 기억한 파일 ID는 모두 버립니다.
+     *
+     * @param userKey 사용자 키
+     * @param folderId 앱 폴더 ID
+     */
+    public void putFolderId(String userKey, String folderId) {
+        if (userKey == null) {
+            return;
+        }
+        locations.compute(userKey, (key, location) -> {
+            if (location == null || !folderId.equals(location.folderId)) {
+                return new Location(folderId);
+            }
+            return location;
+        });
+    }
+
+    /**
+     * @param userKey 사용자 키
+     * @param fileName 데이터 파일 이름 (예: bookmarks.json)
+     * @return 등록된 파일 ID, 없으면 null
+     */
+    public String getFileId(String userKey, String fileName) {
+        Location location = userKey != null ? locations.get(userKey) : null;
+        return location != null ? location.fileIds.get(fileName) : null;
+    }
+
+    /**
+     * 검색하거나 새로 생성한 파일의 ID를 등록합니다.
+     * 앱 폴더가 아직 등록되지 않은 사용자는 무시합니다.
+     *
+     * @param userKey 사용자 키
+     * @param fileName 데이터 파일 이름
+     * @param fileId 파일 ID
+     */
+    public void putFileId(String userKey, String fileName, String fileId) {
+        Location location = userKey != null ? locations.get(userKey) : null;
+        if (location != null) {
+            location.fileIds.put(fileName, fileId);
+        }
+    }
+
+    /**
+     * Drive에서 더 이상 찾을 수 없는 파일 ID를 제거합니다.
+     *
+     * @param userKey 사용자 키
+     * @param fileName 데이터 파일 이름
+     */
+    public void evictFileId(String userKey, String fileName) {
+        Location location = userKey != null ? locations.get(userKey) : null;
+        if (location != null) {
+            location.fileIds.remove(fileName);
+        }
+    }
+
+    /**
+     * 사용자의 위치 정보를 모두 제거합니다. (앱 폴더가 삭제된 경우 등)
+     *
+     * @param userKey 사용자 키
+     */
+    public void evict(String userKey) {
+        if (userKey != null) {
+            locations.remove(userKey);
+        }
+    }
+
+    private static class Location {
+        private final String folderId;
+        private final Map<String, String> fileIds = new ConcurrentHashMap<>();
+
+        private Location(String folderId) {
+            this.folderId = folderId;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.bookmark.service;
+
+import com.bookmark.jfr.DriveCallEvent;
+import com.google.api.client.http.AbstractInputStreamContent;
+import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.LongSupplier;
+
+/**
+ * Google Drive API 호출의 소요 시간과 전송 크기를 기록하는 메트릭과 JFR 이벤트
+ *
+ * - bookmark.drive.requests (operation, status 태그): 호출별 응답까지의 시간
+ * - bookmark.drive.payload (operation 태그): 업로드/다운로드한 파일 내용의 바이트 수 (압축 전)
+ * - JFR {@link DriveCallEvent}: 호출마다 요청 ID, 파일 이름, 크기, 소요 시간
+ *
+ * operation은 list, get, download, create, update, delete 중 하나이며,
+ * status는 HTTP 상태 코드 또는 응답을 받지 못한 경우 IO_ERROR입니다.
+ * 스트림으로 받는 다운로드는 응답 헤더까지를 메트릭 시간으로, 스트림을 닫을 때까지 읽은 양을 크기로 기록하며
+ * JFR 이벤트는 스트림을 닫을 때 끝납니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DriveMetrics {
+
+    static final String LIST = "list";
+    static final String GET = "get";
+    static final String DOWNLOAD = "download";
+    static final String CREATE = "create";
+    static final String UPDATE = "update";
+    static final String DELETE = "delete";
+
+    private static final String OK = "200";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 내용을 주고받지 않는 Drive 요청 하나를 실행하고 기록합니다.
+     *
+     * @param operation 호출 종류 (예: {@link #LIST})
+     * @param file 대상 파일 이름 또는 ID (목록 조회는 검색한 이름)
+     * @param call 요청을 실행하는 함수
+     * @return 요청 결과
+     * @throws IOException 요청이 실패한 경우 (그대로 전달)
+     */
+    public <T> T record(String operation, String file, DriveCall<T> call) throws IOException {
+        return record(operation, file, call, null);
+    }
+
+    /**
+     * Drive 요청 하나를 실행하고 소요 시간과 전송 크기를 기록합니다.
+     *
+     * @param payload 요청이 끝난 뒤 전송한 내용의 크기를 반환하는 함수, null이면 크기를 기록하지 않음
+     */
+    public <T> T record(String operation, String file, DriveCall<T> call, LongSupplier payload) throws IOException {
+        DriveCallEvent event = DriveCallEvent.start(operation, file);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = OK;
+        try {
+            return call.execute();
+        } catch (IOException | RuntimeException e) {
+            status = statusOf(e);
+            throw e;
+        } finally {
+            sample.stop(requestTimer(operation, status));
+            long bytes = payload != null ? payload.getAsLong() : -1;
+            if (bytes >= 0 && OK.equals(status)) {
+                recordPayload(operation, bytes);
+            }
+            event.finish(status, bytes);
+        }
+    }
+
+    /**
+     * 콘텐츠를 업로드하는 요청을 실행하고, 요청 본문에 쓴 바이트 수를 크기로 기록합니다.
+     * 스트리밍 콘텐츠도 메모리 사본 없이 그대로 전달됩니다.
+     *
+     * @param operation {@link #CREATE} 또는 {@link #UPDATE}
+     * @param file 대상 파일 이름
+     * @param content 업로드할 콘텐츠
+     * @param call 전달받은 콘텐츠로 요청을 만들어 실행하는 함수
+     */
+    public <T> T upload(String operation, String file, AbstractInputStreamContent content,
+                        UploadCall<T> call) throws IOException {
+        CountingContent counting = new CountingContent(content);
+        return record(operation, file, () -> call.execute(counting), () -> counting.count);
+    }
+
+    /**
+     * 파일 내용을 스트림으로 받는 요청을 실행합니다.
+     * 반환된 스트림을 닫을 때 읽은 바이트 수를 크기로 기록하고 JFR 이벤트를 끝냅니다.
+     *
+     * @param file 대상 파일 ID
+     * @param call 응답 본문 스트림을 여는 함수
+     */
+    public InputStream download(String file, DriveCall<InputStream> call) throws IOException {
+        DriveCallEvent event = DriveCallEvent.start(DOWNLOAD, file);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        InputStream content;
+        try {
+            content = call.execute();
+        } catch (IOException | RuntimeException e) {
+            String status = statusOf(e);
+            sample.stop(requestTimer(DOWNLOAD, status));
+            event.finish(status, -1);
+            throw e;
+        }
+        sample.stop(requestTimer(DOWNLOAD, OK));
+
+        return new FilterInputStream(content) {
+            private long count;
+            private boolean closed;
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    count++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    count += n;
+                }
+                return n;
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    recordPayload(DOWNLOAD, count);
+                    event.finish(OK, count);
+                }
+                super.close();
+            }
+        };
+    }
+
+    private void recordPayload(String operation, long bytes) {
+        DistributionSummary.builder("bookmark.drive.payload")
+            .description("Google Drive file content size")
+            .baseUnit("bytes")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(bytes);
+    }
+
+    private Timer requestTimer(String operation, String status) {
+        return Timer.builder("bookmark.drive.requests")
+            .description("Google Drive API call latency")
+            .tag("operation", operation)
+            .tag("status", status)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static String statusOf(Exception e) {
+        return e instanceof HttpResponseException
+            ? String.valueOf(((HttpResponseException) e).getStatusCode())
+            : "IO_ERROR";
+    }
+
+    /**
+     * Drive 요청 실행 함수
+     */
+    @FunctionalInterface
+    public interface DriveCall<T> {
+        T execute() throws IOException;
+    }
+
+    /**
+     * 업로드 콘텐츠로 Drive 요청을 만들어 실행하는 함수
+     */
+    @FunctionalInterface
+    public interface UploadCall<T> {
+        T execute(AbstractInputStreamContent content) throws IOException;
+    }
+
+    /**
+     * 요청 본문에 쓴 바이트 수를 세는 업로드 콘텐츠 (재시도로 다시 쓰면 마지막 전송 크기)
+     */
+    private static final class CountingContent extends AbstractInputStreamContent {
+
+        private final AbstractInputStreamContent delegate;
+        private volatile long count = -1;
+
+        private CountingContent(AbstractInputStreamContent delegate) {
+            super(delegate.getType());
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            long[] written = new long[1];
+            delegate.writeTo(new FilterOutputStream(out) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    written[0]++;
+                }
+
+                @Override
+                public void write(byte[] buffer, int offset, int length) throws IOException {
+                    out.write(buffer, offset, length);
+                    written[0] += length;
+                }
+            });
+            count = written[0];
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return delegate.getInputStream();
+        }
+
+        @Override
+        public long getLength() throws IOException {
+            return delegate.getLength();
+        }
+
+        @Override
+        public boolean retrySupported() {
+            return delegate.retrySupported();
+        }
+    }
+}
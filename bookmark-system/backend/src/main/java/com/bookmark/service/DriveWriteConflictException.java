@@ -0,0 +1,37 @@
+package com.bookmark.service;
+
+import java.io.IOException;
+
+/**
+ * 파일을 읽은 뒤 다른 곳(다른 탭, 다른 서버, 다른 기기)에서 먼저 저장하여
+ * 조건부 쓰기의 기대 버전과 Drive의 현재 버전이 다른 경우
+ */
+public class DriveWriteConflictException extends IOException {
+
+    private final String fileName;
+    private final String expectedVersion;
+    private final String actualVersion;
+
+    public DriveWriteConflictException(String fileName, String expectedVersion, String actualVersion) {
+        super(String.format("Write conflict on %s: expected version %s but found %s",
+            fileName, expectedVersion, actualVersion));
+        this.fileName = fileName;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    /**
+     * @return Drive의 현재 버전, 파일이 삭제되었으면 null
+     */
+    public String getActualVersion() {
+        return actualVersion;
+    }
+}
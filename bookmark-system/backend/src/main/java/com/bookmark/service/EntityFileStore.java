@@ -0,0 +1,215 @@
+package com.bookmark.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 폴더, 태그처럼 목록 하나로 이루어진 Drive 파일을 읽고 쓰는 저장소
+ *
+ * 파일마다 버전과 캐시 항목을 따로 가지므로, 폴더 목록을 읽거나 고칠 때
+ * 북마크 파일을 내려받거나 다시 올리지 않습니다.
+ * 캐시 검증 방식은 {@link BookmarkDataCache}와 같습니다. (검증 주기 → 버전 비교 → 다운로드)
+ * 조회 결과도 같은 bookmark.cache.lookups 카운터에 파일 이름을 cache 태그로 기록합니다.
+ *
+ * 캐시된 목록은 여러 요청이 잠금 없이 함께 읽으므로 읽기 전용으로 보관합니다.
+ * 변경은 목록의 사본에 적용한 뒤 {@link #replace}로 캐시 항목을 교체합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityFileStore {
+
+    private final StorageBackend backend;
+    private final MeterRegistry meterRegistry;
+
+    /** 마지막 검증 후 이 시간(ms) 동안은 Drive 메타데이터 조회도 생략 */
+    @Value("${bookmark.cache.revalidate-interval-ms:5000}")
+    private long revalidateIntervalMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** 같은 파일의 동시 조회를 하나로 합침 */
+    private final SingleFlight<String, Object> loads = new SingleFlight<>();
+
+    /**
+     * 목록 파일을 읽습니다. 반환된 목록은 캐시와 공유하는 읽기 전용 목록입니다.
+     *
+     * @param userKey 사용자 키
+     * @param fileName 앱 폴더의 파일 이름
+     * @param type 목록 타입
+     * @return 목록, 파일이 없으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> load(String userKey, String fileName, TypeReference<List<T>> type) throws IOException {
+        String key = cacheKey(userKey, fileName);
+        Entry entry = entries.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.validatedAt < revalidateIntervalMs) {
+            recordLookup(fileName, "hit");
+            return (List<T>) entry.items;
+        }
+
+        return (List<T>) loads.run(key, () -> fetch(key, userKey, fileName, type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> fetch(String key, String userKey, String fileName, TypeReference<List<T>> type)
+            throws IOException {
+        Entry entry = entries.get(key);
+        StoredFile metadata = backend.getFileMetadata(fileName, backend.getAppFolderId());
+        if (metadata == null) {
+            entries.remove(key);
+            return null;
+        }
+
+        String version = metadata.getVersion();
+        if (entry != null && Objects.equals(entry.version, version)) {
+            entry.validatedAt = System.currentTimeMillis();
+            recordLookup(fileName, "revalidated");
+            return (List<T>) entry.items;
+        }
+        recordLookup(fileName, "miss");
+
+        List<T> items;
+        try (InputStream content = backend.openFileById(metadata.getId())) {
+            items = Collections.unmodifiableList(BookmarkJson.OBJECT_MAPPER.readValue(content, type));
+        }
+        entries.put(key, new Entry(items, version));
+        log.debug("Loaded {} from Drive: user={}, version={}", fileName, userKey, version);
+        return items;
+    }
+
+    /**
+     * 목록 파일을 저장하고 캐시를 저장된 버전으로 갱신합니다.
+     * 실패하면 캐시를 버려 다음 읽기에서 Drive의 내용을 다시 받습니다.
+     *
+     * @param userKey 사용자 키
+     * @param fileName 앱 폴더의 파일 이름
+     * @param items 저장할 목록
+     */
+    public <T> void save(String userKey, String fileName, List<T> items) throws IOException {
+        save(userKey, fileName, items, null);
+    }
+
+    /**
+     * 목록 파일이 없을 때만 새로 만듭니다.
+     * 캐시를 거치지 않고 파일이 있는지 확인한 뒤 만들며, 이미 있으면 그 파일을 덮어쓰지 않습니다.
+     *
+     * @param userKey 사용자 키
+     * @param fileName 앱 폴더의 파일 이름
+     * @param items 저장할 목록
+     * @return 파일을 만들었으면 true, 이미 있으면 false
+     */
+    public <T> boolean create(String userKey, String fileName, List<T> items) throws IOException {
+        if (backend.getFileMetadata(fileName, backend.getAppFolderId()) != null) {
+            invalidate(userKey, fileName);
+            return false;
+        }
+        save(userKey, fileName, items);
+        return true;
+    }
+
+    /**
+     * Drive의 파일 버전이 기대한 버전과 같을 때만 목록 파일을 저장합니다.
+     *
+     * @param userKey 사용자 키
+     * @param fileName 앱 폴더의 파일 이름
+     * @param items 저장할 목록
+     * @param expectedVersion 목록을 읽을 때의 파일 버전, null이면 확인하지 않음
+     * @throws DriveWriteConflictException 그 사이 다른 곳에서 파일을 저장한 경우
+     */
+    public <T> void save(String userKey, String fileName, List<T> items, String expectedVersion) throws IOException {
+        String key = cacheKey(userKey, fileName);
+        try {
+            StoredFile written = backend.writeFile(fileName,
+                new JsonStreamingContent(BookmarkJson.OBJECT_MAPPER.writer(), items), backend.getAppFolderId(),
+                expectedVersion);
+            entries.put(key, new Entry(Collections.unmodifiableList(items), written.getVersion()));
+        } catch (IOException | RuntimeException e) {
+            entries.remove(key);
+            throw e;
+        }
+    }
+
+    /**
+     * Drive의 파일 버전이 기대한 버전과 같은지 확인합니다. (여러 파일을 차례로 저장하기 전 확인용)
+     *
+     * @param expectedVersion 목록을 읽을 때의 파일 버전, null이면 확인하지 않음
+     * @throws DriveWriteConflictException 그 사이 다른 곳에서 파일을 저장한 경우
+     */
+    public void checkVersion(String fileName, String expectedVersion) throws IOException {
+        backend.checkVersion(fileName, backend.getAppFolderId(), expectedVersion);
+    }
+
+    /**
+     * 캐시된 목록이 읽힌 파일 버전을 반환합니다.
+     *
+     * @param items {@link #load}로 얻은 목록
+     * @return 같은 목록 인스턴스가 캐시에 있으면 그 버전, 아니면 null
+     */
+    public String versionOf(String userKey, String fileName, List<?> items) {
+        Entry entry = entries.get(cacheKey(userKey, fileName));
+        return entry != null && entry.items == items ? entry.version : null;
+    }
+
+    /**
+     * 변경을 적용한 새 목록으로 캐시 항목을 교체합니다. 파일 버전은 변경 전 목록을 읽었을 때의 버전을 유지합니다.
+     * 캐시에 변경 전 목록이 없으면(다시 읽었거나 파일이 없는 경우) 그대로 둡니다.
+     *
+     * @param previous {@link #load}로 얻은 변경 전 목록
+     * @param items 변경이 적용된 새 목록 (게시 후에는 바꾸지 않음)
+     */
+    public <T> void replace(String userKey, String fileName, List<T> previous, List<T> items) {
+        entries.computeIfPresent(cacheKey(userKey, fileName),
+            (key, entry) -> entry.items == previous ? new Entry(items, entry.version) : entry);
+    }
+
+    /**
+     * 캐시를 거치지 않고 Drive에서 목록 파일을 다시 읽습니다.
+     * 진행 중인 조회는 이전 버전을 읽고 있을 수 있으므로 함께 기다리지 않습니다.
+     *
+     * @return 목록, 파일이 없으면 null
+     */
+    public <T> List<T> reload(String userKey, String fileName, TypeReference<List<T>> type) throws IOException {
+        invalidate(userKey, fileName);
+        return fetch(cacheKey(userKey, fileName), userKey, fileName, type);
+    }
+
+    /**
+     * 파일의 캐시 항목을 제거합니다.
+     */
+    public void invalidate(String userKey, String fileName) {
+        entries.remove(cacheKey(userKey, fileName));
+    }
+
+    private void recordLookup(String fileName, String result) {
+        meterRegistry.counter("bookmark.cache.lookups", "cache", fileName, "result", result).increment();
+    }
+
+    private static String cacheKey(String userKey, String fileName) {
+        return userKey + "/" + fileName;
+    }
+
+    private static class Entry {
+        private final Object items;
+        private final String version;
+        private volatile long validatedAt;
+
+        private Entry(Object items, String version) {
+            this.items = items;
+            this.version = version;
+            this.validatedAt = System.currentTimeMillis();
+        }
+    }
+}
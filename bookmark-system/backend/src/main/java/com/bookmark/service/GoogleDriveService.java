@@ -2,61 +2,79 @@ package com.bookmark.service;
 
 import com.bookmark.config.GoogleDriveConfig;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
-import com.google.api.client.http.ByteArrayContent;
-import com.google.api.client.http.HttpTransport;
-import com.google.api.client.json.JsonFactory;
+import com.google.api.client.http.AbstractInputStreamContent;
 import com.google.api.services.drive.Drive;
+import com.google.api.services.drive.DriveRequest;
 import com.google.api.services.drive.model.File;
 import com.google.api.services.drive.model.FileList;
-import com.google.auth.http.HttpCredentialsAdapter;
-import com.google.auth.oauth2.AccessToken;
-import com.google.auth.oauth2.GoogleCredentials;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
-import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Google Drive API를 통해 사용자의 Drive에 파일을 읽고 쓰는 서비스
  * 
  * 이 서비스는 OAuth2로 인증된 사용자의 Google Drive에 접근하여
  * 북마크 데이터를 JSON 파일 형태로 저장하고 관리합니다.
+ * {@link StorageBackend}의 기본 구현이며, Drive API의 파일 모델과 업로드 콘텐츠는
+ * 이 클래스 안에서 {@link StoredFile}과 {@link StorageBackend.ContentWriter}로 바꿔 주고받습니다.
  * 
  * @author Bookmark System
  * @since 1.0
  */
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "bookmark.storage.backend", havingValue = "drive", matchIfMissing = true)
 @RequiredArgsConstructor
-public class GoogleDriveService {
+public class GoogleDriveService implements StorageBackend {
     
     /** Google Drive 관련 설정 (애플리케이션 이름, 폴더 이름 등) */
     private final GoogleDriveConfig driveConfig;
     
-    /** HTTP 통신을 위한 전송 객체 */
-    private final HttpTransport httpTransport;
+    /** 사용자별로 재사용되는 Drive 클라이언트 풀 */
+    private final DriveClientPool driveClientPool;
     
-    /** JSON 파싱 및 생성을 위한 팩토리 */
-    private final JsonFactory jsonFactory;
+    /** 사용자별 앱 폴더/파일 ID 레지스트리 (files.list 검색 생략용) */
+    private final DriveLocationRegistry locationRegistry;
     
-    /** OAuth2 인증된 클라이언트 정보를 관리하는 서비스 */
-    private final OAuth2AuthorizedClientService authorizedClientService;
+    /** 현재 요청 사용자의 키를 제공 */
+    private final UserContext userContext;
+    
+    /** 여러 파일을 동시에 다운로드할 때 사용하는 스레드 풀 */
+    private final ExecutorService driveReadExecutor;
+    
+    /** Drive 호출별 소요 시간과 전송 크기 기록 */
+    private final DriveMetrics driveMetrics;
+    
+    /** 같은 사용자의 동시 앱 폴더 검색을 하나로 합침 (폴더가 중복 생성되지 않도록) */
+    private final SingleFlight<String, String> folderLookups = new SingleFlight<>();
+    
+    /** 같은 파일의 동시 메타데이터 조회를 하나로 합침 */
+    private final SingleFlight<String, File> metadataLookups = new SingleFlight<>();
     
     /**
-     * 현재 인증된 사용자의 Google Drive 서비스 인스턴스를 생성합니다.
+     * 현재 인증된 사용자의 Google Drive 서비스 인스턴스를 반환합니다.
      * 
-     * Spring Security 컨텍스트에서 OAuth2 토큰을 가져와서
-     * Google Drive API 클라이언트를 초기화합니다.
+     * Spring Security 컨텍스트의 사용자로 클라이언트 풀에서 Drive 클라이언트를 가져옵니다.
+     * 토큰이 바뀌지 않았다면 이전에 생성한 인스턴스를 그대로 재사용합니다.
      * 
      * @return 인증된 Drive 서비스 인스턴스, 인증 실패시 null
      */
@@ -69,28 +87,14 @@ public class GoogleDriveService {
             if (authentication instanceof OAuth2AuthenticationToken) {
                 OAuth2AuthenticationToken oauthToken = (OAuth2AuthenticationToken) authentication;
                 
-                // 인증된 클라이언트 정보 로드 (Google OAuth2 토큰 포함)
-                OAuth2AuthorizedClient client = authorizedClientService.loadAuthorizedClient(
+                // 풀에서 클라이언트를 가져옴 (만료된 토큰은 풀 내부에서 갱신)
+                return driveClientPool.getClient(
                     oauthToken.getAuthorizedClientRegistrationId(),
                     oauthToken.getName()
                 );
-                
-                // 유효한 액세스 토큰이 있는 경우 Drive 서비스 생성
-                if (client != null && client.getAccessToken() != null) {
-                    String accessTokenValue = client.getAccessToken().getTokenValue();
-                    
-                    // Google 인증 객체 생성 (토큰 만료 시간을 1시간으로 설정)
-                    AccessToken accessToken = new AccessToken(accessTokenValue, new Date(System.currentTimeMillis() + 3600000));
-                    GoogleCredentials credentials = GoogleCredentials.create(accessToken);
-                    
-                    // Google Drive API 클라이언트 빌드
-                    return new Drive.Builder(httpTransport, jsonFactory, new HttpCredentialsAdapter(credentials))
-                        .setApplicationName(driveConfig.getApplicationName())
-                        .build();
-                }
             }
         } catch (Exception e) {
-            log.error("Failed to create Drive service", e);
+            log.error("Failed to get Drive service", e);
         }
         return null;
     }
@@ -104,6 +108,7 @@ public class GoogleDriveService {
      * @return 생성되거나 찾은 폴더의 Google Drive ID
      * @throws IOException Drive 서비스를 사용할 수 없거나 API 호출 실패시
      */
+    @Override
     public String createBookmarkFolder() throws IOException {
         // Drive 서비스 인스턴스 가져오기
         Drive service = getDriveService();
@@ -115,6 +120,7 @@ public class GoogleDriveService {
         String folderId = findFolderByName(driveConfig.getFolderName());
         if (folderId != null) {
             // 이미 존재하면 해당 폴더 ID 반환
+            locationRegistry.putFolderId(userContext.getCurrentUserKey(), folderId);
             return folderId;
         }
         
@@ -124,14 +130,35 @@ public class GoogleDriveService {
         fileMetadata.setMimeType("application/vnd.google-apps.folder"); // Google Drive 폴더 MIME 타입
         
         // Drive API를 통해 폴더 생성
-        File folder = service.files().create(fileMetadata)
-            .setFields("id") // 응답에서 ID 필드만 가져오기 (성능 최적화)
-            .execute();
+        File folder = driveMetrics.record(DriveMetrics.CREATE, driveConfig.getFolderName(),
+            () -> service.files().create(fileMetadata)
+                .setFields("id") // 응답에서 ID 필드만 가져오기 (성능 최적화)
+                .execute());
         
         log.info("Created folder with ID: {}", folder.getId());
+        locationRegistry.putFolderId(userContext.getCurrentUserKey(), folder.getId());
         return folder.getId();
     }
     
+    /**
+     * 현재 사용자의 북마크 폴더 ID를 반환합니다.
+     * 
+     * 레지스트리에 등록된 ID가 있으면 Drive를 조회하지 않고,
+     * 없으면 폴더를 검색(또는 생성)하여 등록한 뒤 반환합니다.
+     * 
+     * @return 북마크 폴더의 Google Drive ID
+     * @throws IOException Drive 서비스를 사용할 수 없거나 API 호출 실패시
+     */
+    @Override
+    public String getAppFolderId() throws IOException {
+        String userKey = userContext.getCurrentUserKey();
+        String folderId = locationRegistry.getFolderId(userKey);
+        if (folderId != null) {
+            return folderId;
+        }
+        return folderLookups.run(userKey, this::createBookmarkFolder);
+    }
+    
     /**
      * 이름으로 Google Drive 폴더를 검색합니다.
      * 
@@ -152,11 +179,11 @@ public class GoogleDriveService {
         String query = String.format("name='%s' and mimeType='application/vnd.google-apps.folder' and trashed=false", folderName);
         
         // Drive에서 조건에 맞는 파일 검색
-        FileList result = service.files().list()
+        FileList result = driveMetrics.record(DriveMetrics.LIST, folderName, () -> service.files().list()
             .setQ(query)                     // 검색 쿼리 설정
             .setSpaces("drive")              // 검색 공간 (drive, appDataFolder, photos)
             .setFields("files(id, name)")    // 필요한 필드만 가져오기 (성능 최적화)
-            .execute();
+            .execute());
         
         // 검색 결과에서 첫 번째 폴더의 ID 반환
         List<File> files = result.getFiles();
@@ -167,75 +194,288 @@ public class GoogleDriveService {
     }
     
     /**
-     * Google Drive 폴더에서 파일을 읽어 내용을 반환합니다.
+     * 폴더 내 파일의 메타데이터(ID, 버전, 수정 시간)만 조회합니다.
      * 
-     * @param fileName 읽을 파일 이름
+     * 파일 내용을 다운로드하지 않으므로 캐시된 데이터가 최신인지
+     * 확인하는 용도로 사용합니다.
+     * 같은 사용자의 같은 파일 조회가 진행 중이면 그 결과를 함께 받습니다.
+     * 
+     * @param fileName 조회할 파일 이름
      * @param folderId 파일이 있는 폴더의 ID
-     * @return 파일 내용 (UTF-8 문자열), 파일이 없으면 null
+     * @return 파일 메타데이터, 파일이 없으면 null
      * @throws IOException Drive API 호출 실패시
      */
-    public String readFile(String fileName, String folderId) throws IOException {
+    @Override
+    public StoredFile getFileMetadata(String fileName, String folderId) throws IOException {
+        String userKey = userContext.getCurrentUserKey();
+        String key = userKey != null ? userKey + "/" + folderId + "/" + fileName : null;
+        File file = metadataLookups.run(key, () -> fetchFileMetadata(userKey, fileName, folderId));
+        return file != null ? toStoredFile(file, fileName) : null;
+    }
+    
+    private File fetchFileMetadata(String userKey, String fileName, String folderId) throws IOException {
         Drive service = getDriveService();
         if (service == null) {
             throw new IOException("Drive service is not available");
         }
         
-        // 폴더 내에서 파일 검색
-        String fileId = findFileInFolder(fileName, folderId);
-        if (fileId == null) {
-            // 파일이 존재하지 않음
-            return null;
+        // 등록된 파일 ID가 있으면 검색 없이 ID로 바로 조회
+        String fileId = locationRegistry.getFileId(userKey, fileName);
+        if (fileId != null) {
+            try {
+                File file = driveMetrics.record(DriveMetrics.GET, fileName, () -> service.files().get(fileId)
+                    .setFields("id, name, version, modifiedTime, trashed")
+                    .execute());
+                if (!Boolean.TRUE.equals(file.getTrashed())) {
+                    return file;
+                }
+            } catch (GoogleJsonResponseException e) {
+                if (e.getStatusCode() != 404) {
+                    throw e;
+                }
+            }
+            // 삭제되었거나 휴지통으로 이동된 파일: 등록 정보를 지우고 다시 검색
+            locationRegistry.evictFileId(userKey, fileName);
         }
         
-        // 파일 내용을 메모리로 다운로드
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        service.files().get(fileId)
-            .executeMediaAndDownloadTo(outputStream); // 파일의 실제 내용을 다운로드
+        String query = String.format("name='%s' and '%s' in parents and trashed=false", fileName, folderId);
+        
+        FileList result = driveMetrics.record(DriveMetrics.LIST, fileName, () -> service.files().list()
+            .setQ(query)
+            .setSpaces("drive")
+            .setFields("files(id, name, version, modifiedTime)") // 버전 비교에 필요한 필드만 가져오기
+            .execute());
         
-        // UTF-8 인코딩으로 문자열 변환
-        return outputStream.toString("UTF-8");
+        List<File> files = result.getFiles();
+        if (files != null && !files.isEmpty()) {
+            locationRegistry.putFileId(userKey, fileName, files.get(0).getId());
+            return files.get(0);
+        }
+        return null;
     }
     
     /**
-     * Google Drive 폴더에 파일을 작성하거나 업데이트합니다.
+     * 파일 ID로 파일 내용을 읽는 스트림을 엽니다.
      * 
-     * 파일이 이미 존재하면 내용을 업데이트하고,
-     * 없으면 새로 생성합니다.
+     * 내용을 메모리에 모으지 않고 다운로드 응답 본문을 그대로 반환하므로,
+     * 호출자가 스트림을 읽으면서 바로 파싱할 수 있습니다. 호출자가 반드시 닫아야 합니다.
+     * 스트림은 여러 호출자가 나눠 읽을 수 없으므로 동시 조회 합치기는 파싱 결과를 가진 호출자가 담당합니다.
+     * 
+     * @param fileId 읽을 파일의 Google Drive ID
+     * @return 파일 내용 스트림
+     * @throws IOException Drive API 호출 실패시
+     */
+    @Override
+    public InputStream openFileById(String fileId) throws IOException {
+        Drive service = getDriveService();
+        if (service == null) {
+            throw new IOException("Drive service is not available");
+        }
+        
+        return driveMetrics.download(fileId, () -> service.files().get(fileId).executeMediaAsInputStream());
+    }
+    
+    /**
+     * 여러 파일을 동시에 다운로드하면서 각각 스트림으로 읽습니다.
+     * 
+     * Drive 클라이언트는 호출한 요청 스레드에서 가져와 작업 스레드들이 함께 사용합니다.
+     * 작업 스레드의 JFR 이벤트도 같은 요청 ID로 기록되도록 로그 컨텍스트(MDC)를 넘겨줍니다.
+     * 하나라도 실패하면 첫 번째 실패 예외를 던집니다.
+     * 
+     * @param fileIds 읽을 파일 ID 목록
+     * @param reader 파일 내용 스트림을 객체로 변환하는 함수
+     * @return fileIds와 같은 순서의 결과 목록
+     * @throws IOException Drive API 호출 또는 변환 실패시
+     */
+    @Override
+    public <T> List<T> readFilesById(List<String> fileIds, StreamReader<T> reader) throws IOException {
+        Drive service = getDriveService();
+        if (service == null) {
+            throw new IOException("Drive service is not available");
+        }
+        
+        Map<String, String> logContext = MDC.getCopyOfContextMap();
+        List<Future<T>> futures = new ArrayList<>(fileIds.size());
+        for (String fileId : fileIds) {
+            futures.add(driveReadExecutor.submit(() -> {
+                if (logContext != null) {
+                    MDC.setContextMap(logContext);
+                }
+                try (InputStream content = driveMetrics.download(fileId,
+                        () -> service.files().get(fileId).executeMediaAsInputStream())) {
+                    return reader.read(content);
+                } finally {
+                    MDC.clear();
+                }
+            }));
+        }
+        
+        List<T> results = new ArrayList<>(fileIds.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IOException("Interrupted while reading files", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to read files", e.getCause());
+        }
+        return results;
+    }
+    
+    /**
+     * Drive의 현재 파일 버전이 기대한 버전과 같을 때만 파일을 작성합니다.
+     * 
+     * Drive API v3의 파일 업데이트는 조건부 요청(If-Match)을 지원하지 않으므로
+     * 업로드 직전에 버전을 확인합니다. 확인과 업로드 사이의 짧은 구간은 보호되지 않습니다.
+     * 
+     * @param fileName 작성할 파일 이름
+     * @param content 파일에 저장할 내용
+     * @param folderId 파일을 저장할 폴더의 ID
+     * @param expectedVersion 파일을 읽을 때의 버전, null이면 확인하지 않음
+     * @return 저장된 파일의 메타데이터 (ID, 버전, 수정 시간)
+     * @throws DriveWriteConflictException 그 사이 다른 곳에서 파일을 저장한 경우
+     * @throws IOException Drive API 호출 실패시
+     */
+    @Override
+    public StoredFile writeFile(String fileName, ContentWriter content, String folderId,
+                                String expectedVersion) throws IOException {
+        checkVersion(fileName, folderId, expectedVersion);
+        return writeFile(fileName, content, folderId);
+    }
+    
+    /**
+     * Drive의 현재 파일 버전이 기대한 버전과 같은지 확인합니다.
+     * 
+     * @param fileName 확인할 파일 이름
+     * @param folderId 파일이 있는 폴더의 ID
+     * @param expectedVersion 파일을 읽을 때의 버전, null이면 확인하지 않음
+     * @throws DriveWriteConflictException 버전이 다르거나 파일이 삭제된 경우
+     */
+    @Override
+    public void checkVersion(String fileName, String folderId, String expectedVersion) throws IOException {
+        if (expectedVersion == null) {
+            return;
+        }
+        // 진행 중인 조회는 이전 버전을 보고 있을 수 있으므로 합치지 않고 새로 조회
+        File current = fetchFileMetadata(userContext.getCurrentUserKey(), fileName, folderId);
+        String actualVersion = current != null ? versionOf(current) : null;
+        if (!expectedVersion.equals(actualVersion)) {
+            throw new DriveWriteConflictException(fileName, expectedVersion, actualVersion);
+        }
+    }
+    
+    /**
+     * 파일을 작성하거나 업데이트합니다.
+     * 
+     * 내용은 한 번의 요청으로 직접 업로드되므로 {@link JsonStreamingContent}처럼
+     * 길이를 모르는 스트리밍 내용도 메모리 사본 없이 전송됩니다.
      * 
      * @param fileName 작성할 파일 이름
-     * @param content 파일에 저장할 내용 (JSON 문자열)
+     * @param content 파일에 저장할 내용
      * @param folderId 파일을 저장할 폴더의 ID
+     * @return 저장된 파일의 메타데이터 (ID, 버전, 수정 시간)
      * @throws IOException Drive API 호출 실패시
      */
-    public void writeFile(String fileName, String content, String folderId) throws IOException {
+    @Override
+    public StoredFile writeFile(String fileName, ContentWriter content, String folderId) throws IOException {
         Drive service = getDriveService();
         if (service == null) {
             throw new IOException("Drive service is not available");
         }
         
-        // 동일한 이름의 파일이 이미 존재하는지 확인
-        String fileId = findFileInFolder(fileName, folderId);
+        AbstractInputStreamContent mediaContent = new UploadContent(content);
+        String userKey = userContext.getCurrentUserKey();
         
-        // 파일 내용을 바이트 배열로 변환 (JSON 타입으로 설정)
-        ByteArrayContent mediaContent = new ByteArrayContent("application/json", content.getBytes("UTF-8"));
+        // 동일한 이름의 파일이 이미 존재하는지 확인
+        String fileId = resolveFileId(fileName, folderId);
         
         if (fileId != null) {
-            // 기존 파일이 있으면 내용 업데이트
-            File file = new File();
-            service.files().update(fileId, file, mediaContent).execute();
-            log.info("Updated file: {}", fileName);
-        } else {
-            // 새 파일 생성
-            File fileMetadata = new File();
-            fileMetadata.setName(fileName);
-            fileMetadata.setParents(Collections.singletonList(folderId)); // 부모 폴더 설정
-            
+            try {
+                // 기존 파일이 있으면 내용 업데이트
+                File file = new File();
+                File updated = driveMetrics.upload(DriveMetrics.UPDATE, fileName, mediaContent,
+                    upload -> executeUpload(service.files().update(fileId, file, upload)
+                        .setFields("id, version, modifiedTime"))); // 캐시 갱신에 필요한 버전 정보
+                log.info("Updated file: {}", fileName);
+                return toStoredFile(updated, fileName);
+            } catch (GoogleJsonResponseException e) {
+                if (e.getStatusCode() != 404) {
+                    throw e;
+                }
+                // 등록된 파일이 삭제됨: 등록 정보를 지우고 새로 생성
+                locationRegistry.evictFileId(userKey, fileName);
+                String foundId = findFileInFolder(fileName, folderId);
+                if (foundId != null) {
+                    locationRegistry.putFileId(userKey, fileName, foundId);
+                    File updated = driveMetrics.upload(DriveMetrics.UPDATE, fileName, mediaContent,
+                        upload -> executeUpload(service.files().update(foundId, new File(), upload)
+                            .setFields("id, version, modifiedTime")));
+                    log.info("Updated file: {}", fileName);
+                    return toStoredFile(updated, fileName);
+                }
+            }
+        }
+        
+        // 새 파일 생성
+        File fileMetadata = new File();
+        fileMetadata.setName(fileName);
+        fileMetadata.setParents(Collections.singletonList(folderId)); // 부모 폴더 설정
+        
+        try {
             // Drive API를 통해 파일 생성
-            service.files().create(fileMetadata, mediaContent)
-                .setFields("id") // 응답에서 ID만 가져오기
-                .execute();
+            File created = driveMetrics.upload(DriveMetrics.CREATE, fileName, mediaContent,
+                upload -> executeUpload(service.files().create(fileMetadata, upload)
+                    .setFields("id, version, modifiedTime"))); // 응답에서 ID와 버전 정보만 가져오기
+            locationRegistry.putFileId(userKey, fileName, created.getId());
             log.info("Created file: {}", fileName);
+            return toStoredFile(created, fileName);
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() == 404) {
+                // 부모 폴더가 삭제됨: 다음 요청에서 폴더부터 다시 찾도록 전체 위치 정보 제거
+                locationRegistry.evict(userKey);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * 미디어 업로드 요청을 직접 업로드(메타데이터와 내용을 한 번의 multipart 요청)로 실행합니다.
+     * 재개 가능 업로드와 달리 세션 생성 요청이 없고, 콘텐츠를 한 번만 순서대로 씁니다.
+     */
+    private static <T> T executeUpload(DriveRequest<T> request) throws IOException {
+        if (request.getMediaHttpUploader() != null) {
+            request.getMediaHttpUploader().setDirectUploadEnabled(true);
         }
+        return request.execute();
+    }
+    
+    /**
+     * 파일 ID를 레지스트리에서 찾고, 없으면 폴더를 검색하여 등록합니다.
+     * 
+     * @param fileName 찾을 파일 이름
+     * @param folderId 파일이 있는 폴더의 ID
+     * @return 파일 ID, 파일이 없으면 null
+     * @throws IOException Drive API 호출 실패시
+     */
+    private String resolveFileId(String fileName, String folderId) throws IOException {
+        String userKey = userContext.getCurrentUserKey();
+        String fileId = locationRegistry.getFileId(userKey, fileName);
+        if (fileId != null) {
+            return fileId;
+        }
+        
+        fileId = findFileInFolder(fileName, folderId);
+        if (fileId != null) {
+            locationRegistry.putFileId(userKey, fileName, fileId);
+        }
+        return fileId;
     }
     
     /**
@@ -259,11 +499,11 @@ public class GoogleDriveService {
         String query = String.format("name='%s' and '%s' in parents and trashed=false", fileName, folderId);
         
         // Drive에서 파일 검색
-        FileList result = service.files().list()
+        FileList result = driveMetrics.record(DriveMetrics.LIST, fileName, () -> service.files().list()
             .setQ(query)                   // 검색 쿼리
             .setSpaces("drive")            // 검색 공간
             .setFields("files(id, name)")  // 필요한 필드만 가져오기
-            .execute();
+            .execute());
         
         // 검색 결과에서 첫 번째 파일의 ID 반환
         List<File> files = result.getFiles();
@@ -280,6 +520,7 @@ public class GoogleDriveService {
      * @param folderId 파일이 있는 폴더의 ID
      * @throws IOException Drive API 호출 실패시
      */
+    @Override
     public void deleteFile(String fileName, String folderId) throws IOException {
         Drive service = getDriveService();
         if (service == null) {
@@ -287,11 +528,18 @@ public class GoogleDriveService {
         }
         
         // 삭제할 파일 검색
-        String fileId = findFileInFolder(fileName, folderId);
+        String fileId = resolveFileId(fileName, folderId);
         if (fileId != null) {
-            // Drive API를 통해 파일 삭제
-            service.files().delete(fileId).execute();
-            log.info("Deleted file: {}", fileName);
+            try {
+                // Drive API를 통해 파일 삭제
+                driveMetrics.record(DriveMetrics.DELETE, fileName, () -> service.files().delete(fileId).execute());
+                log.info("Deleted file: {}", fileName);
+            } catch (GoogleJsonResponseException e) {
+                if (e.getStatusCode() != 404) {
+                    throw e;
+                }
+            }
+            locationRegistry.evictFileId(userContext.getCurrentUserKey(), fileName);
         }
         // 파일이 없는 경우는 무시 (이미 삭제된 것으로 간주)
     }
@@ -300,10 +548,11 @@ public class GoogleDriveService {
      * 특정 폴더 내의 모든 파일 목록을 조회합니다.
      * 
      * @param folderId 조회할 폴더의 ID
-     * @return 폴더 내 파일 목록 (각 파일의 ID, 이름, 생성시간, 수정시간, 크기 포함)
+     * @return 폴더 내 파일 목록 (각 파일의 ID, 이름, 버전)
      * @throws IOException Drive API 호출 실패시
      */
-    public List<File> listFilesInFolder(String folderId) throws IOException {
+    @Override
+    public List<StoredFile> listFilesInFolder(String folderId) throws IOException {
         Drive service = getDriveService();
         if (service == null) {
             throw new IOException("Drive service is not available");
@@ -313,12 +562,76 @@ public class GoogleDriveService {
         String query = String.format("'%s' in parents and trashed=false", folderId);
         
         // Drive API를 통해 파일 목록 조회
-        FileList result = service.files().list()
+        FileList result = driveMetrics.record(DriveMetrics.LIST, folderId, () -> service.files().list()
             .setQ(query)                                              // 검색 쿼리
             .setSpaces("drive")                                       // 검색 공간
-            .setFields("files(id, name, createdTime, modifiedTime, size)") // 조회할 파일 정보 필드
-            .execute();
+            .setFields("files(id, name, version, modifiedTime)") // 조회할 파일 정보 필드
+            .execute());
+        
+        List<StoredFile> files = new ArrayList<>();
+        if (result.getFiles() != null) {
+            for (File file : result.getFiles()) {
+                files.add(toStoredFile(file, file.getName()));
+            }
+        }
+        return files;
+    }
+    
+    /**
+     * Drive 파일 메타데이터를 저장소 공통 메타데이터로 바꿉니다.
+     * 
+     * @param file Drive 파일 메타데이터
+     * @param fileName 파일 이름 (업로드 응답에는 이름이 없으므로 요청한 이름)
+     */
+    private static StoredFile toStoredFile(File file, String fileName) {
+        return new StoredFile(file.getId(), fileName, versionOf(file));
+    }
+    
+    /**
+     * 캐시 비교에 사용하는 파일 버전 (version, 없으면 수정 시간)
+     */
+    private static String versionOf(File file) {
+        if (file.getVersion() != null) {
+            return file.getVersion().toString();
+        }
+        return String.valueOf(file.getModifiedTime());
+    }
+    
+    /**
+     * 파일 내용을 쓰는 함수를 Drive 업로드 콘텐츠로 감쌉니다.
+     * 
+     * 직접 업로드({@link #executeUpload})는 {@link #writeTo}로 요청 본문에 바로 쓰며,
+     * 재개 가능 업로드처럼 {@link #getInputStream()}을 요구하는 경로에서는 메모리에 쓴 사본을 사용합니다.
+     */
+    private static final class UploadContent extends AbstractInputStreamContent {
         
-        return result.getFiles();
+        private final ContentWriter writer;
+        
+        private UploadContent(ContentWriter writer) {
+            super("application/json");
+            this.writer = writer;
+        }
+        
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            writer.writeTo(out);
+        }
+        
+        @Override
+        public InputStream getInputStream() throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            writer.writeTo(buffer);
+            return new ByteArrayInputStream(buffer.toByteArray());
+        }
+        
+        @Override
+        public long getLength() {
+            return -1;
+        }
+        
+        @Override
+        public boolean retrySupported() {
+            return true;
+        }
     }
 }
\ No newline at end of file
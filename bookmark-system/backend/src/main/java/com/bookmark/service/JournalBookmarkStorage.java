@@ -0,0 +1,455 @@
+package com.bookmark.service;
+
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import com.bookmark.model.BookmarkJournal;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 변경 시 전체 데이터 대신 바뀐 북마크만 저널 파일에 덧붙이는 방식
+ *
+ * 앱 폴더 구조:
+ * - bookmarks-journal.json: 스냅샷 파일 ID/이름/버전과 그 이후의 변경 목록 (루트 파일)
+ * - bookmarks-snapshot-XXXXXXXX.json: 기준 스냅샷 (단일 파일 방식과 같은 형식, XXXXXXXX는 쓸 때마다 새로 만드는 값)
+ *
+ * 저장할 때는 저널 파일만 업로드하므로 업로드 크기가 전체 북마크 수와 무관합니다.
+ * 저널이 저장 횟수 또는 크기 임계값을 넘으면 백그라운드에서 압축하여 새 스냅샷에 합치고 저널을 비웁니다.
+ * 읽을 때는 스냅샷에 저널의 변경을 순서대로 다시 반영합니다.
+ *
+ * 스냅샷 파일은 한 번 쓴 뒤 바뀌지 않고, 저널은 항상 마지막으로 읽은 버전을 조건으로 씁니다.
+ * 따라서 전체 저장이나 압축이 충돌하더라도 현재 저널이 가리키는 스냅샷은 그대로이고,
+ * 다른 서버가 그 사이 덧붙인 변경을 덮어쓰지 않습니다.
+ * 교체된 스냅샷은 이전 저널을 읽는 중인 요청을 위해 남겨 두었다가 다음에 스냅샷을 바꿀 때 삭제합니다.
+ *
+ * 변경은 북마크 단위의 덮어쓰기/삭제이므로 몇 번을 다시 반영해도 같은 결과를 내며,
+ * 압축 중 스냅샷에 이미 반영된 변경이 저널에 남아 있어도 결과가 달라지지 않습니다.
+ *
+ * 저널이 없고 기존 bookmarks.json이 있으면 그 파일을 그대로 읽고, 첫 저장에서 그 파일을 스냅샷으로 삼는 저널을 만듭니다.
+ * 조회는 아무것도 쓰지 않으며, 기존 파일은 백업으로 그대로 둡니다.
+ *
+ * 저장할 때마다 저널 전체를 다시 올리므로, 저널이 커지기 전에 자주 압축하도록 임계값을 작게 둡니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "bookmark.storage.layout", havingValue = "journal")
+@RequiredArgsConstructor
+public class JournalBookmarkStorage implements BookmarkStorage {
+
+    static final String JOURNAL_FILE = "bookmarks-journal.json";
+
+    /** 아직 저널이 없는 bookmarks.json을 루트 파일로 반환할 때 버전 앞에 붙임 (저널 버전과 구분) */
+    private static final String LEGACY_VERSION_PREFIX = "legacy:";
+
+    private final StorageBackend backend;
+    private final BookmarkJsonCodec json;
+    private final UserContext userContext;
+
+    @Value("${bookmark.storage.journal.compact-operations:50}")
+    private int compactOperations;
+
+    @Value("${bookmark.storage.journal.compact-bytes:32768}")
+    private long compactBytes;
+
+    /** 사용자별 마지막으로 읽거나 쓴 저널 상태 */
+    private final Map<String, JournalState> journals = new ConcurrentHashMap<>();
+
+    private final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public StoredFile head() throws IOException {
+        String folderId = backend.getAppFolderId();
+        StoredFile journal = backend.getFileMetadata(JOURNAL_FILE, folderId);
+        if (journal != null) {
+            return journal;
+        }
+
+        // 저널을 만들기 전의 데이터: 첫 저장에서 저널 생성
+        StoredFile snapshot = backend.getFileMetadata(SingleFileBookmarkStorage.BOOKMARKS_FILE, folderId);
+        if (snapshot == null) {
+            return null;
+        }
+        return new StoredFile(snapshot.getId(), snapshot.getName(), LEGACY_VERSION_PREFIX + snapshot.getVersion());
+    }
+
+    @Override
+    public BookmarkData read(StoredFile head) throws IOException {
+        JournalState state = stateFor(requireUserKey());
+        if (head.getVersion().startsWith(LEGACY_VERSION_PREFIX)) {
+            synchronized (state) {
+                // 저장할 때 현재 저널을 다시 확인하도록 상태를 비움
+                state.journal = null;
+                state.version = null;
+            }
+            try (InputStream content = backend.openFileById(head.getId())) {
+                return json.read(content, BookmarkData.class);
+            }
+        }
+
+        String folderId = backend.getAppFolderId();
+        BookmarkJournal journal = readJournal(head);
+        BookmarkData snapshot;
+        try {
+            snapshot = readSnapshot(journal);
+        } catch (IOException e) {
+            // 읽는 사이 두 번의 압축이 지나 이전 스냅샷이 삭제되었으면 최신 저널로 한 번 다시 읽음
+            StoredFile latest = backend.getFileMetadata(JOURNAL_FILE, folderId);
+            if (latest == null || latest.getVersion().equals(head.getVersion())) {
+                throw e;
+            }
+            log.debug("Re-reading bookmark snapshot from a newer journal: {}", e.getMessage());
+            head = latest;
+            journal = readJournal(latest);
+            snapshot = readSnapshot(journal);
+        }
+
+        synchronized (state) {
+            state.journal = journal;
+            state.bytes = sizeOf(journal);
+            state.version = head.getVersion();
+        }
+        return replay(snapshot, journal.getEntries());
+    }
+
+    @Override
+    public StoredFile write(BookmarkData data, BookmarkChanges changes, String expectedVersion) throws IOException {
+        String userKey = requireUserKey();
+        String folderId = backend.getAppFolderId();
+        JournalState state = stateFor(userKey);
+
+        StoredFile written;
+        boolean compact;
+        synchronized (state) {
+            String journalVersion = prepare(state, expectedVersion, folderId);
+
+            if (changes == null) {
+                // 전체 저장: 새 스냅샷을 쓰고 그 스냅샷을 가리키는 빈 저널로 교체
+                String fileName = snapshotFileName();
+                StoredFile snapshot = backend.writeFile(fileName, json.content(data), folderId);
+                return commit(state, withSnapshot(state.journal, snapshot, fileName, new ArrayList<>()),
+                    journalVersion, folderId);
+            }
+
+            BookmarkJournal.Entry entry = BookmarkJournal.Entry.builder()
+                .timestamp(LocalDateTime.now())
+                .saved(new ArrayList<>(changes.getSavedBookmarks()))
+                .deleted(new ArrayList<>(changes.getDeletedBookmarkIds()))
+                .build();
+            // 이후 메모리의 객체가 바뀌어도 기록된 변경은 그대로 남도록 복사
+            byte[] record = BookmarkJson.OBJECT_MAPPER.writeValueAsBytes(entry);
+            List<BookmarkJournal.Entry> entries = new ArrayList<>(state.journal.getEntries());
+            entries.add(BookmarkJson.OBJECT_MAPPER.readValue(record, BookmarkJournal.Entry.class));
+            written = commit(state, state.journal.toBuilder().entries(entries).build(), journalVersion, folderId);
+
+            compact = !state.compacting
+                && (state.journal.getEntries().size() >= compactOperations || state.bytes >= compactBytes);
+            if (compact) {
+                state.compacting = true;
+            }
+        }
+
+        if (compact) {
+            // 백그라운드 스레드에서도 같은 사용자의 Drive 클라이언트를 쓰도록 인증 정보 전달
+            compactionExecutor.execute(new DelegatingSecurityContextRunnable(() -> compact(userKey, state)));
+        }
+        return written;
+    }
+
+    /**
+     * 호출자가 읽은 저널에 이어 쓰도록 상태를 맞추고, 저널을 쓸 때 조건으로 삼을 버전을 반환합니다.
+     *
+     * @return 저널의 기대 버전, 저널을 새로 만들면 null
+     */
+    private String prepare(JournalState state, String expectedVersion, String folderId) throws IOException {
+        if (expectedVersion != null && expectedVersion.startsWith(LEGACY_VERSION_PREFIX)) {
+            // 저널이 없을 때 bookmarks.json을 읽은 뒤의 첫 저장: 그 파일이 그대로이고 아직 아무도 저널을 만들지 않았을 때만 씀
+            String snapshotVersion = expectedVersion.substring(LEGACY_VERSION_PREFIX.length());
+            backend.checkVersion(SingleFileBookmarkStorage.BOOKMARKS_FILE, folderId, snapshotVersion);
+            StoredFile existing = backend.getFileMetadata(JOURNAL_FILE, folderId);
+            if (existing != null) {
+                throw new DriveWriteConflictException(JOURNAL_FILE, expectedVersion, existing.getVersion());
+            }
+            StoredFile snapshot = backend.getFileMetadata(SingleFileBookmarkStorage.BOOKMARKS_FILE, folderId);
+            setJournal(state, legacyJournal(snapshot), null);
+            return null;
+        }
+
+        String version = ownVersion(state, expectedVersion);
+        if (state.journal == null || state.version == null || !state.version.equals(version)) {
+            // 마지막으로 본 저널이 호출자가 읽은 것과 다르면 현재 저널을 다시 읽어 그 위에 씀 (버전이 다르면 쓸 때 충돌)
+            StoredFile head = backend.getFileMetadata(JOURNAL_FILE, folderId);
+            if (head != null) {
+                setJournal(state, readJournal(head), head.getVersion());
+            } else {
+                StoredFile snapshot = backend.getFileMetadata(SingleFileBookmarkStorage.BOOKMARKS_FILE, folderId);
+                setJournal(state, snapshot != null ? legacyJournal(snapshot) : BookmarkJournal.builder().build(), null);
+            }
+        }
+        return version != null ? version : state.version;
+    }
+
+    /**
+     * 저널을 읽었을 때의 버전을 조건으로 저널을 쓰고 상태를 갱신합니다.
+     * 스냅샷이 바뀌었으면 이전 저널이 교체한 스냅샷을 삭제하고, 충돌하면 이번에 쓴 스냅샷을 삭제합니다.
+     */
+    private StoredFile commit(JournalState state, BookmarkJournal next, String expectedVersion,
+                              String folderId) throws IOException {
+        BookmarkJournal previous = state.journal;
+        boolean newSnapshot = !Objects.equals(next.getSnapshotFileId(), previous.getSnapshotFileId());
+        StoredFile written;
+        try {
+            written = backend.writeFile(JOURNAL_FILE, json.content(next), folderId, expectedVersion);
+        } catch (IOException | RuntimeException e) {
+            // 다른 곳에서 저널을 바꾸었거나 결과를 알 수 없음: 다음 저장에서 현재 저널을 다시 읽음
+            state.journal = null;
+            state.version = null;
+            if (newSnapshot && e instanceof DriveWriteConflictException) {
+                // 저널을 쓰지 않았으므로 이번에 쓴 스냅샷은 아무도 가리키지 않음
+                deleteSnapshots(List.of(next.getSnapshotFileName()), folderId);
+            }
+            throw e;
+        }
+        setJournal(state, next, written.getVersion());
+
+        // 이전에 교체된 스냅샷 정리 (실패해도 데이터에는 영향 없음)
+        if (newSnapshot) {
+            deleteSnapshots(previous.getRetired(), folderId);
+        }
+        return written;
+    }
+
+    /**
+     * 저널의 변경을 스냅샷에 합쳐 새 스냅샷 파일을 쓰고, 합친 변경을 뺀 저널로 교체합니다.
+     * 메모리의 데이터를 쓰지 않고 저장된 스냅샷에 변경을 다시 반영하여 만들며,
+     * 스냅샷을 만드는 동안에는 잠금을 잡지 않으므로 그 사이의 저장은 계속 저널에 덧붙습니다.
+     * 저널은 마지막으로 읽거나 쓴 버전을 조건으로 쓰므로, 그 사이 다른 곳에서 저널을 바꾸었으면 압축을 버립니다.
+     */
+    private void compact(String userKey, JournalState state) {
+        try {
+            String folderId = backend.getAppFolderId();
+            BookmarkJournal base;
+            synchronized (state) {
+                base = state.journal;
+            }
+            if (base == null) {
+                return;
+            }
+            List<BookmarkJournal.Entry> folded = base.getEntries();
+
+            BookmarkData data = replay(readSnapshot(base), folded);
+            String fileName = snapshotFileName();
+            StoredFile snapshot = backend.writeFile(fileName, json.content(data), folderId);
+
+            synchronized (state) {
+                BookmarkJournal current = state.journal;
+                if (current == null || state.version == null
+                        || !Objects.equals(current.getSnapshotFileId(), base.getSnapshotFileId())
+                        || current.getEntries().size() < folded.size()) {
+                    // 그 사이 저널을 다시 읽었거나 스냅샷이 바뀜: 저널은 그대로 두고 다음 압축에 맡김
+                    deleteSnapshots(List.of(fileName), folderId);
+                    return;
+                }
+                // 압축하는 동안 덧붙은 변경만 남김
+                List<BookmarkJournal.Entry> entries = current.getEntries();
+                List<BookmarkJournal.Entry> remaining = new ArrayList<>(entries.subList(folded.size(), entries.size()));
+                // 압축 전 버전을 기대하는 다음 저장이 자신의 압축을 충돌로 보지 않도록 기록
+                String before = state.version;
+                commit(state, withSnapshot(current, snapshot, fileName, remaining), before, folderId);
+                state.compactedFrom = before;
+                state.compactedTo = state.version;
+            }
+            log.info("Compacted {} journal entries into snapshot: user={}", folded.size(), userKey);
+        } catch (IOException | RuntimeException e) {
+            // 저널은 그대로 남아 있으므로 다음 임계값 도달 시 다시 시도
+            log.error("Failed to compact journal: user={}", userKey, e);
+        } finally {
+            synchronized (state) {
+                state.compacting = false;
+            }
+        }
+    }
+
+    /**
+     * 저널이 가리키는 스냅샷을 읽습니다.
+     * 스냅샷 파일은 한 번 쓴 뒤 바뀌지 않으므로 버전을 따로 확인하지 않으며, 삭제되었으면 여는 단계에서 실패합니다.
+     */
+    private BookmarkData readSnapshot(BookmarkJournal journal) throws IOException {
+        if (journal.getSnapshotFileId() == null) {
+            return BookmarkData.builder().build();
+        }
+        try (InputStream content = backend.openFileById(journal.getSnapshotFileId())) {
+            return json.read(content, BookmarkData.class);
+        }
+    }
+
+    private BookmarkJournal readJournal(StoredFile head) throws IOException {
+        try (InputStream content = backend.openFileById(head.getId())) {
+            return json.read(content, BookmarkJournal.class);
+        }
+    }
+
+    /**
+     * 스냅샷에 변경 목록을 순서대로 반영합니다.
+     */
+    private static BookmarkData replay(BookmarkData data, List<BookmarkJournal.Entry> entries) {
+        if (entries.isEmpty()) {
+            return data;
+        }
+
+        // ID 기준으로 덮어쓰고 지우되, 기존 북마크의 순서는 유지
+        Map<String, Bookmark> byId = new LinkedHashMap<>();
+        List<Bookmark> withoutId = new ArrayList<>();
+        for (Bookmark bookmark : data.getBookmarks()) {
+            if (bookmark.getId() == null) {
+                withoutId.add(bookmark);
+            } else {
+                byId.put(bookmark.getId(), bookmark);
+            }
+        }
+        for (BookmarkJournal.Entry entry : entries) {
+            for (Bookmark bookmark : entry.getSaved()) {
+                // 기록된 변경을 변경하지 않도록 복사본을 반영
+                byId.put(bookmark.getId(), BookmarkJson.OBJECT_MAPPER.convertValue(bookmark, Bookmark.class));
+            }
+            for (String id : entry.getDeleted()) {
+                byId.remove(id);
+            }
+        }
+        List<Bookmark> bookmarks = new ArrayList<>(withoutId);
+        bookmarks.addAll(byId.values());
+        data.setBookmarks(bookmarks);
+        return data;
+    }
+
+    private static long sizeOf(BookmarkJournal journal) throws IOException {
+        return BookmarkJson.OBJECT_MAPPER.writeValueAsBytes(journal.getEntries()).length;
+    }
+
+    private static void setJournal(JournalState state, BookmarkJournal journal, String version) throws IOException {
+        state.journal = journal;
+        state.bytes = sizeOf(journal);
+        state.version = version;
+    }
+
+    /**
+     * 새 스냅샷을 가리키는 저널 (이전 스냅샷은 교체 목록에 넣고, 기존 bookmarks.json은 백업으로 남김)
+     */
+    private static BookmarkJournal withSnapshot(BookmarkJournal previous, StoredFile snapshot, String fileName,
+                                                List<BookmarkJournal.Entry> entries) {
+        List<String> retired = new ArrayList<>();
+        if (previous.getSnapshotFileId() != null
+                && !SingleFileBookmarkStorage.BOOKMARKS_FILE.equals(snapshotFileNameOf(previous))) {
+            retired.add(snapshotFileNameOf(previous));
+        }
+        return BookmarkJournal.builder()
+            .snapshotFileId(snapshot.getId())
+            .snapshotFileName(fileName)
+            .snapshotVersion(snapshot.getVersion())
+            .entries(entries)
+            .retired(retired)
+            .build();
+    }
+
+    /**
+     * 기존 bookmarks.json을 스냅샷으로 삼는 빈 저널
+     */
+    private static BookmarkJournal legacyJournal(StoredFile snapshot) throws IOException {
+        if (snapshot == null) {
+            // 확인한 뒤 그 사이 삭제됨
+            throw new DriveWriteConflictException(SingleFileBookmarkStorage.BOOKMARKS_FILE, null, null);
+        }
+        return BookmarkJournal.builder()
+            .snapshotFileId(snapshot.getId())
+            .snapshotFileName(SingleFileBookmarkStorage.BOOKMARKS_FILE)
+            .snapshotVersion(snapshot.getVersion())
+            .build();
+    }
+
+    private void deleteSnapshots(List<String> fileNames, String folderId) {
+        for (String fileName : fileNames) {
+            try {
+                backend.deleteFile(fileName, folderId);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to delete unused bookmark snapshot: {}", fileName, e);
+            }
+        }
+    }
+
+    private static String snapshotFileName() {
+        return "bookmarks-snapshot-" + UUID.randomUUID().toString().substring(0, 8) + ".json";
+    }
+
+    /**
+     * 스냅샷 파일 이름 (이름이 없는 이전 저널은 bookmarks.json을 스냅샷으로 사용)
+     */
+    private static String snapshotFileNameOf(BookmarkJournal journal) {
+        return journal.getSnapshotFileName() != null
+            ? journal.getSnapshotFileName()
+            : SingleFileBookmarkStorage.BOOKMARKS_FILE;
+    }
+
+    /**
+     * 호출자가 기대하는 저널 버전을, 그 이후 이 서버의 압축만 있었다면 압축 후 버전으로 바꿉니다.
+     */
+    private static String ownVersion(JournalState state, String expectedVersion) {
+        if (expectedVersion != null && expectedVersion.equals(state.compactedFrom)) {
+            return state.compactedTo;
+        }
+        return expectedVersion;
+    }
+
+    private JournalState stateFor(String userKey) {
+        return journals.computeIfAbsent(userKey, key -> new JournalState());
+    }
+
+    private String requireUserKey() throws IOException {
+        String userKey = userContext.getCurrentUserKey();
+        if (userKey == null) {
+            throw new IOException("User is not authenticated");
+        }
+        return userKey;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactionExecutor.shutdown();
+    }
+
+    /**
+     * 사용자별 저널 상태 (이 객체로 저널 쓰기와 압축을 직렬화)
+     */
+    private static class JournalState {
+        private BookmarkJournal journal;
+        private long bytes;
+        private boolean compacting;
+
+        /** 이 서버가 마지막으로 읽거나 쓴 저널 파일 버전 (저널을 아직 만들지 않았거나 다시 읽어야 하면 null) */
+        private String version;
+
+        /** 마지막 압축 직전과 직후의 저널 파일 버전 */
+        private String compactedFrom;
+        private String compactedTo;
+    }
+}
@@ -0,0 +1,61 @@
+package com.bookmark.service;
+
+import com.bookmark.jfr.JsonCodecEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 객체를 JSON으로 직렬화하면서 바로 저장소의 출력 스트림에 쓰는 파일 내용
+ *
+ * JSON 문자열이나 바이트 배열 사본을 만들지 않고 Jackson 제너레이터의 출력을
+ * 전송 스트림(Drive 업로드 요청 본문, 로컬 임시 파일)으로 흘려보냅니다.
+ * 길이를 미리 알 수 없으므로 Drive에는 청크 전송으로 업로드되며,
+ * 재시도 시에는 같은 객체를 다시 직렬화합니다.
+ * 직렬화할 때마다 JFR {@link JsonCodecEvent}를 기록합니다.
+ */
+public class JsonStreamingContent implements StorageBackend.ContentWriter {
+
+    private final ObjectWriter writer;
+    private final Object value;
+    private final Timer timer;
+
+    /**
+     * @param writer 직렬화에 사용할 ObjectWriter
+     * @param value 저장할 객체
+     */
+    public JsonStreamingContent(ObjectWriter writer, Object value) {
+        this(writer, value, null);
+    }
+
+    /**
+     * @param writer 직렬화에 사용할 ObjectWriter
+     * @param value 저장할 객체
+     * @param timer 직렬화할 때마다 소요 시간을 기록할 타이머, null이면 기록하지 않음
+     */
+    public JsonStreamingContent(ObjectWriter writer, Object value, Timer timer) {
+        // 출력 스트림은 저장소가 닫으므로 직렬화가 끝나도 닫지 않음
+        this.writer = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.value = value;
+        this.timer = timer;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        JsonCodecEvent event = JsonCodecEvent.start(JsonCodecEvent.SERIALIZE, value.getClass().getSimpleName());
+        long start = System.nanoTime();
+        try {
+            writer.writeValue(out, value);
+            out.flush();
+        } finally {
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            event.finish();
+        }
+    }
+}
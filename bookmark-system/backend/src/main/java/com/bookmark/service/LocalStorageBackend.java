@@ -0,0 +1,376 @@
+package com.bookmark.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 서버의 로컬 디스크에 파일을 저장하는 저장소 ({@code bookmark.storage.backend=local})
+ *
+ * Google 계정 없이 전체 기능을 실행할 수 있도록 Drive와 같은 폴더/파일 구조를
+ * {@code <root>/<사용자 키>/<앱 폴더 이름>/} 아래에 만듭니다. 파일 ID는 root 기준 상대 경로입니다.
+ *
+ * - 쓰기: 같은 폴더의 임시 파일에 FileChannel로 쓰고 디스크에 반영한 뒤 원자적으로 이름을 바꿉니다.
+ *   읽는 쪽은 항상 이전 내용이나 새 내용 전체 중 하나만 봅니다.
+ * - 버전: 파일마다 숨은 버전 파일({@code .<이름>.version})에 쓸 때마다 1씩 커지는 번호를 기록합니다.
+ *   수정 시각은 파일 시스템에 따라 초 단위 이하가 버려지므로 버전으로 쓰지 않습니다.
+ *   버전 파일은 내용을 교체한 뒤 같은 방식(임시 파일 → 원자적 이름 변경)으로 쓰며,
+ *   그 사이에 프로세스가 종료되어 내용만 바뀐 경우는 기록된 크기/수정 시각과 달라지므로 다른 버전으로 봅니다.
+ * - 조건부 쓰기: 파일별 잠금 파일(FileLock)을 잡은 상태에서 버전 확인과 교체를 하므로
+ *   같은 디렉터리를 쓰는 다른 프로세스와도 확인과 쓰기 사이의 틈이 없습니다.
+ *   잠금 파일은 다른 프로세스가 열어 둔 채 기다릴 수 있으므로 파일을 삭제해도 지우지 않습니다.
+ * - 읽기: 설정하면 파일을 메모리에 매핑해 읽습니다. (큰 파일에서 복사 감소)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "bookmark.storage.backend", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalStorageBackend implements StorageBackend {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final String VERSION_SUFFIX = ".version";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final UserContext userContext;
+
+    /** 모든 사용자 데이터가 저장되는 디렉터리 */
+    @Value("${bookmark.storage.local.root:./data}")
+    private String rootDirectory;
+
+    /** 사용자별 앱 폴더 이름 (Drive 폴더 이름과 같은 설정) */
+    @Value("${google.drive.folder-name}")
+    private String folderName;
+
+    /** 파일을 메모리에 매핑해 읽을지 여부 */
+    @Value("${bookmark.storage.local.mmap-reads:false}")
+    private boolean mmapReads;
+
+    private static final int WRITE_MONITOR_STRIPES = 64;
+
+    /**
+     * 같은 프로세스 안의 스레드끼리는 FileLock이 겹칠 수 없으므로 경로별 모니터로 먼저 직렬화
+     * (세그먼트처럼 이름이 계속 바뀌는 파일에도 늘어나지 않도록 고정된 개수를 나누어 씀)
+     */
+    private final Object[] writeMonitors = newWriteMonitors();
+
+    @Override
+    public String createBookmarkFolder() throws IOException {
+        String folderId = encode(requireUserKey()) + "/" + encode(folderName);
+        Files.createDirectories(resolve(folderId));
+        return folderId;
+    }
+
+    @Override
+    public String getAppFolderId() throws IOException {
+        return createBookmarkFolder();
+    }
+
+    @Override
+    public StoredFile getFileMetadata(String fileName, String folderId) throws IOException {
+        String fileId = folderId + "/" + fileName;
+        Path path = resolve(fileId);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return metadata(fileId, fileName, currentVersion(path));
+        } catch (NoSuchFileException e) {
+            // 확인한 뒤 삭제된 파일
+            return null;
+        }
+    }
+
+    @Override
+    public InputStream openFileById(String fileId) throws IOException {
+        Path path = resolve(fileId);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        if (!mmapReads) {
+            return Channels.newInputStream(channel);
+        }
+        try {
+            // 매핑은 채널을 닫아도 유지되므로 바로 닫음
+            return new MappedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Override
+    public <T> List<T> readFilesById(List<String> fileIds, StreamReader<T> reader) throws IOException {
+        // 로컬 디스크는 요청 왕복 지연이 없으므로 차례로 읽음
+        List<T> results = new ArrayList<>(fileIds.size());
+        for (String fileId : fileIds) {
+            try (InputStream content = openFileById(fileId)) {
+                results.add(reader.read(content));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public StoredFile writeFile(String fileName, ContentWriter content, String folderId) throws IOException {
+        return writeFile(fileName, content, folderId, null);
+    }
+
+    @Override
+    public StoredFile writeFile(String fileName, ContentWriter content, String folderId,
+                                String expectedVersion) throws IOException {
+        String fileId = folderId + "/" + fileName;
+        Path target = resolve(fileId);
+        Files.createDirectories(target.getParent());
+
+        synchronized (writeMonitor(target)) {
+            try (FileChannel lockChannel = FileChannel.open(lockFile(target),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                String current = Files.isRegularFile(target) ? currentVersion(target) : null;
+                if (expectedVersion != null && !expectedVersion.equals(current)) {
+                    throw new DriveWriteConflictException(fileName, expectedVersion, current);
+                }
+
+                long version = recordedVersion(target) + 1;
+                Path temp = target.resolveSibling("." + fileName + "." + version + TEMP_SUFFIX);
+                try {
+                    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                             StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE);
+                        content.writeTo(out);
+                        out.flush();
+                        channel.force(true);
+                    }
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                writeVersion(target, version);
+
+                log.debug("Wrote local file: {} (version {})", fileId, version);
+                return metadata(fileId, fileName, String.valueOf(version));
+            }
+        }
+    }
+
+    @Override
+    public void checkVersion(String fileName, String folderId, String expectedVersion) throws IOException {
+        if (expectedVersion == null) {
+            return;
+        }
+        StoredFile current = getFileMetadata(fileName, folderId);
+        String actualVersion = current != null ? current.getVersion() : null;
+        if (!expectedVersion.equals(actualVersion)) {
+            throw new DriveWriteConflictException(fileName, expectedVersion, actualVersion);
+        }
+    }
+
+    @Override
+    public void deleteFile(String fileName, String folderId) throws IOException {
+        Path target = resolve(folderId + "/" + fileName);
+        if (!Files.isDirectory(target.getParent())) {
+            return;
+        }
+        // 쓰기와 같은 잠금을 잡고 삭제. 잠금 파일은 다른 프로세스가 기다리고 있을 수 있으므로 남겨 둠
+        synchronized (writeMonitor(target)) {
+            try (FileChannel lockChannel = FileChannel.open(lockFile(target),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                if (Files.deleteIfExists(target)) {
+                    log.info("Deleted file: {}", fileName);
+                }
+                Files.deleteIfExists(versionFile(target));
+            }
+        }
+    }
+
+    @Override
+    public List<StoredFile> listFilesInFolder(String folderId) throws IOException {
+        Path folder = resolve(folderId);
+        List<StoredFile> files = new ArrayList<>();
+        if (!Files.isDirectory(folder)) {
+            return files;
+        }
+        try (Stream<Path> paths = Files.list(folder)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String name = path.getFileName().toString();
+                // 임시 파일, 잠금 파일, 버전 파일은 제외
+                if (name.startsWith(".") || !Files.isRegularFile(path)) {
+                    continue;
+                }
+                try {
+                    files.add(metadata(folderId + "/" + name, name, currentVersion(path)));
+                } catch (NoSuchFileException e) {
+                    // 목록을 만든 뒤 삭제된 파일
+                }
+            }
+        }
+        return files;
+    }
+
+    private String requireUserKey() throws IOException {
+        String userKey = userContext.getCurrentUserKey();
+        if (userKey == null) {
+            throw new IOException("User is not authenticated");
+        }
+        return userKey;
+    }
+
+    /**
+     * 파일 ID(상대 경로)를 실제 경로로 바꿉니다. root 밖을 가리키는 ID는 거부합니다.
+     */
+    private Path resolve(String fileId) throws IOException {
+        Path root = Paths.get(rootDirectory).toAbsolutePath().normalize();
+        Path path = root.resolve(fileId).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IOException("Invalid file id: " + fileId);
+        }
+        return path;
+    }
+
+    private Object writeMonitor(Path target) {
+        return writeMonitors[Math.floorMod(target.hashCode(), WRITE_MONITOR_STRIPES)];
+    }
+
+    private static Object[] newWriteMonitors() {
+        Object[] monitors = new Object[WRITE_MONITOR_STRIPES];
+        for (int i = 0; i < monitors.length; i++) {
+            monitors[i] = new Object();
+        }
+        return monitors;
+    }
+
+    private static Path lockFile(Path target) {
+        return target.resolveSibling("." + target.getFileName() + LOCK_SUFFIX);
+    }
+
+    private static Path versionFile(Path target) {
+        return target.resolveSibling("." + target.getFileName() + VERSION_SUFFIX);
+    }
+
+    /**
+     * 파일의 현재 버전을 반환합니다.
+     * 버전 파일이 없으면(이전 방식으로 쓴 파일) 내용의 크기/수정 시각으로 만든 값을,
+     * 버전 파일을 쓴 뒤 내용이 바뀌었으면 기록된 번호에 내용의 크기/수정 시각을 덧붙인 값을 반환합니다.
+     */
+    private static String currentVersion(Path target) throws IOException {
+        String stamp = contentStamp(target);
+        String[] record = readVersionRecord(target);
+        if (record == null) {
+            return "0+" + stamp;
+        }
+        return record[1].equals(stamp) ? record[0] : record[0] + "+" + stamp;
+    }
+
+    /**
+     * 버전 파일에 기록된 번호 (없거나 읽을 수 없으면 0)
+     */
+    private static long recordedVersion(Path target) throws IOException {
+        String[] record = readVersionRecord(target);
+        return record != null ? Long.parseLong(record[0]) : 0;
+    }
+
+    /**
+     * 버전 파일의 내용 ([번호, 내용의 크기/수정 시각]), 없거나 형식이 다르면 null
+     */
+    private static String[] readVersionRecord(Path target) throws IOException {
+        String text;
+        try {
+            text = Files.readString(versionFile(target), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        String[] record = text.trim().split(" ");
+        if (record.length != 2 || record[0].isEmpty() || !record[0].chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return record;
+    }
+
+    private static void writeVersion(Path target, long version) throws IOException {
+        Path versionFile = versionFile(target);
+        Path temp = versionFile.resolveSibling(versionFile.getFileName() + TEMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap((version + " " + contentStamp(target)).getBytes(StandardCharsets.UTF_8)));
+                channel.force(true);
+            }
+            Files.move(temp, versionFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 내용이 바뀌었는지 확인하는 값 (크기와 수정 시각, 버전으로는 쓰지 않음)
+     */
+    private static String contentStamp(Path target) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(target, BasicFileAttributes.class);
+        return attributes.size() + "-" + attributes.lastModifiedTime().toMillis();
+    }
+
+    private static String encode(String name) {
+        return URLEncoder.encode(name, StandardCharsets.UTF_8);
+    }
+
+    private static StoredFile metadata(String fileId, String fileName, String version) {
+        return new StoredFile(fileId, fileName, version);
+    }
+
+    /**
+     * 메모리에 매핑된 파일 내용을 읽는 스트림
+     */
+    private static final class MappedInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private MappedInputStream(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.bookmark.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JSON merge patch (RFC 7396) 적용과 속성 단위 충돌 확인
+ *
+ * patch에 있는 속성만 바꾸고(null이면 제거) 나머지는 그대로 둡니다.
+ * 바뀌는 속성의 적용 전 값을 JSON Pointer 경로별로 기록해 두면, 같은 patch를 다른 곳에서 바뀐
+ * 데이터에 다시 적용할 때 같은 속성이 바뀌었는지(충돌)만 확인할 수 있습니다.
+ */
+final class MergePatch {
+
+    private MergePatch() {
+    }
+
+    /**
+     * target에 patch를 적용한 결과를 반환합니다. (target은 변경하지 않음)
+     */
+    static JsonNode apply(JsonNode target, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            return patch;
+        }
+
+        ObjectNode result = target != null && target.isObject()
+            ? ((ObjectNode) target).deepCopy()
+            : JsonNodeFactory.instance.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), apply(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * patch가 바꾸는 속성의 적용 전 값 (없던 속성은 null)
+     *
+     * @return JSON Pointer 경로 → 적용 전 값
+     */
+    static Map<String, JsonNode> baseValues(JsonNode target, JsonNode patch) {
+        Map<String, JsonNode> base = new LinkedHashMap<>();
+        collectBase(target, patch, "", base);
+        return base;
+    }
+
+    /**
+     * 기록된 적용 전 값과 현재 값이 다른 첫 번째 경로를 찾습니다.
+     *
+     * @param target 다시 적용하려는 현재 데이터
+     * @param base {@link #baseValues}로 기록한 값
+     * @return 다른 곳에서 바뀐 경로, 모두 같으면 null
+     */
+    static String firstChanged(JsonNode target, Map<String, JsonNode> base) {
+        for (Map.Entry<String, JsonNode> entry : base.entrySet()) {
+            if (!Objects.equals(valueAt(target, entry.getKey()), entry.getValue())) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static void collectBase(JsonNode target, JsonNode patch, String path, Map<String, JsonNode> base) {
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String fieldPath = path + "/" + escape(field.getKey());
+            JsonNode current = target != null ? target.get(field.getKey()) : null;
+            if (field.getValue().isObject() && current != null && current.isObject()) {
+                // 하위 속성 단위로 기록 (metadata.visitCount와 metadata.customData는 서로 충돌하지 않음)
+                collectBase(current, field.getValue(), fieldPath, base);
+            } else {
+                base.put(fieldPath, current != null ? current : NullNode.getInstance());
+            }
+        }
+    }
+
+    private static JsonNode valueAt(JsonNode target, String path) {
+        JsonNode value = target.at(path);
+        return value.isMissingNode() ? NullNode.getInstance() : value;
+    }
+
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,270 @@
+package com.bookmark.service;
+
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import com.bookmark.model.BookmarkManifest;
+import com.bookmark.model.BookmarkSegment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 북마크를 ID 해시로 여러 세그먼트 파일에 나누어 저장하는 방식
+ *
+ * 앱 폴더 구조:
+ * - bookmarks-manifest.json: 세그먼트 파일 ID/이름 목록 (루트 파일)
+ * - bookmarks-seg-NN-XXXXXXXX.json: 해시 값이 NN인 북마크 목록 (XXXXXXXX는 저장마다 새로 만드는 값)
+ *
+ * 변경 시에는 변경된 북마크가 속한 세그먼트만 새 이름의 파일로 쓰고,
+ * 마지막에 매니페스트를 읽었을 때의 버전을 조건으로 바꿔 한 번에 반영합니다.
+ * 세그먼트 파일은 한 번 쓴 뒤 바뀌지 않으므로, 매니페스트를 쓰기 전에 실패하거나 충돌하더라도
+ * 현재 매니페스트가 가리키는 데이터는 그대로이고 읽는 쪽도 서로 다른 저장의 세그먼트를 섞어 보지 않습니다.
+ * 교체된 세그먼트는 이전 매니페스트를 읽는 중인 요청을 위해 남겨 두었다가 다음 저장에서 삭제합니다.
+ * 읽을 때는 세그먼트들을 동시에 다운로드합니다.
+ *
+ * 매니페스트가 없고 기존 bookmarks.json이 있으면 그 파일을 그대로 읽고, 첫 저장에서 분할 형식으로 옮깁니다.
+ * 조회는 아무것도 쓰지 않으며, 옮기는 저장도 다른 저장과 같이 사용자별 쓰기 잠금 안에서 일어납니다.
+ * 기존 파일은 백업으로 그대로 둡니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "bookmark.storage.layout", havingValue = "sharded")
+@RequiredArgsConstructor
+public class ShardedBookmarkStorage implements BookmarkStorage {
+
+    static final String MANIFEST_FILE = "bookmarks-manifest.json";
+
+    /** 아직 옮기지 않은 bookmarks.json을 루트 파일로 반환할 때 버전 앞에 붙임 (매니페스트 버전과 구분) */
+    private static final String LEGACY_VERSION_PREFIX = "legacy:";
+
+    private final StorageBackend backend;
+    private final BookmarkJsonCodec json;
+    private final UserContext userContext;
+
+    @Value("${bookmark.storage.segment-count:16}")
+    private int segmentCount;
+
+    /** 사용자별 마지막으로 읽거나 쓴 매니페스트 (변경되지 않은 세그먼트 정보 유지용) */
+    private final Map<String, BookmarkManifest> manifests = new ConcurrentHashMap<>();
+
+    @Override
+    public StoredFile head() throws IOException {
+        String folderId = backend.getAppFolderId();
+        StoredFile manifest = backend.getFileMetadata(MANIFEST_FILE, folderId);
+        if (manifest != null) {
+            return manifest;
+        }
+
+        // 옮기기 전의 데이터: 첫 저장에서 옮김
+        StoredFile legacy = backend.getFileMetadata(SingleFileBookmarkStorage.BOOKMARKS_FILE, folderId);
+        if (legacy == null) {
+            return null;
+        }
+        return new StoredFile(legacy.getId(), legacy.getName(), LEGACY_VERSION_PREFIX + legacy.getVersion());
+    }
+
+    @Override
+    public BookmarkData read(StoredFile head) throws IOException {
+        if (head.getVersion().startsWith(LEGACY_VERSION_PREFIX)) {
+            manifests.remove(requireUserKey());
+            try (InputStream content = backend.openFileById(head.getId())) {
+                return json.read(content, BookmarkData.class);
+            }
+        }
+
+        BookmarkManifest manifest = readManifest(head);
+        List<BookmarkSegment> segments;
+        try {
+            segments = readSegments(manifest);
+        } catch (IOException e) {
+            // 읽는 사이 두 번의 저장이 지나 이전 세그먼트가 삭제되었으면 최신 매니페스트로 한 번 다시 읽음
+            StoredFile latest = backend.getFileMetadata(MANIFEST_FILE, backend.getAppFolderId());
+            if (latest == null || latest.getVersion().equals(head.getVersion())) {
+                throw e;
+            }
+            log.debug("Re-reading bookmark segments from a newer manifest: {}", e.getMessage());
+            manifest = readManifest(latest);
+            segments = readSegments(manifest);
+        }
+
+        List<Bookmark> bookmarks = new ArrayList<>();
+        for (BookmarkSegment segment : segments) {
+            bookmarks.addAll(segment.getBookmarks());
+        }
+        // 세그먼트로 나뉘며 섞인 순서를 생성 순서로 되돌림
+        bookmarks.sort(Comparator.comparing(Bookmark::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        manifests.put(requireUserKey(), manifest);
+        return BookmarkData.builder()
+            .version(manifest.getVersion())
+            .lastModified(manifest.getLastModified())
+            .bookmarks(bookmarks)
+            .build();
+    }
+
+    @Override
+    public StoredFile write(BookmarkData data, BookmarkChanges changes, String expectedVersion) throws IOException {
+        String userKey = requireUserKey();
+        String folderId = backend.getAppFolderId();
+        String manifestVersion = expectedVersion;
+        BookmarkManifest previous = manifests.get(userKey);
+        boolean migrating = expectedVersion != null && expectedVersion.startsWith(LEGACY_VERSION_PREFIX);
+        if (migrating) {
+            // 옮기기 전의 bookmarks.json을 읽은 뒤의 첫 저장: 그 파일이 그대로이고 아직 아무도 옮기지 않았을 때만 씀
+            backend.checkVersion(SingleFileBookmarkStorage.BOOKMARKS_FILE, folderId,
+                expectedVersion.substring(LEGACY_VERSION_PREFIX.length()));
+            StoredFile existing = backend.getFileMetadata(MANIFEST_FILE, folderId);
+            if (existing != null) {
+                throw new DriveWriteConflictException(MANIFEST_FILE, expectedVersion, existing.getVersion());
+            }
+            manifestVersion = null;
+            previous = null;
+        }
+
+        // 이전 매니페스트를 모르거나 세그먼트 수가 바뀌었으면 전체를 다시 씀
+        Set<Integer> dirty = new TreeSet<>();
+        if (previous == null || previous.getSegmentCount() != segmentCount || changes == null) {
+            for (int i = 0; i < segmentCount; i++) {
+                dirty.add(i);
+            }
+        } else {
+            for (String id : changes.getChangedBookmarkIds()) {
+                dirty.add(segmentOf(id));
+            }
+        }
+
+        List<BookmarkManifest.SegmentRef> refs = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            refs.add(dirty.contains(i) ? null : previous.getSegments().get(i));
+        }
+
+        // 이 저장으로 교체되는 세그먼트 (세그먼트 수를 줄였으면 더 이상 쓰지 않는 세그먼트 포함)
+        List<String> retired = new ArrayList<>();
+        if (previous != null) {
+            for (BookmarkManifest.SegmentRef ref : previous.getSegments()) {
+                if (ref.getIndex() >= segmentCount || dirty.contains(ref.getIndex())) {
+                    retired.add(ref.getFileName());
+                }
+            }
+        }
+
+        String writeId = UUID.randomUUID().toString().substring(0, 8);
+        List<String> created = new ArrayList<>(dirty.size());
+        if (!dirty.isEmpty()) {
+            List<List<Bookmark>> partitions = new ArrayList<>(segmentCount);
+            for (int i = 0; i < segmentCount; i++) {
+                partitions.add(dirty.contains(i) ? new ArrayList<>() : null);
+            }
+            for (Bookmark bookmark : data.getBookmarks()) {
+                List<Bookmark> partition = partitions.get(segmentOf(bookmark.getId()));
+                if (partition != null) {
+                    partition.add(bookmark);
+                }
+            }
+
+            for (int i : dirty) {
+                BookmarkSegment segment = BookmarkSegment.builder().index(i).bookmarks(partitions.get(i)).build();
+                String fileName = segmentFileName(i, writeId);
+                StoredFile written = backend.writeFile(fileName, json.content(segment), folderId);
+                created.add(fileName);
+                refs.set(i, BookmarkManifest.SegmentRef.builder()
+                    .index(i)
+                    .fileId(written.getId())
+                    .fileName(fileName)
+                    .fileVersion(written.getVersion())
+                    .count(segment.getBookmarks().size())
+                    .build());
+            }
+        }
+
+        BookmarkManifest manifest = BookmarkManifest.builder()
+            .version(data.getVersion())
+            .lastModified(data.getLastModified())
+            .segmentCount(segmentCount)
+            .segments(refs)
+            .retired(retired)
+            .build();
+        StoredFile written;
+        try {
+            // 매니페스트를 바꾸는 순간 이번 저장이 반영됨
+            written = backend.writeFile(MANIFEST_FILE, json.content(manifest), folderId, manifestVersion);
+        } catch (DriveWriteConflictException e) {
+            // 매니페스트를 쓰지 않았으므로 이번에 쓴 세그먼트는 아무도 가리키지 않음
+            deleteSegments(created, folderId);
+            throw e;
+        }
+        manifests.put(userKey, manifest);
+
+        // 이전 저장에서 교체된 세그먼트 정리 (실패해도 데이터에는 영향 없음)
+        if (previous != null) {
+            deleteSegments(previous.getRetired(), folderId);
+        }
+
+        if (migrating) {
+            log.info("Migrated {} bookmarks from {} to {} segments",
+                data.getBookmarks().size(), SingleFileBookmarkStorage.BOOKMARKS_FILE, segmentCount);
+        }
+        log.debug("Wrote {} of {} bookmark segments", dirty.size(), segmentCount);
+        return written;
+    }
+
+    private BookmarkManifest readManifest(StoredFile head) throws IOException {
+        BookmarkManifest manifest;
+        try (InputStream content = backend.openFileById(head.getId())) {
+            manifest = json.read(content, BookmarkManifest.class);
+        }
+        for (BookmarkManifest.SegmentRef segment : manifest.getSegments()) {
+            if (segment.getFileName() == null) {
+                throw new IOException("Bookmark manifest segment has no file name: " + segment.getIndex());
+            }
+        }
+        return manifest;
+    }
+
+    private List<BookmarkSegment> readSegments(BookmarkManifest manifest) throws IOException {
+        List<String> fileIds = new ArrayList<>(manifest.getSegments().size());
+        for (BookmarkManifest.SegmentRef segment : manifest.getSegments()) {
+            fileIds.add(segment.getFileId());
+        }
+        return backend.readFilesById(fileIds, content -> json.read(content, BookmarkSegment.class));
+    }
+
+    private void deleteSegments(List<String> fileNames, String folderId) {
+        for (String fileName : fileNames) {
+            try {
+                backend.deleteFile(fileName, folderId);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to delete unused bookmark segment: {}", fileName, e);
+            }
+        }
+    }
+
+    private int segmentOf(String bookmarkId) {
+        return Math.floorMod(bookmarkId.hashCode(), segmentCount);
+    }
+
+    private static String segmentFileName(int index, String writeId) {
+        return String.format("bookmarks-seg-%02d-%s.json", index, writeId);
+    }
+
+    private String requireUserKey() throws IOException {
+        String userKey = userContext.getCurrentUserKey();
+        if (userKey == null) {
+            throw new IOException("User is not authenticated");
+        }
+        return userKey;
+    }
+}
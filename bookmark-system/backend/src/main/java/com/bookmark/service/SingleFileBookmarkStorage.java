@@ -0,0 +1,43 @@
+package com.bookmark.service;
+
+import com.bookmark.model.BookmarkData;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 모든 북마크를 bookmarks.json 하나에 저장하는 기본 방식
+ */
+@Component
+@ConditionalOnProperty(name = "bookmark.storage.layout", havingValue = "single", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SingleFileBookmarkStorage implements BookmarkStorage {
+
+    static final String BOOKMARKS_FILE = "bookmarks.json";
+
+    private final StorageBackend backend;
+    private final BookmarkJsonCodec json;
+
+    @Override
+    public StoredFile head() throws IOException {
+        return backend.getFileMetadata(BOOKMARKS_FILE, backend.getAppFolderId());
+    }
+
+    @Override
+    public BookmarkData read(StoredFile head) throws IOException {
+        // 다운로드 스트림을 문자열로 모으지 않고 바로 파싱
+        try (InputStream content = backend.openFileById(head.getId())) {
+            return json.read(content, BookmarkData.class);
+        }
+    }
+
+    @Override
+    public StoredFile write(BookmarkData data, BookmarkChanges changes, String expectedVersion) throws IOException {
+        // 직렬화 결과를 문자열로 만들지 않고 업로드 요청 본문에 바로 씀
+        JsonStreamingContent content = json.content(data);
+        return backend.writeFile(BOOKMARKS_FILE, content, backend.getAppFolderId(), expectedVersion);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bookmark.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 같은 키의 동시 조회를 하나로 합치는 도구
+ *
+ * 먼저 온 호출이 자기 스레드에서 조회를 실행하고, 그 사이 같은 키로 들어온 호출은
+ * 새로 조회하지 않고 그 결과(또는 예외)를 함께 받습니다.
+ * 결과를 보관하지는 않으므로 조회가 끝난 뒤의 호출은 다시 조회합니다. (캐시는 호출자가 담당)
+ *
+ * 조회는 먼저 온 호출의 스레드에서 실행되므로 그 스레드의 인증 정보로 Drive에 접근합니다.
+ * 키에 사용자 키를 포함해 다른 사용자의 조회와 합쳐지지 않도록 해야 합니다.
+ */
+final class SingleFlight<K, V> {
+
+    /**
+     * 실제 조회
+     */
+    @FunctionalInterface
+    interface Loader<V> {
+        V load() throws IOException;
+    }
+
+    private final Map<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 같은 키의 조회가 진행 중이면 그 결과를 기다리고, 아니면 직접 조회합니다.
+     *
+     * @param key 조회 키, null이면 합치지 않고 바로 조회
+     * @param loader 실제 조회
+     * @return 조회 결과 (함께 기다린 호출들은 같은 인스턴스를 받음)
+     * @throws IOException 조회 실패시 (함께 기다린 호출들도 같은 예외를 받음)
+     */
+    V run(K key, Loader<V> loader) throws IOException {
+        if (key == null) {
+            return loader.load();
+        }
+
+        Flight<V> flight = new Flight<>(Thread.currentThread());
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            // 조회 중인 스레드가 같은 키를 다시 요청한 경우 기다리면 교착되므로 직접 조회
+            return existing.owner == Thread.currentThread() ? loader.load() : await(existing.result);
+        }
+
+        try {
+            V value = loader.load();
+            flight.result.complete(value);
+            return value;
+        } catch (Throwable e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an in-flight load");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("In-flight load failed", cause);
+        }
+    }
+
+    private static final class Flight<V> {
+        private final Thread owner;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        private Flight(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookmark.service;
+
+import java.util.Comparator;
+
+/**
+ * 정렬 색인의 항목: 정렬 값과 북마크 ID
+ *
+ * 정렬 값이 같으면 ID로 비교하므로 모든 항목의 순서가 하나로 정해집니다.
+ * 정렬 값이 없는(null) 항목은 가장 앞에 옵니다.
+ */
+final class SortKey {
+
+    static final Comparator<SortKey> ORDER = SortKey::compare;
+
+    private final Comparable<?> value;
+    private final String id;
+
+    SortKey(Comparable<?> value, String id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    Comparable<?> getValue() {
+        return value;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(SortKey a, SortKey b) {
+        if (a.value != b.value) {
+            if (a.value == null) {
+                return -1;
+            }
+            if (b.value == null) {
+                return 1;
+            }
+            int result = ((Comparable) a.value).compareTo(b.value);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return a.id.compareTo(b.id);
+    }
+}
@@ -0,0 +1,107 @@
+package com.bookmark.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 사용자별 앱 폴더에 파일을 읽고 쓰는 저장소
+ *
+ * 저장 방식({@link BookmarkStorage})과 {@link EntityFileStore}는 이 인터페이스만 사용하므로
+ * 실제 저장 위치와 무관하게 동작합니다. 사용할 저장소는 {@code bookmark.storage.backend} 설정으로 선택합니다.
+ * (drive: 사용자의 Google Drive, 기본값 / local: 서버의 로컬 디스크)
+ *
+ * 파일 메타데이터는 저장 위치와 무관한 {@link StoredFile}(ID, 이름, 버전)로 주고받고,
+ * 파일 내용은 {@link ContentWriter}가 출력 스트림에 직접 씁니다.
+ * Drive API의 모델과 업로드 콘텐츠 타입은 {@link GoogleDriveService} 안에서만 사용합니다.
+ * 모든 구현은 파일을 쓸 때마다 버전이 바뀌도록 채웁니다.
+ */
+public interface StorageBackend {
+
+    /**
+     * 파일 내용 스트림을 읽어 객체로 변환하는 함수
+     */
+    @FunctionalInterface
+    interface StreamReader<T> {
+        T read(InputStream content) throws IOException;
+    }
+
+    /**
+     * 파일 내용을 출력 스트림에 쓰는 함수
+     *
+     * 저장소는 재시도할 때 같은 내용을 다시 쓰도록 여러 번 호출할 수 있습니다.
+     * 출력 스트림은 저장소가 닫으므로 쓰기만 합니다.
+     */
+    @FunctionalInterface
+    interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * 현재 사용자의 앱 폴더를 만들거나 찾습니다.
+     *
+     * @return 앱 폴더 ID
+     */
+    String createBookmarkFolder() throws IOException;
+
+    /**
+     * 현재 사용자의 앱 폴더 ID를 반환합니다. (없으면 만듦)
+     */
+    String getAppFolderId() throws IOException;
+
+    /**
+     * 폴더 내 파일의 메타데이터만 조회합니다. (내용은 읽지 않음)
+     *
+     * @return 파일 메타데이터, 파일이 없으면 null
+     */
+    StoredFile getFileMetadata(String fileName, String folderId) throws IOException;
+
+    /**
+     * 파일 ID로 파일 내용을 읽는 스트림을 엽니다. 호출자가 반드시 닫아야 합니다.
+     */
+    InputStream openFileById(String fileId) throws IOException;
+
+    /**
+     * 여러 파일을 읽어 각각 객체로 변환합니다.
+     *
+     * @return fileIds와 같은 순서의 결과 목록
+     */
+    <T> List<T> readFilesById(List<String> fileIds, StreamReader<T> reader) throws IOException;
+
+    /**
+     * 파일을 작성하거나 덮어씁니다.
+     *
+     * @param content 파일 내용을 쓰는 함수 (JSON)
+     * @return 저장된 파일의 메타데이터 (ID, 버전)
+     */
+    StoredFile writeFile(String fileName, ContentWriter content, String folderId) throws IOException;
+
+    /**
+     * 파일의 현재 버전이 기대한 버전과 같을 때만 파일을 작성합니다.
+     *
+     * @param expectedVersion 파일을 읽을 때의 버전, null이면 확인하지 않음
+     * @return 저장된 파일의 메타데이터 (ID, 버전)
+     * @throws DriveWriteConflictException 그 사이 다른 곳에서 파일을 저장한 경우
+     */
+    StoredFile writeFile(String fileName, ContentWriter content, String folderId,
+                         String expectedVersion) throws IOException;
+
+    /**
+     * 파일의 현재 버전이 기대한 버전과 같은지 확인합니다.
+     *
+     * @param expectedVersion 파일을 읽을 때의 버전, null이면 확인하지 않음
+     * @throws DriveWriteConflictException 버전이 다르거나 파일이 삭제된 경우
+     */
+    void checkVersion(String fileName, String folderId, String expectedVersion) throws IOException;
+
+    /**
+     * 파일을 삭제합니다. (없으면 아무것도 하지 않음)
+     */
+    void deleteFile(String fileName, String folderId) throws IOException;
+
+    /**
+     * 폴더 내 모든 파일의 메타데이터를 조회합니다.
+     */
+    List<StoredFile> listFilesInFolder(String folderId) throws IOException;
+}
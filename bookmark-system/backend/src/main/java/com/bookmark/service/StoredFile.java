@@ -0,0 +1,22 @@
+package com.bookmark.service;
+
+import lombok.Value;
+
+/**
+ * 저장소에 있는 파일의 메타데이터
+ *
+ * 버전은 파일을 쓸 때마다 바뀌며, 캐시가 최신인지 확인하거나 조건부로 쓸 때 비교합니다.
+ * 값의 형식은 저장소마다 다르므로 같은지만 비교합니다.
+ */
+@Value
+public class StoredFile {
+
+    /** 파일 ID (Drive 파일 ID, 로컬 저장소에서는 root 기준 상대 경로) */
+    String id;
+
+    /** 앱 폴더 안의 파일 이름 */
+    String name;
+
+    /** 파일 버전 */
+    String version;
+}
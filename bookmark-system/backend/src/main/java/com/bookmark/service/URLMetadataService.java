@@ -1,6 +1,9 @@
 package com.bookmark.service;
 
 import com.bookmark.dto.URLMetadataDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
@@ -10,18 +13,28 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * URL 메타데이터 추출 서비스
  * Jsoup을 사용하여 웹 페이지의 메타 정보를 스크래핑하고
  * 제목, 설명, 파비콘 등의 정보를 추출
+ *
+ * 요청마다 bookmark.metadata.fetch (tld, outcome 태그) 타이머에 소요 시간을 기록
+ * - tld: URL 호스트의 최상위 도메인 (사용자가 저장한 사이트가 메트릭에 드러나지 않도록 호스트 이름은 기록하지 않음)
+ * - outcome: success, failure(접속/파싱 실패), timeout
+ * - tld 태그 값의 종류는 MetricsConfig에서 개수를 제한
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class URLMetadataService {
     
+    private final MeterRegistry meterRegistry;
+    
     // 타임아웃 설정 (초 단위)
     private static final int TIMEOUT_SECONDS = 5;
     // 브라우저 User-Agent 설정 (일부 사이트는 봇을 차단하므로)
@@ -33,16 +46,56 @@ public class URLMetadataService {
      * @return 추출된 메타데이터 DTO
      */
     public URLMetadataDTO fetchMetadata(String urlString) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
             return CompletableFuture
                 .supplyAsync(() -> scrapeMetadata(urlString))
                 .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
         } catch (Exception e) {
+            outcome = e instanceof TimeoutException ? "timeout" : "failure";
             log.error("Failed to fetch metadata for URL: {}", urlString, e);
             return URLMetadataDTO.builder()
                 .title(extractDomainName(urlString))
                 .description("Failed to fetch page information")
                 .build();
+        } finally {
+            sample.stop(Timer.builder("bookmark.metadata.fetch")
+                .description("URL metadata scraping latency")
+                .tag("tld", domainTag(urlString))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+    }
+    
+    /**
+     * 메트릭 태그용 최상위 도메인 (소문자, 예: com, kr)
+     * IP 주소는 ip, 점이 없는 호스트(내부 서버 이름 등)는 local, 잘못된 URL은 invalid
+     */
+    private static String domainTag(String urlString) {
+        if (urlString == null) {
+            return "invalid";
+        }
+        try {
+            String host = new URI(urlString).getHost();
+            if (host == null || host.isEmpty()) {
+                return "invalid";
+            }
+            host = host.toLowerCase(Locale.ROOT);
+            if (host.endsWith(".")) {
+                host = host.substring(0, host.length() - 1);
+            }
+            if (host.startsWith("[") || host.chars().allMatch(c -> c == '.' || Character.isDigit(c))) {
+                return "ip";
+            }
+            int dot = host.lastIndexOf('.');
+            if (dot < 0) {
+                return "local";
+            }
+            return dot < host.length() - 1 ? host.substring(dot + 1) : "invalid";
+        } catch (URISyntaxException e) {
+            return "invalid";
         }
     }
     
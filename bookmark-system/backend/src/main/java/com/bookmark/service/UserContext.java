@@ -0,0 +1,30 @@
+package com.bookmark.service;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 요청을 보낸 사용자를 식별하는 키를 제공하는 컴포넌트
+ *
+ * 사용자별 캐시, 레지스트리 등 싱글톤 빈 안에서 사용자 데이터를
+ * 분리하여 보관할 때 키로 사용합니다.
+ */
+@Component
+public class UserContext {
+
+    /**
+     * 현재 인증된 사용자의 키를 반환합니다.
+     *
+     * @return "등록 ID:주체 이름" 형태의 사용자 키, OAuth2 인증이 아니면 null
+     */
+    public String getCurrentUserKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof OAuth2AuthenticationToken) {
+            OAuth2AuthenticationToken oauthToken = (OAuth2AuthenticationToken) authentication;
+            return oauthToken.getAuthorizedClientRegistrationId() + ":" + oauthToken.getName();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bookmark.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 변경과 동시에 실행되는 조회가 적용 중이거나 실패한 변경을 보지 않는지 확인합니다.
+ *
+ * 쓰기 스레드가 북마크 두 개를 만드는 일괄 작업과 중간에 실패하는 일괄 작업을 번갈아 보내는 동안
+ * 읽기 스레드들이 북마크 목록과 첫 화면을 계속 조회합니다.
+ * 조회는 모두 성공해야 하고, 일괄 작업의 일부만 반영된 목록이나 실패한 작업의 북마크가 보이면 안 됩니다.
+ */
+class BookmarkConcurrentAccessTest extends DriveCallBudgetTestSupport {
+
+    private static final int BATCHES = 30;
+    private static final int READERS = 3;
+
+    @Test
+    @DisplayName("reads during writes see whole batches only")
+    void readsSeeWholeBatchesOnly() throws Exception {
+        initDrive();
+        String folderId = createFolder("동시성");
+
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                try {
+                    for (int i = 0; i < BATCHES; i++) {
+                        performJson(post("/bookmarks/batch"), Map.of("operations", List.of(
+                            createOperation("pair-" + i + "-a", folderId),
+                            createOperation("pair-" + i + "-b", folderId))))
+                            .andExpect(status().isOk());
+                        // 두 번째 작업이 없는 북마크를 고치므로 첫 번째 작업도 반영되면 안 됨
+                        performJson(post("/bookmarks/batch"), Map.of("operations", List.of(
+                            createOperation("failed-" + i, folderId),
+                            Map.of("type", "UPDATE", "target", "BOOKMARK", "id", "missing-" + i,
+                                "bookmark", Map.of("url", "https://example.com/missing", "title", "missing")))))
+                            .andExpect(status().isBadRequest());
+                    }
+                } finally {
+                    writing.set(false);
+                }
+                return null;
+            });
+
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < READERS; r++) {
+                readers.add(executor.submit(() -> {
+                    int reads = 0;
+                    while (writing.get()) {
+                        assertWholeBatches(readJson(get("/bookmarks")));
+                        assertWholeBatches(readJson(get("/bootstrap")).get("bookmarks"));
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+
+            writer.get(2, TimeUnit.MINUTES);
+            for (Future<Integer> reader : readers) {
+                assertThat(reader.get(1, TimeUnit.MINUTES)).isPositive();
+            }
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+
+        JsonNode bookmarks = readJson(get("/bookmarks"));
+        assertWholeBatches(bookmarks);
+        assertThat(bookmarks.size()).isEqualTo(BATCHES * 2);
+    }
+
+    private Map<String, Object> createOperation(String title, String folderId) {
+        return Map.of("type", "CREATE", "target", "BOOKMARK", "bookmark", Map.of(
+            "url", "https://example.com/" + title,
+            "title", title,
+            "folderId", folderId));
+    }
+
+    private JsonNode readJson(MockHttpServletRequestBuilder request) throws Exception {
+        String body = perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static void assertWholeBatches(JsonNode bookmarks) {
+        assertThat(bookmarks.isArray()).isTrue();
+        assertThat(bookmarks.size() % 2).as("half-applied batch").isZero();
+        for (JsonNode bookmark : bookmarks) {
+            assertThat(bookmark.get("title").asText()).as("bookmark from a failed batch").doesNotStartWith("failed-");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.bookmark.controller;
+
+import com.bookmark.drive.FakeDriveServer;
+import com.bookmark.dto.URLMetadataDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * BookmarkController API별 Drive 호출 예산
+ *
+ * 조회는 캐시된 데이터의 버전 확인(files.get)만 하고 다운로드나 검색(files.list)을 하지 않아야 하며,
+ * 변경은 버전 확인 후 바뀐 파일마다 한 번만 업로드해야 합니다.
+ * ETag를 붙이는 조회는 ETag와 본문을 각각 불러오므로 버전 확인이 두 번입니다.
+ */
+class BookmarkControllerDriveBudgetTest extends DriveCallBudgetTestSupport {
+
+    private String folderId;
+    private String bookmarkId;
+
+    @BeforeEach
+    void seed() throws Exception {
+        initDrive();
+        folderId = createFolder("읽을거리");
+        bookmarkId = createBookmark("spring-guide", folderId, "reading");
+        drive.resetStats();
+    }
+
+    @Test
+    @DisplayName("GET /bookmarks")
+    void getAllBookmarks() throws Exception {
+        perform(get("/bookmarks")).andExpect(status().isOk());
+        assertCachedRead(2);
+    }
+
+    @Test
+    @DisplayName("GET /bookmarks?limit")
+    void getBookmarksPage() throws Exception {
+        perform(get("/bookmarks").param("limit", "20")).andExpect(status().isOk());
+        assertCachedRead(2);
+    }
+
+    @Test
+    @DisplayName("GET /bookmarks/{id}")
+    void getBookmarkById() throws Exception {
+        perform(get("/bookmarks/{id}", bookmarkId)).andExpect(status().isOk());
+        assertCachedRead(2);
+    }
+
+    @Test
+    @DisplayName("GET /bookmarks/search")
+    void searchBookmarks() throws Exception {
+        perform(get("/bookmarks/search").param("q", "spring")).andExpect(status().isOk());
+        assertCachedRead(1);
+    }
+
+    @Test
+    @DisplayName("GET /bookmarks/search/ranked")
+    void searchBookmarksRanked() throws Exception {
+        perform(get("/bookmarks/search/ranked").param("q", "spring")).andExpect(status().isOk());
+        assertCachedRead(1);
+    }
+
+    @Test
+    @DisplayName("GET /bookmarks/search/fuzzy")
+    void searchBookmarksFuzzy() throws Exception {
+        perform(get("/bookmarks/search/fuzzy").param("q", "sprng")).andExpect(status().isOk());
+        assertCachedRead(1);
+    }
+
+    @Test
+    @DisplayName("GET /bookmarks/folder/{folderId}")
+    void getBookmarksByFolder() throws Exception {
+        perform(get("/bookmarks/folder/{folderId}", folderId)).andExpect(status().isOk());
+        assertCachedRead(2);
+    }
+
+    @Test
+    @DisplayName("GET /bookmarks/folder/{folderId}?limit")
+    void getBookmarksByFolderPage() throws Exception {
+        perform(get("/bookmarks/folder/{folderId}", folderId).param("limit", "20")).andExpect(status().isOk());
+        assertCachedRead(2);
+    }
+
+    @Test
+    @DisplayName("GET /bookmarks/tag/{tag}")
+    void getBookmarksByTag() throws Exception {
+        perform(get("/bookmarks/tag/{tag}", "reading")).andExpect(status().isOk());
+        assertCachedRead(2);
+    }
+
+    @Test
+    @DisplayName("GET /bookmarks/tag/{tag}?limit")
+    void getBookmarksByTagPage() throws Exception {
+        perform(get("/bookmarks/tag/{tag}", "reading").param("limit", "20")).andExpect(status().isOk());
+        assertCachedRead(2);
+    }
+
+    @Test
+    @DisplayName("POST /bookmarks")
+    void createBookmark() throws Exception {
+        performJson(post("/bookmarks"), Map.of("url", "https://example.com/new", "title", "new"))
+            .andExpect(status().isCreated());
+        assertSingleFileWrite();
+    }
+
+    @Test
+    @DisplayName("PUT /bookmarks/{id}")
+    void updateBookmark() throws Exception {
+        performJson(put("/bookmarks/{id}", bookmarkId),
+            Map.of("url", "https://example.com/spring-guide", "title", "Spring 가이드", "folderId", folderId))
+            .andExpect(status().isOk());
+        assertSingleFileWrite();
+    }
+
+    @Test
+    @DisplayName("PATCH /bookmarks/{id}")
+    void patchBookmark() throws Exception {
+        perform(patch("/bookmarks/{id}", bookmarkId)
+            .contentType(BookmarkController.MERGE_PATCH_JSON)
+            .content("{\"title\":\"Spring 가이드\"}"))
+            .andExpect(status().isOk());
+        assertSingleFileWrite();
+    }
+
+    @Test
+    @DisplayName("DELETE /bookmarks/{id}")
+    void deleteBookmark() throws Exception {
+        perform(delete("/bookmarks/{id}", bookmarkId)).andExpect(status().isNoContent());
+        assertSingleFileWrite();
+    }
+
+    @Test
+    @DisplayName("POST /bookmarks/batch (폴더 + 북마크)")
+    void applyBatch() throws Exception {
+        Map<String, Object> request = Map.of("operations", List.of(
+            Map.of("type", "CREATE", "target", "FOLDER", "id", "batch-folder",
+                "folder", Map.of("name", "배치")),
+            Map.of("type", "CREATE", "target", "BOOKMARK",
+                "bookmark", Map.of("url", "https://example.com/batch", "title", "batch", "folderId", "batch-folder"))));
+        performJson(post("/bookmarks/batch"), request).andExpect(status().isOk());
+
+        // 북마크/폴더 읽기 확인 2 + 폴더 사전 확인 1 + 파일별 (확인 1 + 업로드 1) x 2
+        assertDriveCalls(7);
+        assertDriveCalls(FakeDriveServer.UPDATE, 2);
+        assertDriveCalls(FakeDriveServer.DOWNLOAD, 0);
+        assertDriveCalls(FakeDriveServer.LIST, 0);
+    }
+
+    @Test
+    @DisplayName("POST /bookmarks/fetch-metadata")
+    void fetchUrlMetadata() throws Exception {
+        when(urlMetadataService.fetchMetadata(anyString()))
+            .thenReturn(URLMetadataDTO.builder().title("Example").build());
+
+        perform(post("/bookmarks/fetch-metadata")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"url\":\"https://example.com\"}"))
+            .andExpect(status().isOk());
+        assertDriveCalls(0);
+    }
+
+    /**
+     * 캐시된 데이터의 버전 확인만 허용 (다운로드, 파일 검색 없음)
+     */
+    private void assertCachedRead(int metadataChecks) {
+        assertDriveCalls(metadataChecks);
+        assertDriveCalls(FakeDriveServer.GET, metadataChecks);
+    }
+
+    /**
+     * 북마크 파일 하나의 변경: 읽기 확인 1 + 저장 전 확인 1 + 업로드 1
+     */
+    private void assertSingleFileWrite() {
+        assertDriveCalls(3);
+        assertDriveCalls(FakeDriveServer.UPDATE, 1);
+        assertDriveCalls(FakeDriveServer.DOWNLOAD, 0);
+        assertDriveCalls(FakeDriveServer.LIST, 0);
+    }
+}
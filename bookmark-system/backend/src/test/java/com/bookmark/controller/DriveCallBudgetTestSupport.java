@@ -0,0 +1,143 @@
+package com.bookmark.controller;
+
+import com.bookmark.drive.FakeDriveConfiguration;
+import com.bookmark.drive.FakeDriveServer;
+import com.bookmark.service.URLMetadataService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * API별 Drive 호출 예산 테스트의 공통 설정
+ *
+ * Drive 클라이언트는 {@link FakeDriveServer}로 요청을 보내며, 테스트마다 새 사용자로 로그인하므로
+ * 다른 테스트의 캐시나 파일 위치 정보가 섞이지 않습니다.
+ *
+ * 예산은 가장 불리한 경우를 기준으로 합니다.
+ * - 캐시 재검증 주기를 0으로 두어 모든 읽기가 Drive 메타데이터를 확인함
+ * - 쓰기 대기열이 변경 하나마다 바로 저장하므로 저장 호출이 그 요청에 포함됨
+ */
+@SpringBootTest(properties = {
+    "google.drive.application-name=bookmark-test",
+    "google.drive.tokens-directory-path=build/tokens",
+    "google.drive.folder-name=BookmarkService",
+    "spring.security.oauth2.client.registration.google.client-id=test-client",
+    "spring.security.oauth2.client.registration.google.client-secret=test-secret",
+    "bookmark.cache.revalidate-interval-ms=0",
+    "bookmark.write.max-pending-operations=1"
+})
+@AutoConfigureMockMvc
+@Import(FakeDriveConfiguration.class)
+abstract class DriveCallBudgetTestSupport {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected FakeDriveServer drive;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    /** URL 메타데이터 조회는 외부 사이트에 접속하므로 대체 (Drive와 무관) */
+    @MockBean
+    protected URLMetadataService urlMetadataService;
+
+    /** 현재 테스트의 사용자 (OAuth2 주체 이름) */
+    protected String user;
+
+    @BeforeEach
+    void newUser() {
+        user = "budget-user-" + USERS.incrementAndGet();
+    }
+
+    /**
+     * @return 현재 사용자의 키 (UserContext와 같은 형식)
+     */
+    protected String userKey() {
+        return FakeDriveConfiguration.GOOGLE.getRegistrationId() + ":" + user;
+    }
+
+    protected RequestPostProcessor login() {
+        return oauth2Login()
+            .clientRegistration(FakeDriveConfiguration.GOOGLE)
+            .attributes(attributes -> attributes.put("sub", user));
+    }
+
+    protected ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.with(login()));
+    }
+
+    protected ResultActions performJson(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return perform(request
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsBytes(body)));
+    }
+
+    /**
+     * 로그인 직후처럼 현재 사용자의 Drive 폴더와 데이터 파일을 만듭니다.
+     */
+    protected void initDrive() throws Exception {
+        perform(get("/drive/init")).andExpect(status().isOk());
+    }
+
+    protected String createFolder(String name) throws Exception {
+        return idOf(performJson(post("/folders"), Map.of("name", name))
+            .andExpect(status().isCreated()));
+    }
+
+    protected String createBookmark(String title, String folderId, String tag) throws Exception {
+        Map<String, Object> bookmark = Map.of(
+            "url", "https://example.com/" + title,
+            "title", title,
+            "folderId", folderId,
+            "tags", List.of(tag));
+        return idOf(performJson(post("/bookmarks"), bookmark)
+            .andExpect(status().isCreated()));
+    }
+
+    private String idOf(ResultActions result) throws Exception {
+        JsonNode body = objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+        return body.get("id").asText();
+    }
+
+    /**
+     * 마지막 {@link FakeDriveServer#resetStats()} 이후의 Drive 호출 수가 예산 이내인지 확인합니다.
+     */
+    protected void assertDriveCalls(int budget) {
+        assertThat(drive.totalCalls())
+            .as("Drive calls over budget (%d):%n%s", budget, drive.report())
+            .isLessThanOrEqualTo(budget);
+    }
+
+    /**
+     * 특정 엔드포인트의 호출 수가 예산 이내인지 확인합니다.
+     */
+    protected void assertDriveCalls(String endpoint, int budget) {
+        assertThat(drive.calls(endpoint))
+            .as("%s calls over budget (%d):%n%s", endpoint, budget, drive.report())
+            .isLessThanOrEqualTo(budget);
+    }
+}
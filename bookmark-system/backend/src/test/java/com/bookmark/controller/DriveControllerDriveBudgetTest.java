@@ -0,0 +1,96 @@
+package com.bookmark.controller;
+
+import com.bookmark.drive.FakeDriveServer;
+import com.bookmark.service.BookmarkDataCache;
+import com.bookmark.service.DriveLocationRegistry;
+import com.bookmark.service.EntityFileStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * DriveController API별 Drive 호출 예산
+ *
+ * 로그인할 때마다 실행되는 초기화는 데이터가 이미 있으면 파일을 읽거나 쓰지 않아야 합니다.
+ */
+class DriveControllerDriveBudgetTest extends DriveCallBudgetTestSupport {
+
+    @Autowired
+    private DriveLocationRegistry locationRegistry;
+
+    @Autowired
+    private BookmarkDataCache dataCache;
+
+    @Autowired
+    private EntityFileStore entityStore;
+
+    @Test
+    @DisplayName("GET /drive/init (처음 로그인한 사용자)")
+    void initializeNewUser() throws Exception {
+        drive.resetStats();
+        perform(get("/drive/init")).andExpect(status().isOk());
+
+        // 앱 폴더 검색 + 생성, 데이터 파일 3개마다 (메타데이터 검색 + 파일 검색 + 생성)
+        assertDriveCalls(11);
+        assertDriveCalls(FakeDriveServer.CREATE, 4);
+        assertDriveCalls(FakeDriveServer.DOWNLOAD, 0);
+    }
+
+    @Test
+    @DisplayName("GET /drive/init (다시 로그인한 사용자)")
+    void initializeExistingUser() throws Exception {
+        initDrive();
+        drive.resetStats();
+        perform(get("/drive/init")).andExpect(status().isOk());
+
+        // 앱 폴더 검색 + 북마크 파일 메타데이터 확인
+        assertDriveCalls(2);
+        assertDriveCalls(FakeDriveServer.CREATE, 0);
+        assertDriveCalls(FakeDriveServer.UPDATE, 0);
+        assertDriveCalls(FakeDriveServer.DOWNLOAD, 0);
+    }
+
+    @Test
+    @DisplayName("GET /drive/init (서버 재시작 후 다시 로그인한 사용자)")
+    void initializeExistingUserAfterRestart() throws Exception {
+        initDrive();
+        // 서버 재시작: 메모리의 파일 위치 정보와 캐시가 없음
+        locationRegistry.evict(userKey());
+        dataCache.invalidate(userKey());
+        entityStore.invalidate(userKey(), "folders.json");
+        entityStore.invalidate(userKey(), "tags.json");
+        drive.resetStats();
+        perform(get("/drive/init")).andExpect(status().isOk());
+
+        // 앱 폴더 검색 + 북마크 파일 검색
+        assertDriveCalls(2);
+        assertDriveCalls(FakeDriveServer.CREATE, 0);
+        assertDriveCalls(FakeDriveServer.DOWNLOAD, 0);
+    }
+
+    @Test
+    @DisplayName("GET /drive/init-and-redirect (다시 로그인한 사용자)")
+    void initializeAndRedirect() throws Exception {
+        initDrive();
+        drive.resetStats();
+        perform(get("/drive/init-and-redirect")).andExpect(status().isOk());
+
+        assertDriveCalls(2);
+        assertDriveCalls(FakeDriveServer.CREATE, 0);
+        assertDriveCalls(FakeDriveServer.DOWNLOAD, 0);
+    }
+
+    @Test
+    @DisplayName("POST /drive/sync")
+    void syncWithDrive() throws Exception {
+        initDrive();
+        drive.resetStats();
+        perform(post("/drive/sync")).andExpect(status().isOk());
+
+        assertDriveCalls(0);
+    }
+}
@@ -0,0 +1,95 @@
+package com.bookmark.controller;
+
+import com.bookmark.drive.FakeDriveServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * FolderController API별 Drive 호출 예산
+ *
+ * 폴더만 바꾸는 변경은 폴더 파일만 읽고 쓰며 북마크 파일은 건드리지 않아야 합니다.
+ */
+class FolderControllerDriveBudgetTest extends DriveCallBudgetTestSupport {
+
+    private String folderId;
+
+    @BeforeEach
+    void seed() throws Exception {
+        initDrive();
+        folderId = createFolder("개발");
+        createBookmark("java-docs", folderId, "java");
+        drive.resetStats();
+    }
+
+    @Test
+    @DisplayName("GET /folders")
+    void getAllFolders() throws Exception {
+        perform(get("/folders")).andExpect(status().isOk());
+        assertDriveCalls(2);
+        assertDriveCalls(FakeDriveServer.GET, 2);
+    }
+
+    @Test
+    @DisplayName("GET /folders/counts")
+    void getFolderCounts() throws Exception {
+        perform(get("/folders/counts")).andExpect(status().isOk());
+        assertDriveCalls(2);
+        assertDriveCalls(FakeDriveServer.GET, 2);
+    }
+
+    @Test
+    @DisplayName("POST /folders")
+    void createFolder() throws Exception {
+        performJson(post("/folders"), Map.of("name", "여행")).andExpect(status().isCreated());
+        assertFolderFileWrite();
+    }
+
+    @Test
+    @DisplayName("PUT /folders/{id}")
+    void updateFolder() throws Exception {
+        performJson(put("/folders/{id}", folderId), Map.of("name", "개발 문서")).andExpect(status().isOk());
+        assertFolderFileWrite();
+    }
+
+    @Test
+    @DisplayName("PATCH /folders/{id}")
+    void patchFolder() throws Exception {
+        perform(patch("/folders/{id}", folderId)
+            .contentType(BookmarkController.MERGE_PATCH_JSON)
+            .content("{\"color\":\"#34A853\"}"))
+            .andExpect(status().isOk());
+        assertFolderFileWrite();
+    }
+
+    @Test
+    @DisplayName("DELETE /folders/{id} (북마크가 있는 폴더)")
+    void deleteFolder() throws Exception {
+        perform(delete("/folders/{id}", folderId)).andExpect(status().isNoContent());
+
+        // 북마크/폴더 읽기 확인 2 + 폴더 사전 확인 1 + 파일별 (확인 1 + 업로드 1) x 2
+        assertDriveCalls(7);
+        assertDriveCalls(FakeDriveServer.UPDATE, 2);
+        assertDriveCalls(FakeDriveServer.DOWNLOAD, 0);
+        assertDriveCalls(FakeDriveServer.LIST, 0);
+    }
+
+    /**
+     * 폴더 파일 하나의 변경: 읽기 확인 1 + 저장 전 확인 1 + 업로드 1 (북마크 파일 접근 없음)
+     */
+    private void assertFolderFileWrite() {
+        assertDriveCalls(3);
+        assertDriveCalls(FakeDriveServer.UPDATE, 1);
+        assertDriveCalls(FakeDriveServer.DOWNLOAD, 0);
+        assertDriveCalls(FakeDriveServer.LIST, 0);
+    }
+}
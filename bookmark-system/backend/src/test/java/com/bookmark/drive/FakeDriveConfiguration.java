@@ -0,0 +1,46 @@
+package com.bookmark.drive;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.config.oauth2.client.CommonOAuth2Provider;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Drive 클라이언트가 {@link FakeDriveServer}로 요청을 보내도록 바꾸는 테스트 설정
+ *
+ * - HttpTransport: GoogleDriveConfig.httpTransport() 대신 가짜 서버를 주입
+ * - OAuth2AuthorizedClientManager: 토큰 발급/갱신 요청 없이 사용자별 가짜 액세스 토큰을 반환
+ */
+@TestConfiguration
+public class FakeDriveConfiguration {
+
+    public static final ClientRegistration GOOGLE = CommonOAuth2Provider.GOOGLE.getBuilder("google")
+        .clientId("test-client")
+        .clientSecret("test-secret")
+        .build();
+
+    @Bean
+    @Primary
+    public FakeDriveServer fakeDriveServer() {
+        return new FakeDriveServer();
+    }
+
+    @Bean
+    @Primary
+    public OAuth2AuthorizedClientManager fakeAuthorizedClientManager() {
+        return request -> {
+            String principalName = request.getPrincipal().getName();
+            Instant issuedAt = Instant.now();
+            OAuth2AccessToken token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                FakeDriveServer.accessTokenFor(principalName), issuedAt, issuedAt.plus(Duration.ofHours(1)));
+            return new OAuth2AuthorizedClient(GOOGLE, principalName, token);
+        };
+    }
+}
@@ -0,0 +1,414 @@
+package com.bookmark.drive;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.Json;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.drive.model.File;
+import com.google.api.services.drive.model.FileList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 프로세스 안에서 동작하는 가짜 Google Drive API 서버
+ *
+ * Drive 클라이언트의 {@link HttpTransport}로 주입하면 실제 네트워크 대신 이 객체가 요청을 처리합니다.
+ * files.list/get/create/update/delete와 다운로드(alt=media), multipart 업로드를 구현하며,
+ * 파일은 액세스 토큰별(사용자별)로 나누어 메모리에 보관합니다.
+ *
+ * 엔드포인트별 호출 수와 주고받은 바이트 수(요청은 압축된 전송 크기)를 기록하므로
+ * 테스트에서 API 하나가 Drive를 몇 번 호출하는지 확인할 수 있습니다.
+ * 응답은 fields 파라미터와 관계없이 모든 메타데이터 필드를 반환합니다.
+ */
+public class FakeDriveServer extends HttpTransport {
+
+    public static final String LIST = "files.list";
+    public static final String GET = "files.get";
+    public static final String DOWNLOAD = "files.get(alt=media)";
+    public static final String CREATE = "files.create";
+    public static final String UPDATE = "files.update";
+    public static final String DELETE = "files.delete";
+
+    private static final String FOLDER_MIME_TYPE = "application/vnd.google-apps.folder";
+    private static final String JSON_CONTENT_TYPE = Json.MEDIA_TYPE;
+
+    private static final Pattern NAME = Pattern.compile("name='([^']*)'");
+    private static final Pattern PARENT = Pattern.compile("'([^']*)' in parents");
+    private static final Pattern MIME_TYPE = Pattern.compile("mimeType='([^']*)'");
+
+    private final JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
+
+    /** 액세스 토큰 → 파일 ID → 파일 */
+    private final Map<String, Map<String, StoredFile>> drives = new ConcurrentHashMap<>();
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    private long lastId;
+    private long lastVersion;
+
+    /**
+     * 사용자에게 발급할 가짜 액세스 토큰 (토큰별로 별도의 Drive를 가짐)
+     */
+    public static String accessTokenFor(String principalName) {
+        return "fake-token-" + principalName;
+    }
+
+    /**
+     * 기록된 호출 수와 바이트 수를 지웁니다. (파일은 유지)
+     */
+    public void resetStats() {
+        stats.clear();
+    }
+
+    /**
+     * @return 마지막 {@link #resetStats()} 이후 모든 엔드포인트의 호출 수
+     */
+    public int totalCalls() {
+        return stats.values().stream().mapToInt(s -> s.calls).sum();
+    }
+
+    /**
+     * @param endpoint 엔드포인트 이름 (예: {@link #LIST})
+     * @return 마지막 {@link #resetStats()} 이후 호출 수
+     */
+    public int calls(String endpoint) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        return endpointStats != null ? endpointStats.calls : 0;
+    }
+
+    /**
+     * @return 마지막 {@link #resetStats()} 이후 주고받은 전체 바이트 수 (요청 본문 + 응답 본문)
+     */
+    public long totalBytes() {
+        return stats.values().stream().mapToLong(s -> s.requestBytes + s.responseBytes).sum();
+    }
+
+    /**
+     * 엔드포인트별 호출 수와 바이트 수 (예산 초과 시 실패 메시지용)
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        new TreeMap<>(stats).forEach((endpoint, s) -> report
+            .append(String.format("  %-22s calls=%d, sent=%dB, received=%dB%n",
+                endpoint, s.calls, s.requestBytes, s.responseBytes)));
+        return report.length() > 0 ? report.toString() : "  (no calls)";
+    }
+
+    @Override
+    public boolean supportsMethod(String method) {
+        // PATCH(files.update)를 POST + X-HTTP-Method-Override로 바꾸지 않고 그대로 받음
+        return true;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new MockLowLevelHttpRequest(url) {
+            @Override
+            public LowLevelHttpResponse execute() throws IOException {
+                return handle(method, url, this);
+            }
+        };
+    }
+
+    private synchronized LowLevelHttpResponse handle(String method, String url, MockLowLevelHttpRequest request)
+            throws IOException {
+        byte[] sent = requestBody(request);
+        byte[] body = "gzip".equals(request.getContentEncoding()) ? gunzip(sent) : sent;
+        String override = request.getFirstHeaderValue("X-HTTP-Method-Override");
+        String effectiveMethod = override != null ? override : method;
+
+        GenericUrl genericUrl = new GenericUrl(url);
+        String path = genericUrl.getRawPath();
+        int filesIndex = path.indexOf("/files");
+        if (filesIndex < 0) {
+            throw new IllegalStateException("Unexpected Drive request: " + effectiveMethod + " " + url);
+        }
+        String rest = path.substring(filesIndex + "/files".length());
+        String fileId = rest.length() > 1 ? URLDecoder.decode(rest.substring(1), StandardCharsets.UTF_8) : null;
+        Map<String, StoredFile> files = driveOf(request);
+
+        String endpoint;
+        MockLowLevelHttpResponse response;
+        switch (effectiveMethod) {
+            case "GET":
+                if (fileId == null) {
+                    endpoint = LIST;
+                    response = list(files, (String) genericUrl.getFirst("q"));
+                } else if ("media".equals(genericUrl.getFirst("alt"))) {
+                    endpoint = DOWNLOAD;
+                    response = download(files, fileId);
+                } else {
+                    endpoint = GET;
+                    response = get(files, fileId);
+                }
+                break;
+            case "POST":
+                endpoint = CREATE;
+                response = create(files, request, genericUrl, body);
+                break;
+            case "PATCH":
+                endpoint = UPDATE;
+                response = update(files, fileId, request, genericUrl, body);
+                break;
+            case "DELETE":
+                endpoint = DELETE;
+                response = delete(files, fileId);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected Drive request: " + effectiveMethod + " " + url);
+        }
+
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, key -> new EndpointStats());
+        endpointStats.calls++;
+        endpointStats.requestBytes += sent.length;
+        endpointStats.responseBytes += Math.max(response.getContentLength(), 0);
+        return response;
+    }
+
+    private MockLowLevelHttpResponse list(Map<String, StoredFile> files, String query) throws IOException {
+        String name = match(NAME, query);
+        String parent = match(PARENT, query);
+        String mimeType = match(MIME_TYPE, query);
+
+        List<File> matches = new ArrayList<>();
+        for (StoredFile file : files.values()) {
+            if ((name == null || name.equals(file.name))
+                    && (parent == null || parent.equals(file.parent))
+                    && (mimeType == null || mimeType.equals(file.mimeType))) {
+                matches.add(file.toMetadata());
+            }
+        }
+        return json(200, new FileList().setFiles(matches));
+    }
+
+    private MockLowLevelHttpResponse get(Map<String, StoredFile> files, String fileId) throws IOException {
+        StoredFile file = files.get(fileId);
+        return file != null ? json(200, file.toMetadata()) : notFound(fileId);
+    }
+
+    private MockLowLevelHttpResponse download(Map<String, StoredFile> files, String fileId) throws IOException {
+        StoredFile file = files.get(fileId);
+        if (file == null || file.content == null) {
+            return notFound(fileId);
+        }
+        return new MockLowLevelHttpResponse()
+            .setStatusCode(200)
+            .setContentType(file.mimeType)
+            .setContent(file.content);
+    }
+
+    private MockLowLevelHttpResponse create(Map<String, StoredFile> files, MockLowLevelHttpRequest request,
+                                            GenericUrl url, byte[] body) throws IOException {
+        Upload upload = parseUpload(request, url, body);
+        File metadata = upload.metadata != null ? upload.metadata : new File();
+        if (metadata.getParents() != null && !metadata.getParents().isEmpty()
+                && !files.containsKey(metadata.getParents().get(0))) {
+            return notFound(metadata.getParents().get(0));
+        }
+
+        StoredFile file = new StoredFile();
+        file.id = "file" + (++lastId);
+        file.name = metadata.getName();
+        file.mimeType = metadata.getMimeType() != null ? metadata.getMimeType() : upload.contentType;
+        file.parent = metadata.getParents() != null && !metadata.getParents().isEmpty()
+            ? metadata.getParents().get(0) : null;
+        file.createdTime = new DateTime(System.currentTimeMillis());
+        file.write(upload.content, ++lastVersion);
+        files.put(file.id, file);
+        return json(200, file.toMetadata());
+    }
+
+    private MockLowLevelHttpResponse update(Map<String, StoredFile> files, String fileId,
+                                            MockLowLevelHttpRequest request, GenericUrl url, byte[] body)
+            throws IOException {
+        StoredFile file = files.get(fileId);
+        if (file == null) {
+            return notFound(fileId);
+        }
+        Upload upload = parseUpload(request, url, body);
+        if (upload.metadata != null && upload.metadata.getName() != null) {
+            file.name = upload.metadata.getName();
+        }
+        file.write(upload.content != null ? upload.content : file.content, ++lastVersion);
+        return json(200, file.toMetadata());
+    }
+
+    private MockLowLevelHttpResponse delete(Map<String, StoredFile> files, String fileId) throws IOException {
+        if (files.remove(fileId) == null) {
+            return notFound(fileId);
+        }
+        return new MockLowLevelHttpResponse().setStatusCode(204);
+    }
+
+    /**
+     * 업로드 요청 본문을 메타데이터와 파일 내용으로 나눕니다.
+     * (uploadType=multipart: JSON 메타데이터 + 내용, media: 내용만, 업로드 경로가 아니면 메타데이터만)
+     */
+    private Upload parseUpload(MockLowLevelHttpRequest request, GenericUrl url, byte[] body) throws IOException {
+        Upload upload = new Upload();
+        String uploadType = (String) url.getFirst("uploadType");
+        if ("multipart".equals(uploadType)) {
+            List<byte[][]> parts = multipartParts(request.getContentType(), body);
+            upload.metadata = jsonFactory.fromInputStream(new ByteArrayInputStream(parts.get(0)[1]),
+                StandardCharsets.UTF_8, File.class);
+            if (parts.size() > 1) {
+                upload.contentType = new String(parts.get(1)[0], StandardCharsets.ISO_8859_1);
+                upload.content = parts.get(1)[1];
+            }
+        } else if ("media".equals(uploadType)) {
+            upload.contentType = request.getContentType();
+            upload.content = body;
+        } else if (body.length > 0) {
+            upload.metadata = jsonFactory.fromInputStream(new ByteArrayInputStream(body),
+                StandardCharsets.UTF_8, File.class);
+        }
+        return upload;
+    }
+
+    /**
+     * multipart/related 본문을 파트별 [Content-Type, 내용]으로 나눕니다.
+     */
+    private static List<byte[][]> multipartParts(String contentType, byte[] body) {
+        String boundary = contentType.substring(contentType.indexOf("boundary=") + "boundary=".length())
+            .replace("\"", "").trim();
+        // 바이트를 그대로 보존하도록 ISO-8859-1로 나눔
+        String text = new String(body, StandardCharsets.ISO_8859_1);
+        List<byte[][]> parts = new ArrayList<>();
+        for (String part : text.split(Pattern.quote("--" + boundary))) {
+            if (part.isEmpty() || part.startsWith("--")) {
+                continue;
+            }
+            String trimmed = part.startsWith("\r\n") ? part.substring(2) : part;
+            int headerEnd = trimmed.startsWith("\r\n") ? 0 : trimmed.indexOf("\r\n\r\n");
+            String headers = trimmed.substring(0, Math.max(headerEnd, 0));
+            String content = trimmed.substring(headerEnd + (headerEnd == 0 ? 2 : 4));
+            if (content.endsWith("\r\n")) {
+                content = content.substring(0, content.length() - 2);
+            }
+            String partType = "";
+            for (String header : headers.split("\r\n")) {
+                if (header.toLowerCase().startsWith("content-type:")) {
+                    partType = header.substring("content-type:".length()).trim();
+                }
+            }
+            parts.add(new byte[][] {
+                partType.getBytes(StandardCharsets.ISO_8859_1),
+                content.getBytes(StandardCharsets.ISO_8859_1)
+            });
+        }
+        return parts;
+    }
+
+    private Map<String, StoredFile> driveOf(MockLowLevelHttpRequest request) {
+        String authorization = request.getFirstHeaderValue("Authorization");
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new IllegalStateException("Drive request without an access token");
+        }
+        return drives.computeIfAbsent(authorization.substring("Bearer ".length()), key -> new ConcurrentHashMap<>());
+    }
+
+    private MockLowLevelHttpResponse json(int status, Object body) throws IOException {
+        return new MockLowLevelHttpResponse()
+            .setStatusCode(status)
+            .setContentType(JSON_CONTENT_TYPE)
+            .setContent(jsonFactory.toByteArray(body));
+    }
+
+    private static MockLowLevelHttpResponse notFound(String fileId) {
+        String error = "{\"error\":{\"code\":404,\"message\":\"File not found: " + fileId + "\","
+            + "\"errors\":[{\"domain\":\"global\",\"reason\":\"notFound\",\"message\":\"File not found: " + fileId + "\"}]}}";
+        return new MockLowLevelHttpResponse()
+            .setStatusCode(404)
+            .setReasonPhrase("Not Found")
+            .setContentType(JSON_CONTENT_TYPE)
+            .setContent(error);
+    }
+
+    private static String match(Pattern pattern, String query) {
+        if (query == null) {
+            return null;
+        }
+        Matcher matcher = pattern.matcher(query);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static byte[] requestBody(LowLevelHttpRequest request) throws IOException {
+        if (request.getStreamingContent() == null) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        request.getStreamingContent().writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        if (compressed.length == 0) {
+            return compressed;
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static final class StoredFile {
+        private String id;
+        private String name;
+        private String mimeType;
+        private String parent;
+        private DateTime createdTime;
+        private DateTime modifiedTime;
+        private long version;
+        private byte[] content;
+
+        private void write(byte[] newContent, long newVersion) {
+            content = newContent;
+            version = newVersion;
+            modifiedTime = new DateTime(System.currentTimeMillis());
+        }
+
+        private File toMetadata() {
+            return new File()
+                .setId(id)
+                .setName(name)
+                .setMimeType(mimeType)
+                .setParents(parent != null ? Arrays.asList(parent) : null)
+                .setVersion(version)
+                .setCreatedTime(createdTime)
+                .setModifiedTime(modifiedTime)
+                .setTrashed(false)
+                .setSize(content != null ? (long) content.length : null);
+        }
+    }
+
+    private static final class Upload {
+        private File metadata;
+        private String contentType;
+        private byte[] content;
+    }
+
+    private static final class EndpointStats {
+        private int calls;
+        private long requestBytes;
+        private long responseBytes;
+    }
+}
@@ -0,0 +1,90 @@
+package com.bookmark.service;
+
+import com.bookmark.dto.BookmarkPageDTO;
+import com.bookmark.model.Bookmark;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조회 색인의 사본이 원본과 내용을 공유하면서도 서로의 변경을 보지 않는지 확인합니다.
+ *
+ * 여러 조각에 걸치도록 북마크를 넉넉히 만들고, 정렬 색인까지 만든 뒤에 복사합니다.
+ */
+class BookmarkLookupIndexTest {
+
+    private static final int SIZE = 3000;
+
+    @Test
+    @DisplayName("changes to a copy are not visible in the original, and the copy pages like a rebuilt index")
+    void copiesAreIsolated() {
+        List<Bookmark> bookmarks = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            bookmarks.add(bookmark("bookmark-" + i, "제목 " + (i * 7919 % SIZE), "folder-" + (i % 3), "tag-" + (i % 5)));
+        }
+        BookmarkLookupIndex original = BookmarkLookupIndex.build(bookmarks);
+        List<List<String>> before = pages(original);
+
+        BookmarkLookupIndex copy = original.copy();
+        copy.put(bookmark("bookmark-10", "바뀐 제목", "folder-2", "tag-4"));
+        copy.put(bookmark("bookmark-new", "새 제목", "folder-1", "tag-1"));
+        copy.remove("bookmark-20");
+        for (int i = 100; i < 700; i++) {
+            // 한 조각이 넘치도록 같은 범위에 몰아서 추가
+            copy.put(bookmark("bookmark-more-" + i, "제목 0 " + i, "folder-0", "tag-0"));
+        }
+
+        assertThat(pages(original)).isEqualTo(before);
+        assertThat(original.get("bookmark-10").getTitle()).isEqualTo(bookmarks.get(10).getTitle());
+        assertThat(original.get("bookmark-20")).isNotNull();
+        assertThat(original.bookmarks()).isEqualTo(bookmarks);
+
+        assertThat(copy.size()).isEqualTo(SIZE + 600);
+        assertThat(copy.bookmarks().get(10).getTitle()).isEqualTo("바뀐 제목");
+        assertThat(copy.bookmarks()).extracting(Bookmark::getId).doesNotContain("bookmark-20");
+        assertThat(pages(copy)).isEqualTo(pages(BookmarkLookupIndex.build(copy.bookmarks())));
+    }
+
+    /**
+     * 모든 정렬과 방향으로 전체/폴더/태그 범위를 끝까지 넘겨 본 북마크 ID 목록
+     */
+    private static List<List<String>> pages(BookmarkLookupIndex index) {
+        List<List<String>> pages = new ArrayList<>();
+        for (BookmarkSort sort : BookmarkSort.values()) {
+            for (boolean descending : new boolean[]{false, true}) {
+                pages.add(all(after -> index.page(sort, descending, after, 100)));
+                pages.add(all(after -> index.pageInFolder("folder-0", sort, descending, after, 100)));
+                pages.add(all(after -> index.pageWithTag("tag-1", sort, descending, after, 100)));
+            }
+        }
+        return pages;
+    }
+
+    private static List<String> all(Function<BookmarkCursor, BookmarkPageDTO> page) {
+        List<String> ids = new ArrayList<>();
+        BookmarkCursor after = null;
+        do {
+            BookmarkPageDTO current = page.apply(after);
+            current.getItems().forEach(bookmark -> ids.add(bookmark.getId()));
+            after = current.getNextCursor() != null ? BookmarkCursor.decode(current.getNextCursor()) : null;
+        } while (after != null);
+        return ids;
+    }
+
+    private static Bookmark bookmark(String id, String title, String folderId, String tag) {
+        return Bookmark.builder()
+            .id(id)
+            .url("https://example.com/" + id)
+            .title(title)
+            .folderId(folderId)
+            .tags(new ArrayList<>(List.of(tag)))
+            .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+            .build();
+    }
+}
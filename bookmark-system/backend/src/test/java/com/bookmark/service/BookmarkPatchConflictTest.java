@@ -0,0 +1,139 @@
+package com.bookmark.service;
+
+import com.bookmark.dto.OperationResultDTO;
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import com.bookmark.model.BookmarkOperation;
+import com.bookmark.model.Folder;
+import com.bookmark.model.Tag;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+/**
+ * 저장 충돌 후 PATCH를 다시 적용할 때 속성 단위로 충돌을 판단하는지 확인합니다.
+ *
+ * 이 서버가 북마크 제목을 바꾸는 PATCH를 저장하기 직전에 다른 서버가 같은 북마크를 저장하여
+ * 북마크 파일 저장이 충돌하는 경우를 만듭니다.
+ */
+class BookmarkPatchConflictTest extends LocalStorageTestSupport {
+
+    private BookmarkDataCache dataCache;
+    private BookmarkStorage storage;
+    private BookmarkWriteQueue writeQueue;
+
+    /** 이 서버의 북마크 파일 저장 직전에 다른 서버가 저장할 북마크 */
+    private final AtomicReference<Bookmark> otherServerSave = new AtomicReference<>();
+
+    @BeforeEach
+    void services() throws IOException {
+        StorageBackend storageBackend = spy(backend);
+        doAnswer(invocation -> {
+            Bookmark other = otherServerSave.getAndSet(null);
+            if (other != null) {
+                writeFile(SingleFileBookmarkStorage.BOOKMARKS_FILE, data(other));
+            }
+            return invocation.callRealMethod();
+        }).when(storageBackend).writeFile(eq(SingleFileBookmarkStorage.BOOKMARKS_FILE), any(), any(), any());
+
+        dataCache = new BookmarkDataCache(meterRegistry);
+        storage = new SingleFileBookmarkStorage(storageBackend, json);
+        writeQueue = new BookmarkWriteQueue(storage, dataCache, new EntityFileStore(storageBackend, meterRegistry),
+            meterRegistry);
+        ReflectionTestUtils.setField(writeQueue, "coalesceWindowMs", 60_000L);
+        ReflectionTestUtils.setField(writeQueue, "maxPendingOperations", 1);
+        ReflectionTestUtils.setField(writeQueue, "maxConflictRetries", 3);
+        ReflectionTestUtils.setField(writeQueue, "maxRetryDelayMs", 60_000L);
+
+        writeFile(SingleFileBookmarkStorage.BOOKMARKS_FILE, data(bookmark("제목", "설명")));
+    }
+
+    @Test
+    @DisplayName("a PATCH is re-applied when another server changed a different field")
+    void differentFieldsMerge() throws IOException {
+        patchTitle(bookmark("제목", "다른 서버의 설명"));
+
+        assertThat(meterRegistry.find("bookmark.write.conflict.dropped").counter()).isNull();
+        assertThat(saved()).satisfies(bookmark -> {
+            assertThat(bookmark.getTitle()).isEqualTo("새 제목");
+            assertThat(bookmark.getDescription()).isEqualTo("다른 서버의 설명");
+        });
+    }
+
+    @Test
+    @DisplayName("a PATCH is dropped when another server changed the same field")
+    void sameFieldConflicts() throws IOException {
+        patchTitle(bookmark("다른 서버의 제목", "설명"));
+
+        assertThat(meterRegistry.counter("bookmark.write.conflict.dropped").count()).isEqualTo(1.0);
+        assertThat(saved().getTitle()).isEqualTo("다른 서버의 제목");
+    }
+
+    /**
+     * 제목을 바꾸는 PATCH를 적용하고, 북마크 파일을 쓰기 직전에 다른 서버가 other를 저장하게 합니다.
+     */
+    private void patchTitle(Bookmark other) throws IOException {
+        StoredFile head = storage.head();
+        BookmarkData data = storage.read(head);
+        dataCache.put(USER_KEY, data, head.getVersion());
+        List<Folder> folders = new ArrayList<>();
+        List<Tag> tags = new ArrayList<>();
+
+        BookmarkOperationApplier applier = new BookmarkOperationApplier(data.getBookmarks(), folders, tags,
+            dataCache.getLookupIndex(USER_KEY, data));
+        BookmarkOperation patch = BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.PATCH)
+            .target(BookmarkOperation.Target.BOOKMARK)
+            .id("bookmark-1")
+            .patch(JsonNodeFactory.instance.objectNode().put("title", "새 제목"))
+            .build();
+        assertThat(applier.apply(0, patch).getStatus()).isEqualTo(OperationResultDTO.Status.OK);
+        BookmarkData next = applier.toBookmarkData(data);
+        dataCache.put(USER_KEY, next, head.getVersion(), applier.getLookupIndex());
+
+        otherServerSave.set(other);
+        synchronized (writeQueue.lockFor(USER_KEY)) {
+            writeQueue.enqueue(USER_KEY, next, folders, folders, tags, tags, applier);
+        }
+        assertThat(meterRegistry.counter("bookmark.write.conflicts", "file", SingleFileBookmarkStorage.BOOKMARKS_FILE)
+            .count()).isEqualTo(1.0);
+    }
+
+    private Bookmark saved() throws IOException {
+        List<Bookmark> bookmarks = readFile(SingleFileBookmarkStorage.BOOKMARKS_FILE, BookmarkData.class).getBookmarks();
+        assertThat(bookmarks).hasSize(1);
+        return bookmarks.get(0);
+    }
+
+    private static BookmarkData data(Bookmark bookmark) {
+        return BookmarkData.builder()
+            .version("1.0")
+            .bookmarks(new ArrayList<>(List.of(bookmark)))
+            .build();
+    }
+
+    private static Bookmark bookmark(String title, String description) {
+        return Bookmark.builder()
+            .id("bookmark-1")
+            .url("https://example.com/")
+            .title(title)
+            .description(description)
+            .tags(new ArrayList<>())
+            .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+            .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.bookmark.service;
+
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import com.bookmark.model.BookmarkOperation;
+import com.bookmark.model.Folder;
+import com.bookmark.model.Tag;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 쓰기 대기열이 저장 충돌 후 대기 중인 작업을 다시 적용하는 방식을 확인합니다.
+ *
+ * 북마크와 폴더를 함께 바꾼 일괄 작업을 저장하는 도중, 북마크 파일을 쓴 직후에
+ * 다른 서버가 폴더 파일을 저장하여 폴더 저장만 충돌하는 경우를 만듭니다.
+ */
+class BookmarkWriteQueueConflictTest extends LocalStorageTestSupport {
+
+    private StorageBackend storageBackend;
+    private BookmarkDataCache dataCache;
+    private EntityFileStore entityStore;
+    private BookmarkStorage storage;
+    private BookmarkWriteQueue writeQueue;
+
+    /** 북마크 파일을 처음 쓴 직후 다른 서버의 폴더 저장을 끼워 넣을지 여부 */
+    private final AtomicBoolean interleaveFolderSave = new AtomicBoolean();
+
+    @BeforeEach
+    void services() throws IOException {
+        storageBackend = spy(backend);
+        doAnswer(invocation -> {
+            Object written = invocation.callRealMethod();
+            if (interleaveFolderSave.getAndSet(false)) {
+                // 다른 서버가 같은 폴더의 색만 바꾸어 저장
+                writeFile(BookmarkService.FOLDERS_FILE, List.of(folder("일반", "#000000")));
+            }
+            return written;
+        }).when(storageBackend).writeFile(eq(SingleFileBookmarkStorage.BOOKMARKS_FILE), any(), any(), any());
+
+        dataCache = new BookmarkDataCache(meterRegistry);
+        entityStore = new EntityFileStore(storageBackend, meterRegistry);
+        storage = new SingleFileBookmarkStorage(storageBackend, json);
+        writeQueue = new BookmarkWriteQueue(storage, dataCache, entityStore, meterRegistry);
+        ReflectionTestUtils.setField(writeQueue, "coalesceWindowMs", 60_000L);
+        ReflectionTestUtils.setField(writeQueue, "maxPendingOperations", 1);
+        ReflectionTestUtils.setField(writeQueue, "maxConflictRetries", 3);
+        ReflectionTestUtils.setField(writeQueue, "maxRetryDelayMs", 60_000L);
+
+        writeFile(SingleFileBookmarkStorage.BOOKMARKS_FILE, BookmarkData.builder()
+            .version("1.0")
+            .bookmarks(new ArrayList<>(List.of(bookmark("existing"))))
+            .build());
+        writeFile(BookmarkService.FOLDERS_FILE, List.of(folder("일반", "#4285F4")));
+        writeFile(BookmarkService.TAGS_FILE, List.of());
+    }
+
+    @Test
+    @DisplayName("a conflict after a partial write re-applies only the unwritten operations")
+    void conflictAfterPartialWrite() throws IOException {
+        StoredFile head = storage.head();
+        BookmarkData data = storage.read(head);
+        dataCache.put(USER_KEY, data, head.getVersion());
+        List<Folder> folders = entityStore.load(USER_KEY, BookmarkService.FOLDERS_FILE, BookmarkService.FOLDER_LIST);
+        List<Tag> tags = new ArrayList<>();
+
+        BookmarkOperationApplier applier = new BookmarkOperationApplier(data.getBookmarks(), folders, tags,
+            dataCache.getLookupIndex(USER_KEY, data));
+        BookmarkOperation create = BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.CREATE)
+            .target(BookmarkOperation.Target.BOOKMARK)
+            .id("created")
+            .bookmark(bookmark("created"))
+            .build();
+        BookmarkOperation rename = BookmarkOperation.builder()
+            .type(BookmarkOperation.Type.PATCH)
+            .target(BookmarkOperation.Target.FOLDER)
+            .id("folder-1")
+            .patch(JsonNodeFactory.instance.objectNode().put("name", "업무"))
+            .build();
+        assertThat(applier.apply(0, create).getStatus()).isEqualTo(com.bookmark.dto.OperationResultDTO.Status.OK);
+        assertThat(applier.apply(1, rename).getStatus()).isEqualTo(com.bookmark.dto.OperationResultDTO.Status.OK);
+        BookmarkData next = applier.toBookmarkData(data);
+        dataCache.put(USER_KEY, next, head.getVersion(), applier.getLookupIndex());
+
+        interleaveFolderSave.set(true);
+        synchronized (writeQueue.lockFor(USER_KEY)) {
+            writeQueue.enqueue(USER_KEY, next, folders, applier.getFolders(), tags, applier.getTags(), applier);
+        }
+
+        // 북마크 파일은 한 번만 쓰고, 이미 저장된 북마크 생성은 다시 적용하지 않음
+        verify(storageBackend, times(1))
+            .writeFile(eq(SingleFileBookmarkStorage.BOOKMARKS_FILE), any(), any(), any());
+        assertThat(meterRegistry.counter("bookmark.write.conflicts", "file", BookmarkService.FOLDERS_FILE).count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.find("bookmark.write.conflict.dropped").counter()).isNull();
+        assertThat(writeQueue.pendingBookmarks(USER_KEY)).isNull();
+        assertThat(writeQueue.pendingFolders(USER_KEY)).isNull();
+
+        // 폴더 이름 변경은 다른 서버가 바꾼 색 위에 다시 적용됨
+        List<Folder> saved = entityStore.reload(USER_KEY, BookmarkService.FOLDERS_FILE, BookmarkService.FOLDER_LIST);
+        assertThat(saved).singleElement().satisfies(folder -> {
+            assertThat(folder.getName()).isEqualTo("업무");
+            assertThat(folder.getColor()).isEqualTo("#000000");
+        });
+        assertThat(readFile(SingleFileBookmarkStorage.BOOKMARKS_FILE, BookmarkData.class).getBookmarks())
+            .extracting(Bookmark::getId)
+            .containsExactly("existing", "created");
+    }
+
+    private static Bookmark bookmark(String id) {
+        return Bookmark.builder()
+            .id(id)
+            .url("https://example.com/" + id)
+            .title(id)
+            .folderId("folder-1")
+            .tags(new ArrayList<>())
+            .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+            .build();
+    }
+
+    private static Folder folder(String name, String color) {
+        return Folder.builder().id("folder-1").name(name).color(color).order(1).build();
+    }
+}
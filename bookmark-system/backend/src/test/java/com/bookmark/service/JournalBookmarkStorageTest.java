@@ -0,0 +1,106 @@
+package com.bookmark.service;
+
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import com.bookmark.model.BookmarkJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 저널 저장 방식이 압축한 뒤에도 같은 데이터를 다시 만들어 내는지 확인합니다.
+ */
+class JournalBookmarkStorageTest extends LocalStorageTestSupport {
+
+    private JournalBookmarkStorage storage;
+
+    @BeforeEach
+    void storage() {
+        storage = journalStorage();
+        ReflectionTestUtils.setField(storage, "compactOperations", 2);
+    }
+
+    @AfterEach
+    void shutdown() {
+        storage.shutdown();
+    }
+
+    @Test
+    @DisplayName("the journal replays onto the compacted snapshot, including saves based on the pre-compaction version")
+    void replayAfterCompaction() throws IOException {
+        StoredFile head = storage.write(data(bookmark("a", "A"), bookmark("b", "B")), null, null);
+        String initialSnapshot = journal().getSnapshotFileName();
+
+        Bookmark renamed = bookmark("a", "A2");
+        head = storage.write(data(renamed, bookmark("b", "B")),
+            new BookmarkChanges(List.of(renamed), List.of()), head.getVersion());
+        head = storage.write(data(renamed),
+            new BookmarkChanges(List.of(), List.of("b")), head.getVersion());
+
+        // 두 번째 변경으로 임계값에 도달하여 백그라운드에서 압축
+        await().atMost(Duration.ofSeconds(10)).until(() -> {
+            BookmarkJournal journal = journal();
+            return journal.getEntries().isEmpty() && !initialSnapshot.equals(journal.getSnapshotFileName());
+        });
+        BookmarkJournal compacted = journal();
+        assertThat(compacted.getRetired()).containsExactly(initialSnapshot);
+        assertThat(readFile(compacted.getSnapshotFileName(), BookmarkData.class).getBookmarks())
+            .extracting(Bookmark::getTitle)
+            .containsExactly("A2");
+
+        // 압축 전에 읽은 버전으로 저장해도 이 서버의 압축은 충돌로 보지 않음
+        Bookmark created = bookmark("c", "C");
+        storage.write(data(renamed, created),
+            new BookmarkChanges(List.of(created), List.of()), head.getVersion());
+        assertThat(journal().getEntries()).hasSize(1);
+
+        // 다른 서버가 처음 읽어도 스냅샷에 남은 변경을 다시 반영한 결과를 봄
+        JournalBookmarkStorage other = journalStorage();
+        try {
+            assertThat(other.read(other.head()).getBookmarks())
+                .extracting(Bookmark::getTitle)
+                .containsExactly("A2", "C");
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    private JournalBookmarkStorage journalStorage() {
+        JournalBookmarkStorage journalStorage = new JournalBookmarkStorage(backend, json, userContext);
+        ReflectionTestUtils.setField(journalStorage, "compactOperations", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(journalStorage, "compactBytes", Long.MAX_VALUE);
+        return journalStorage;
+    }
+
+    private BookmarkJournal journal() throws IOException {
+        return readFile(JournalBookmarkStorage.JOURNAL_FILE, BookmarkJournal.class);
+    }
+
+    private static BookmarkData data(Bookmark... bookmarks) {
+        return BookmarkData.builder()
+            .version("1.0")
+            .bookmarks(new ArrayList<>(List.of(bookmarks)))
+            .build();
+    }
+
+    private static Bookmark bookmark(String id, String title) {
+        return Bookmark.builder()
+            .id(id)
+            .url("https://example.com/" + id)
+            .title(title)
+            .tags(new ArrayList<>())
+            .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+            .build();
+    }
+}
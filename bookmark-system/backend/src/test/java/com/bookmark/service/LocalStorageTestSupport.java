@@ -0,0 +1,63 @@
+package com.bookmark.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 로컬 디스크 저장소({@link LocalStorageBackend})로 저장 방식과 쓰기 대기열을 검사하는 테스트의 공통 설정
+ *
+ * 테스트마다 새 임시 디렉터리를 쓰고, 인증 없이 고정된 사용자 키로 동작합니다.
+ * 저장소는 Mockito spy로 감쌀 수 있도록 {@link #backend}를 그대로 노출합니다.
+ */
+abstract class LocalStorageTestSupport {
+
+    protected static final String USER_KEY = "google:storage-test-user";
+
+    @TempDir
+    protected Path root;
+
+    protected SimpleMeterRegistry meterRegistry;
+    protected UserContext userContext;
+    protected LocalStorageBackend backend;
+    protected BookmarkJsonCodec json;
+    protected String folderId;
+
+    @BeforeEach
+    void localStorage() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        userContext = new UserContext() {
+            @Override
+            public String getCurrentUserKey() {
+                return USER_KEY;
+            }
+        };
+        backend = new LocalStorageBackend(userContext);
+        ReflectionTestUtils.setField(backend, "rootDirectory", root.toString());
+        ReflectionTestUtils.setField(backend, "folderName", "BookmarkService");
+        json = new BookmarkJsonCodec(meterRegistry);
+        folderId = backend.getAppFolderId();
+    }
+
+    /**
+     * 앱 폴더의 파일을 읽습니다.
+     */
+    protected <T> T readFile(String fileName, Class<T> type) throws IOException {
+        StoredFile file = backend.getFileMetadata(fileName, folderId);
+        try (InputStream content = backend.openFileById(file.getId())) {
+            return json.read(content, type);
+        }
+    }
+
+    /**
+     * 다른 서버가 쓴 것처럼 앱 폴더에 파일을 씁니다.
+     */
+    protected StoredFile writeFile(String fileName, Object value) throws IOException {
+        return backend.writeFile(fileName, json.content(value), folderId);
+    }
+}
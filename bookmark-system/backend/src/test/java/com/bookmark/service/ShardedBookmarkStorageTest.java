@@ -0,0 +1,108 @@
+package com.bookmark.service;
+
+import com.bookmark.model.Bookmark;
+import com.bookmark.model.BookmarkData;
+import com.bookmark.model.BookmarkManifest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 분할 저장 방식이 매니페스트를 기준으로 세그먼트 파일을 만들고 지우는 방식을 확인합니다.
+ */
+class ShardedBookmarkStorageTest extends LocalStorageTestSupport {
+
+    private ShardedBookmarkStorage storage;
+
+    @BeforeEach
+    void storage() {
+        storage = new ShardedBookmarkStorage(backend, json, userContext);
+        ReflectionTestUtils.setField(storage, "segmentCount", 4);
+    }
+
+    @Test
+    @DisplayName("a manifest conflict deletes the segments written for that save")
+    void manifestConflictDeletesCreatedSegments() throws IOException {
+        StoredFile head = storage.write(data(bookmark("a", "A"), bookmark("b", "B")), null, null);
+        Set<String> before = segmentFiles();
+        assertThat(before).hasSize(4);
+
+        // 다른 서버가 매니페스트를 저장
+        writeFile(ShardedBookmarkStorage.MANIFEST_FILE,
+            readFile(ShardedBookmarkStorage.MANIFEST_FILE, BookmarkManifest.class));
+
+        Bookmark renamed = bookmark("a", "A2");
+        BookmarkChanges changes = new BookmarkChanges(List.of(renamed), List.of());
+        assertThatThrownBy(() -> storage.write(data(renamed, bookmark("b", "B")), changes, head.getVersion()))
+            .isInstanceOf(DriveWriteConflictException.class);
+
+        // 이번 저장의 세그먼트는 삭제되고 매니페스트가 가리키는 데이터는 그대로
+        assertThat(segmentFiles()).isEqualTo(before);
+        assertThat(storage.read(storage.head()).getBookmarks())
+            .extracting(Bookmark::getTitle)
+            .containsExactly("A", "B");
+    }
+
+    @Test
+    @DisplayName("replaced segments are kept for one save and deleted by the next one")
+    void retiredSegmentsDeletedOnNextSave() throws IOException {
+        StoredFile head = storage.write(data(bookmark("a", "A"), bookmark("b", "B")), null, null);
+        Set<String> initial = segmentFiles();
+
+        Bookmark first = bookmark("a", "A2");
+        head = storage.write(data(first, bookmark("b", "B")),
+            new BookmarkChanges(List.of(first), List.of()), head.getVersion());
+        Set<String> afterFirst = segmentFiles();
+        // 바뀐 세그먼트 하나만 새로 쓰고, 교체된 세그먼트는 이전 매니페스트를 읽는 요청을 위해 남김
+        assertThat(afterFirst).hasSize(5).containsAll(initial);
+        List<String> retired = readFile(ShardedBookmarkStorage.MANIFEST_FILE, BookmarkManifest.class).getRetired();
+        assertThat(retired).hasSize(1);
+
+        Bookmark second = bookmark("a", "A3");
+        storage.write(data(second, bookmark("b", "B")),
+            new BookmarkChanges(List.of(second), List.of()), head.getVersion());
+
+        assertThat(segmentFiles()).hasSize(5).doesNotContainAnyElementsOf(retired);
+        assertThat(storage.read(storage.head()).getBookmarks())
+            .extracting(Bookmark::getTitle)
+            .containsExactly("A3", "B");
+    }
+
+    private Set<String> segmentFiles() throws IOException {
+        Set<String> names = new TreeSet<>();
+        for (StoredFile file : backend.listFilesInFolder(folderId)) {
+            if (file.getName().startsWith("bookmarks-seg-")) {
+                names.add(file.getName());
+            }
+        }
+        return names;
+    }
+
+    private static BookmarkData data(Bookmark... bookmarks) {
+        return BookmarkData.builder()
+            .version("1.0")
+            .bookmarks(new ArrayList<>(List.of(bookmarks)))
+            .build();
+    }
+
+    private static Bookmark bookmark(String id, String title) {
+        return Bookmark.builder()
+            .id(id)
+            .url("https://example.com/" + id)
+            .title(title)
+            .tags(new ArrayList<>())
+            .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id.charAt(0)))
+            .build();
+    }
+}
@@ -17,6 +17,8 @@ const queryClient = new QueryClient({
     queries: {
       retry: 1,
       refetchOnWindowFocus: false,
+      // 첫 화면 데이터로 채운 조회가 화면을 열자마자 다시 요청되지 않도록 (변경 후에는 invalidate로 갱신)
+      staleTime: 30_000,
     },
   },
 });
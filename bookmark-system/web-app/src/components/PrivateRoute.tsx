@@ -1,7 +1,9 @@
 import React from 'react';
 import { Navigate } from 'react-router-dom';
 import { CircularProgress, Box } from '@mui/material';
+import { useQuery, useQueryClient } from '@tanstack/react-query';
 import { useAuth } from '../contexts/AuthContext';
+import bookmarkService, { BOOKMARK_PAGE_SIZE } from '../services/bookmarkService';
 
 interface PrivateRouteProps {
   children: React.ReactNode;
@@ -9,8 +11,36 @@ interface PrivateRouteProps {
 
 const PrivateRoute: React.FC<PrivateRouteProps> = ({ children }) => {
   const { user, loading } = useAuth();
+  const queryClient = useQueryClient();
 
-  if (loading) {
+  // 첫 화면 데이터를 한 번에 받아 화면별 조회 캐시를 채움 (화면마다 따로 요청하지 않도록)
+  const { isLoading: bootstrapLoading } = useQuery({
+    queryKey: ['bootstrap'],
+    queryFn: async () => {
+      const bootstrap = await bookmarkService.getBootstrap({
+        limit: BOOKMARK_PAGE_SIZE,
+        sort: 'createdAt',
+        order: 'desc',
+      });
+      if (bootstrap.bookmarkPage) {
+        // 북마크 화면의 기본 조회 (전체 폴더, 생성일 순)
+        queryClient.setQueryData(['bookmarks', 'all', 'createdAt'], {
+          pages: [bootstrap.bookmarkPage],
+          pageParams: [null],
+        });
+      }
+      queryClient.setQueryData(['folders'], bootstrap.folders);
+      queryClient.setQueryData(['tags'], bootstrap.tags);
+      queryClient.setQueryData(['bookmarks', 'folderCounts'], bootstrap.folderCounts);
+      queryClient.setQueryData(['bookmarks', 'tagCounts'], bootstrap.tagCounts);
+      return bootstrap;
+    },
+    enabled: !!user,
+    staleTime: Infinity,
+    retry: false,
+  });
+
+  if (loading || (user && bootstrapLoading)) {
     return (
       <Box
         display="flex"
@@ -27,7 +57,8 @@ const PrivateRoute: React.FC<PrivateRouteProps> = ({ children }) => {
     return <Navigate to="/login" replace />;
   }
 
+  // 첫 화면 데이터 요청이 실패해도 각 화면이 직접 조회하므로 그대로 진행
   return <>{children}</>;
 };
 
-export default PrivateRoute;
\ No newline at end of file
+export default PrivateRoute;
@@ -18,7 +18,7 @@ import {
 } from '@mui/material';
 import { Save as SaveIcon, Cancel as CancelIcon } from '@mui/icons-material';
 import { useQuery, useMutation } from '@tanstack/react-query';
-import bookmarkService from '../services/bookmarkService';
+import bookmarkService, { mergePatchOf } from '../services/bookmarkService';
 import type { Bookmark, Folder } from '../services/bookmarkService';
 
 const BookmarkFormPage: React.FC = () => {
@@ -59,6 +59,10 @@ const BookmarkFormPage: React.FC = () => {
   // 북마크 생성/수정 mutation
   const saveMutation = useMutation({
     mutationFn: async (data: Bookmark) => {
+      if (isEdit && existingBookmark) {
+        // 바뀐 속성만 보내 다른 기기에서 바꾼 속성이나 화면에 없는 속성(metadata 등)을 덮어쓰지 않음
+        return await bookmarkService.patchBookmark(id!, mergePatchOf(existingBookmark, data));
+      }
       if (isEdit) {
         return await bookmarkService.updateBookmark(id!, data);
       }
@@ -9,6 +9,7 @@ import {
   Grid,
   Chip,
   Avatar,
+  Button,
   TextField,
   FormControl,
   InputLabel,
@@ -27,27 +28,45 @@ import {
   FilterList as FilterIcon,
 } from '@mui/icons-material';
 import { useNavigate } from 'react-router-dom';
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
-import bookmarkService from '../services/bookmarkService';
-import type { Bookmark, Folder } from '../services/bookmarkService';
+import { useQuery, useInfiniteQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import bookmarkService, { BOOKMARK_PAGE_SIZE } from '../services/bookmarkService';
+import type { BookmarkPageParams, BookmarkSortKey } from '../services/bookmarkService';
 
 const BookmarksPage: React.FC = () => {
   const navigate = useNavigate();
   const queryClient = useQueryClient();
   const [selectedFolder, setSelectedFolder] = useState<string>('all');
   const [searchQuery, setSearchQuery] = useState('');
+  const [sortKey, setSortKey] = useState<BookmarkSortKey>('createdAt');
 
-  // 북마크 조회
-  const { data: bookmarks, isLoading: bookmarksLoading } = useQuery({
-    queryKey: ['bookmarks', selectedFolder],
-    queryFn: async () => {
+  // 북마크 조회 (서버에서 정렬된 페이지 단위로 가져오기)
+  const {
+    data: bookmarkPages,
+    isLoading: bookmarksLoading,
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery({
+    queryKey: ['bookmarks', selectedFolder, sortKey],
+    queryFn: async ({ pageParam }) => {
+      const params: BookmarkPageParams = {
+        limit: BOOKMARK_PAGE_SIZE,
+        cursor: pageParam,
+        sort: sortKey,
+        order: sortKey === 'title' ? 'asc' : 'desc',
+      };
       if (selectedFolder === 'all') {
-        return await bookmarkService.getAllBookmarks();
+        return await bookmarkService.getBookmarksPage(params);
       }
-      return await bookmarkService.getBookmarksByFolder(selectedFolder);
+      return await bookmarkService.getBookmarksByFolderPage(selectedFolder, params);
     },
+    initialPageParam: null as string | null,
+    getNextPageParam: (lastPage) => lastPage.nextCursor ?? null,
   });
 
+  const bookmarks = bookmarkPages?.pages.flatMap((page) => page.items);
+  const totalBookmarks = bookmarkPages?.pages[0]?.total ?? 0;
+
   // 폴더 조회
   const { data: folders } = useQuery({
     queryKey: ['folders'],
@@ -66,6 +85,10 @@ const BookmarksPage: React.FC = () => {
     setSelectedFolder(event.target.value);
   };
 
+  const handleSortChange = (event: SelectChangeEvent) => {
+    setSortKey(event.target.value as BookmarkSortKey);
+  };
+
   const handleDelete = async (id: string) => {
     if (window.confirm('이 북마크를 삭제하시겠습니까?')) {
       deleteMutation.mutate(id);
@@ -113,6 +136,20 @@ const BookmarksPage: React.FC = () => {
             ))}
           </Select>
         </FormControl>
+
+        <FormControl size="small" sx={{ minWidth: 160 }}>
+          <InputLabel>정렬</InputLabel>
+          <Select
+            value={sortKey}
+            label="정렬"
+            onChange={handleSortChange}
+          >
+            <MenuItem value="createdAt">최근 추가순</MenuItem>
+            <MenuItem value="updatedAt">최근 수정순</MenuItem>
+            <MenuItem value="title">제목순</MenuItem>
+            <MenuItem value="visitCount">방문 많은순</MenuItem>
+          </Select>
+        </FormControl>
       </Box>
 
       {bookmarksLoading ? (
@@ -229,6 +266,21 @@ const BookmarksPage: React.FC = () => {
         </Grid>
       )}
 
+      {hasNextPage && (
+        <Box sx={{ display: 'flex', flexDirection: 'column', alignItems: 'center', gap: 1, mt: 3 }}>
+          <Typography variant="caption" color="text.secondary">
+            {bookmarks?.length ?? 0} / {totalBookmarks}
+          </Typography>
+          <Button
+            variant="outlined"
+            onClick={() => fetchNextPage()}
+            disabled={isFetchingNextPage}
+          >
+            {isFetchingNextPage ? '불러오는 중...' : '더 보기'}
+          </Button>
+        </Box>
+      )}
+
       <Fab
         color="primary"
         aria-label="add"
@@ -30,7 +30,7 @@ import {
 } from '@mui/icons-material';
 import {useMutation, useQuery, useQueryClient} from '@tanstack/react-query';
 import type {Folder} from '../services/bookmarkService';
-import bookmarkService from '../services/bookmarkService';
+import bookmarkService, { mergePatchOf } from '../services/bookmarkService';
 
 const FoldersPage: React.FC = () => {
   const queryClient = useQueryClient();
@@ -50,17 +50,17 @@ const FoldersPage: React.FC = () => {
     queryFn: bookmarkService.getAllFolders,
   });
 
-  // 각 폴더의 북마크 수 조회
-  const { data: allBookmarks } = useQuery({
-    queryKey: ['bookmarks'],
-    queryFn: bookmarkService.getAllBookmarks,
+  // 각 폴더의 북마크 수 조회 (북마크 변경 시 함께 갱신되도록 'bookmarks' 하위 키 사용)
+  const { data: folderCounts } = useQuery({
+    queryKey: ['bookmarks', 'folderCounts'],
+    queryFn: bookmarkService.getFolderCounts,
   });
 
   // 폴더 생성/수정 mutation
   const saveMutation = useMutation({
     mutationFn: async (data: Folder) => {
       if (editingFolder) {
-        return await bookmarkService.updateFolder(editingFolder.id!, data);
+        return await bookmarkService.patchFolder(editingFolder.id!, mergePatchOf(editingFolder, data));
       }
       return await bookmarkService.createFolder(data);
     },
@@ -128,7 +128,7 @@ const FoldersPage: React.FC = () => {
   };
 
   const getBookmarkCount = (folderId: string) => {
-    return allBookmarks?.filter(b => b.folderId === folderId).length || 0;
+    return folderCounts?.[folderId] || 0;
   };
 
   const colors = [
@@ -25,7 +25,7 @@ import {
 } from '@mui/icons-material';
 import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import bookmarkService from '../services/bookmarkService';
-import type { Bookmark } from '../services/bookmarkService';
+import type { SearchResult } from '../services/bookmarkService';
 
 const SearchPage: React.FC = () => {
   const [searchParams, setSearchParams] = useSearchParams();
@@ -35,16 +35,24 @@ const SearchPage: React.FC = () => {
   const [localQuery, setLocalQuery] = useState(searchParams.get('q') || '');
 
   // 북마크 검색
-  const { data: searchResults, isLoading } = useQuery({
+  const { data: searchResult, isLoading } = useQuery({
     queryKey: ['bookmarks', 'search', searchQuery],
-    queryFn: async () => {
+    queryFn: async (): Promise<SearchResult> => {
       if (!searchQuery) {
-        return await bookmarkService.getAllBookmarks();
+        const bookmarks = await bookmarkService.getAllBookmarks();
+        return { items: bookmarks, total: bookmarks.length };
       }
-      return await bookmarkService.searchBookmarks(searchQuery);
+      // 관련도 순 상위 결과만 받아옴
+      const ranked = await bookmarkService.searchBookmarksRanked(searchQuery, 50, 'VISITS');
+      if (ranked.total > 0) {
+        return ranked;
+      }
+      // 일치하는 결과가 없으면 오타를 허용하여 다시 검색
+      return await bookmarkService.searchBookmarksFuzzy(searchQuery);
     },
     enabled: true,
   });
+  const searchResults = searchResult?.items;
 
   // 북마크 삭제
   const deleteMutation = useMutation({
@@ -144,7 +152,7 @@ const SearchPage: React.FC = () => {
         {searchQuery && (
           <Box sx={{ mt: 2 }}>
             <Typography variant="body2" color="text.secondary">
-              "{searchQuery}" 검색 결과: {searchResults?.length || 0}개
+              "{searchQuery}" 검색 결과: {searchResult?.total || 0}개
             </Typography>
           </Box>
         )}
@@ -35,10 +35,10 @@ const TagsPage: React.FC = () => {
     queryFn: bookmarkService.getAllTags,
   });
 
-  // 모든 북마크 조회 (태그 사용 횟수 계산용)
-  const { data: bookmarks } = useQuery({
-    queryKey: ['bookmarks'],
-    queryFn: bookmarkService.getAllBookmarks,
+  // 태그별 북마크 수 조회 (북마크 변경 시 함께 갱신되도록 'bookmarks' 하위 키 사용)
+  const { data: tagCounts } = useQuery({
+    queryKey: ['bookmarks', 'tagCounts'],
+    queryFn: bookmarkService.getTagCounts,
   });
 
   // 태그 생성 mutation
@@ -88,8 +88,7 @@ const TagsPage: React.FC = () => {
 
   // 태그 사용 횟수 계산
   const getTagUsageCount = (tagName: string) => {
-    if (!bookmarks) return 0;
-    return bookmarks.filter(b => b.tags?.includes(tagName)).length;
+    return tagCounts?.counts[tagName] || 0;
   };
 
   const colors = [
@@ -139,7 +138,7 @@ const TagsPage: React.FC = () => {
                   태그가 있는 북마크
                 </Typography>
                 <Typography variant="h4">
-                  {bookmarks?.filter(b => b.tags && b.tags.length > 0).length || 0}
+                  {tagCounts?.taggedBookmarks || 0}
                 </Typography>
               </Box>
             </CardContent>
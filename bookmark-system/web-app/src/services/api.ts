@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { type AxiosResponse, type InternalAxiosRequestConfig } from 'axios';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -10,10 +10,27 @@ const api = axios.create({
   withCredentials: true, // Google OAuth 인증을 위해 필요
 });
 
+// 조회 응답의 ETag와 본문 (서버 응답이 Cache-Control: no-store라 브라우저 캐시를 쓸 수 없음)
+// 같은 요청을 다시 보낼 때 If-None-Match로 보내고, 304면 저장해 둔 본문을 사용합니다.
+const MAX_VALIDATED_RESPONSES = 100;
+const validatedResponses = new Map<string, { etag: string; data: unknown }>();
+
+const validatorKey = (config: InternalAxiosRequestConfig) =>
+  `${config.url ?? ''}?${JSON.stringify(config.params ?? {})}`;
+
+const isGet = (config?: InternalAxiosRequestConfig) =>
+  (config?.method ?? 'get').toLowerCase() === 'get';
+
 // Request interceptor
 api.interceptors.request.use(
   (config) => {
     // 필요시 토큰 추가 로직
+    if (isGet(config)) {
+      const cached = validatedResponses.get(validatorKey(config));
+      if (cached) {
+        config.headers.set('If-None-Match', cached.etag);
+      }
+    }
     return config;
   },
   (error) => {
@@ -24,15 +41,37 @@ api.interceptors.request.use(
 // Response interceptor
 api.interceptors.response.use(
   (response) => {
+    const etag = response.headers['etag'];
+    if (isGet(response.config) && typeof etag === 'string') {
+      const key = validatorKey(response.config);
+      // 최근에 쓴 항목이 뒤에 오도록 다시 넣고, 넘치면 가장 오래된 항목부터 제거
+      validatedResponses.delete(key);
+      validatedResponses.set(key, { etag, data: response.data });
+      if (validatedResponses.size > MAX_VALIDATED_RESPONSES) {
+        const oldest = validatedResponses.keys().next().value;
+        if (oldest !== undefined) {
+          validatedResponses.delete(oldest);
+        }
+      }
+    }
     return response;
   },
   (error) => {
+    if (error.response?.status === 304 && error.config) {
+      // 바뀌지 않음: 저장해 둔 본문으로 정상 응답을 만들어 반환
+      const cached = validatedResponses.get(validatorKey(error.config));
+      if (cached) {
+        const response: AxiosResponse = { ...error.response, status: 200, data: cached.data };
+        return response;
+      }
+    }
     if (error.response?.status === 401) {
       // 인증 에러 처리
+      validatedResponses.clear();
       window.location.href = '/login';
     }
     return Promise.reject(error);
   }
 );
 
-export default api;
\ No newline at end of file
+export default api;
@@ -44,6 +44,74 @@ export interface Tag {
   usageCount?: number;
 }
 
+export interface TagCounts {
+  counts: Record<string, number>;
+  taggedBookmarks: number;
+}
+
+export interface SearchResult {
+  items: Bookmark[];
+  total: number;
+}
+
+export type RankingBoost = 'NONE' | 'RECENCY' | 'VISITS';
+
+export type BookmarkSortKey = 'createdAt' | 'updatedAt' | 'title' | 'visitCount';
+
+export interface BookmarkPageParams {
+  limit: number;
+  cursor?: string | null;
+  sort?: BookmarkSortKey;
+  order?: 'asc' | 'desc';
+}
+
+export interface BookmarkPage {
+  items: Bookmark[];
+  nextCursor?: string | null;
+  total: number;
+}
+
+// 로그인 직후 첫 화면 데이터 (bookmarks 또는 bookmarkPage 중 하나만 채워짐)
+export interface Bootstrap {
+  bookmarks?: Bookmark[] | null;
+  bookmarkPage?: BookmarkPage | null;
+  folders: Folder[];
+  tags: Tag[];
+  folderCounts: Record<string, number>;
+  tagCounts: TagCounts;
+}
+
+// 목록/검색 화면에서 표시하는 북마크 속성 (서버가 이 속성만 직렬화하여 응답 크기를 줄임)
+const LIST_FIELDS = 'id,url,title,description,favicon,folderId,tags';
+
+// 북마크 목록 화면의 페이지 크기 (첫 화면 데이터의 첫 페이지도 같은 크기로 요청)
+export const BOOKMARK_PAGE_SIZE = 40;
+
+export interface BookmarkOperation {
+  type: 'CREATE' | 'UPDATE' | 'DELETE' | 'MOVE' | 'PATCH';
+  target: 'BOOKMARK' | 'FOLDER' | 'TAG';
+  id?: string;
+  bookmark?: Bookmark;
+  folder?: Folder;
+  tag?: Tag;
+  // PATCH 내용 (JSON merge patch: 바꿀 속성만, null이면 제거)
+  patch?: Record<string, unknown>;
+  folderId?: string | null;
+}
+
+export interface OperationResult {
+  index: number;
+  status: 'OK' | 'NOT_FOUND' | 'INVALID' | 'CONFLICT' | 'SKIPPED';
+  id?: string;
+  entity?: Bookmark | Folder | Tag;
+  message?: string;
+}
+
+export interface BatchResult {
+  applied: boolean;
+  results: OperationResult[];
+}
+
 export interface BookmarkData {
   version?: string;
   lastModified?: string;
@@ -52,10 +120,39 @@ export interface BookmarkData {
   tags: Tag[];
 }
 
+// JSON merge patch 요청 형식
+const MERGE_PATCH = { headers: { 'Content-Type': 'application/merge-patch+json' } };
+
+// 수정 전후를 비교해 바뀐 속성만 담은 merge patch를 만듦 (없어진 속성은 null)
+export const mergePatchOf = <T extends object>(before: T, after: T): Partial<Record<keyof T, unknown>> => {
+  const patch: Partial<Record<keyof T, unknown>> = {};
+  const keys = new Set([...Object.keys(before), ...Object.keys(after)] as (keyof T)[]);
+  keys.forEach((key) => {
+    if (JSON.stringify(before[key]) !== JSON.stringify(after[key])) {
+      patch[key] = after[key] === undefined ? null : after[key];
+    }
+  });
+  return patch;
+};
+
 export const bookmarkService = {
+  // 첫 화면에 필요한 북마크 첫 페이지, 폴더, 태그, 개수를 한 번에 가져오기
+  getBootstrap: async (params?: Omit<BookmarkPageParams, 'cursor'>): Promise<Bootstrap> => {
+    const response = await api.get('/bootstrap', { params: { ...params, fields: LIST_FIELDS } });
+    return response.data;
+  },
+
   // Bookmark operations
   getAllBookmarks: async (): Promise<Bookmark[]> => {
-    const response = await api.get('/bookmarks');
+    const response = await api.get('/bookmarks', { params: { fields: LIST_FIELDS } });
+    return response.data;
+  },
+
+  // 커서 기반 페이지 조회 (cursor는 이전 응답의 nextCursor를 그대로 전달)
+  getBookmarksPage: async (params: BookmarkPageParams): Promise<BookmarkPage> => {
+    const response = await api.get('/bookmarks', {
+      params: { ...params, cursor: params.cursor ?? undefined, fields: LIST_FIELDS },
+    });
     return response.data;
   },
 
@@ -74,22 +171,66 @@ export const bookmarkService = {
     return response.data;
   },
 
+  // 바뀐 속성만 보내 수정 (보내지 않은 속성은 서버의 값이 유지됨)
+  patchBookmark: async (id: string, patch: Partial<Record<keyof Bookmark, unknown>>): Promise<Bookmark> => {
+    const response = await api.patch(`/bookmarks/${id}`, patch, MERGE_PATCH);
+    return response.data;
+  },
+
   deleteBookmark: async (id: string): Promise<void> => {
     await api.delete(`/bookmarks/${id}`);
   },
 
+  // 여러 작업을 한 번의 요청으로 적용 (하나라도 실패하면 아무것도 저장되지 않음)
+  applyBatch: async (operations: BookmarkOperation[]): Promise<BatchResult> => {
+    const response = await api.post('/bookmarks/batch', { operations }, {
+      validateStatus: (status) => status === 200 || status === 400,
+    });
+    return response.data;
+  },
+
   searchBookmarks: async (query: string): Promise<Bookmark[]> => {
-    const response = await api.get('/bookmarks/search', { params: { q: query } });
+    const response = await api.get('/bookmarks/search', { params: { q: query, fields: LIST_FIELDS } });
+    return response.data;
+  },
+
+  // 관련도 순으로 상위 limit개만 가져오기 (total은 전체 일치 개수)
+  searchBookmarksRanked: async (
+    query: string,
+    limit = 50,
+    boost: RankingBoost = 'NONE'
+  ): Promise<SearchResult> => {
+    const response = await api.get('/bookmarks/search/ranked', { params: { q: query, limit, boost, fields: LIST_FIELDS } });
+    return response.data;
+  },
+
+  // 오타를 허용하는 검색 (제목 단어, 도메인, 태그 이름 대상)
+  searchBookmarksFuzzy: async (query: string, maxDistance = 2, limit = 50): Promise<SearchResult> => {
+    const response = await api.get('/bookmarks/search/fuzzy', { params: { q: query, maxDistance, limit, fields: LIST_FIELDS } });
     return response.data;
   },
 
   getBookmarksByFolder: async (folderId: string): Promise<Bookmark[]> => {
-    const response = await api.get(`/bookmarks/folder/${folderId}`);
+    const response = await api.get(`/bookmarks/folder/${folderId}`, { params: { fields: LIST_FIELDS } });
     return response.data;
   },
 
   getBookmarksByTag: async (tag: string): Promise<Bookmark[]> => {
-    const response = await api.get(`/bookmarks/tag/${tag}`);
+    const response = await api.get(`/bookmarks/tag/${tag}`, { params: { fields: LIST_FIELDS } });
+    return response.data;
+  },
+
+  getBookmarksByFolderPage: async (folderId: string, params: BookmarkPageParams): Promise<BookmarkPage> => {
+    const response = await api.get(`/bookmarks/folder/${folderId}`, {
+      params: { ...params, cursor: params.cursor ?? undefined, fields: LIST_FIELDS },
+    });
+    return response.data;
+  },
+
+  getBookmarksByTagPage: async (tag: string, params: BookmarkPageParams): Promise<BookmarkPage> => {
+    const response = await api.get(`/bookmarks/tag/${tag}`, {
+      params: { ...params, cursor: params.cursor ?? undefined, fields: LIST_FIELDS },
+    });
     return response.data;
   },
 
@@ -109,10 +250,21 @@ export const bookmarkService = {
     return response.data;
   },
 
+  patchFolder: async (id: string, patch: Partial<Record<keyof Folder, unknown>>): Promise<Folder> => {
+    const response = await api.patch(`/folders/${id}`, patch, MERGE_PATCH);
+    return response.data;
+  },
+
   deleteFolder: async (id: string): Promise<void> => {
     await api.delete(`/folders/${id}`);
   },
 
+  // 폴더 ID별 북마크 수 (북마크가 없는 폴더는 빠짐)
+  getFolderCounts: async (): Promise<Record<string, number>> => {
+    const response = await api.get('/folders/counts');
+    return response.data;
+  },
+
   lockFolder: async (id: string, password: string): Promise<void> => {
     await api.put(`/folders/${id}/lock`, { password });
   },
@@ -123,6 +275,11 @@ export const bookmarkService = {
     return response.data;
   },
 
+  getTagCounts: async (): Promise<TagCounts> => {
+    const response = await api.get('/tags/counts');
+    return response.data;
+  },
+
   createTag: async (tag: Tag): Promise<Tag> => {
     const response = await api.post('/tags', tag);
     return response.data;